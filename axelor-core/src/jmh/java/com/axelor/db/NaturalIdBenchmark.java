@@ -0,0 +1,89 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.db;
+
+import com.axelor.JpaTestModule;
+import com.axelor.auth.db.User;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the lookup of a user by its login using a cacheable query with the lookup by natural
+ * id, resolved from the natural id cache. The persistence context is cleared before each lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NaturalIdBenchmark {
+
+  private static final String CODE = "natural-id-bench";
+
+  private Injector injector;
+
+  @Setup
+  public void setup() {
+    injector = Guice.createInjector(new JpaTestModule());
+    JPA.runInTransaction(
+        () -> {
+          if (JPA.all(User.class).filter("self.code = ?", CODE).count() == 0) {
+            JPA.save(new User(CODE, CODE));
+          }
+        });
+  }
+
+  @TearDown
+  public void tearDown() {
+    injector.getInstance(PersistService.class).stop();
+  }
+
+  @Benchmark
+  public User query() {
+    final EntityManager em = JPA.em();
+    em.clear();
+    return JPA.all(User.class)
+        .filter("self.code = ?", CODE)
+        .cacheable()
+        .autoFlush(false)
+        .fetchOne();
+  }
+
+  @Benchmark
+  public User naturalId() {
+    final EntityManager em = JPA.em();
+    em.clear();
+    return JPA.findByNaturalId(User.class, CODE);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.script;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.script.SimpleBindings;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the evaluation of JavaScript conditions by {@link JavaScriptScriptHelper}, which shares
+ * the engine, pools contexts and caches sources, with a new context for each evaluation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class JavaScriptBenchmark {
+
+  private static final String CONDITION =
+      "(amount > 100 && status == 'draft') || (name != null && name.length > 3)";
+
+  private Map<String, Object> values;
+
+  @Setup
+  public void setup() {
+    values = new HashMap<>();
+    values.put("amount", 120);
+    values.put("status", "draft");
+    values.put("name", "Some name");
+  }
+
+  @Benchmark
+  public boolean shared() {
+    return new JavaScriptScriptHelper(new SimpleBindings(new HashMap<>(values))).test(CONDITION);
+  }
+
+  @Benchmark
+  public boolean standalone() {
+    try (Context context =
+        Context.newBuilder("js")
+            .allowExperimentalOptions(true)
+            .allowAllAccess(true)
+            .option("engine.WarnInterpreterOnly", "false")
+            .option("js.nashorn-compat", "true")
+            .option("js.ecmascript-version", "latest")
+            .build()) {
+      final Value bindings = context.getBindings("js");
+      values.forEach(bindings::putMember);
+      return context.eval("js", CONDITION).asBoolean();
+    }
+  }
+}
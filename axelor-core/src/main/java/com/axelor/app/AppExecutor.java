@@ -0,0 +1,245 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.app;
+
+import com.axelor.app.internal.AppFilter;
+import com.axelor.auth.AuditableRunner;
+import com.axelor.auth.AuthIdentity;
+import com.axelor.db.tenants.TenantAware;
+import com.axelor.inject.Beans;
+import com.google.inject.persist.UnitOfWork;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.shiro.subject.Subject;
+import org.apache.shiro.util.ThreadContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The shared executor for the background work of the application.
+ *
+ * <p>The executor is bounded: it runs at most <code>executor.threads</code> tasks at a time and
+ * queues at most <code>executor.queue-size</code> more, the next ones are rejected with a {@link
+ * RejectedExecutionException}. Worker threads are named <code>axelor-executor-N</code> and can be
+ * virtual threads (<code>executor.virtual-threads</code>) on Java 21 and later.
+ *
+ * <p>Tasks run with the context of the submitting thread: the tenant (see {@link TenantAware}), the
+ * authenticated subject, the batch user (see {@link AuditableRunner}), the base url and the request
+ * locale. The unit of work opened by a task is closed once it completes.
+ */
+public final class AppExecutor {
+
+  private static final Logger log = LoggerFactory.getLogger(AppExecutor.class);
+
+  private static final int DEFAULT_THREADS =
+      Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+
+  private static final int DEFAULT_QUEUE_SIZE = 1000;
+
+  private static final AtomicLong REJECTED = new AtomicLong();
+
+  private static ThreadPoolExecutor executor;
+
+  private static boolean virtual;
+
+  private AppExecutor() {}
+
+  private static synchronized ThreadPoolExecutor executor() {
+    if (executor == null || executor.isShutdown()) {
+      executor = create();
+    }
+    return executor;
+  }
+
+  private static ThreadPoolExecutor create() {
+    final AppSettings settings = AppSettings.get();
+    final int threads =
+        Math.max(1, settings.getInt(AvailableAppSettings.EXECUTOR_THREADS, DEFAULT_THREADS));
+    final int queueSize =
+        Math.max(0, settings.getInt(AvailableAppSettings.EXECUTOR_QUEUE_SIZE, DEFAULT_QUEUE_SIZE));
+    final boolean useVirtual =
+        settings.getBoolean(AvailableAppSettings.EXECUTOR_VIRTUAL_THREADS, false);
+
+    ThreadFactory factory = useVirtual ? createVirtualThreadFactory() : null;
+    virtual = factory != null;
+    if (factory == null) {
+      final AtomicInteger counter = new AtomicInteger();
+      factory =
+          r -> {
+            final Thread thread = new Thread(r, "axelor-executor-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          };
+    }
+
+    final BlockingQueue<Runnable> queue =
+        queueSize == 0 ? new SynchronousQueue<>() : new LinkedBlockingQueue<>(queueSize);
+    final ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60L,
+            TimeUnit.SECONDS,
+            queue,
+            factory,
+            (r, e) -> {
+              REJECTED.incrementAndGet();
+              throw new RejectedExecutionException(
+                  "Executor is saturated: " + threads + " threads, " + queueSize + " queued");
+            });
+    pool.allowCoreThreadTimeOut(true);
+
+    log.info("Executor started: {} {} threads", threads, virtual ? "virtual" : "platform");
+    return pool;
+  }
+
+  private static ThreadFactory createVirtualThreadFactory() {
+    try {
+      final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder =
+          builderClass
+              .getMethod("name", String.class, long.class)
+              .invoke(builder, "axelor-executor-", 1L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      log.warn("Virtual threads are not supported by this JVM, using platform threads.");
+      return null;
+    }
+  }
+
+  /**
+   * Binds the context of the calling thread to the given task.
+   *
+   * @param <T> type of the result
+   * @param task the task to bind
+   * @return the bound task
+   */
+  public static <T> Callable<T> wrap(Callable<T> task) {
+    final Subject subject = ThreadContext.getSubject();
+    final Callable<T> job = AuditableRunner.bind(task);
+    final Callable<T> bound = subject == null ? job : subject.associateWith(job);
+    final Callable<T> scoped =
+        () -> {
+          try {
+            return bound.call();
+          } finally {
+            AuthIdentity.clear();
+            if (Beans.isInitialized()) {
+              Beans.get(UnitOfWork.class).end();
+            }
+          }
+        };
+    return TenantAware.bind(AppFilter.bind(scoped));
+  }
+
+  /**
+   * Binds the context of the calling thread to the given task.
+   *
+   * @param task the task to bind
+   * @return the bound task
+   */
+  public static Runnable wrap(Runnable task) {
+    final Callable<Object> bound = wrap(Executors.callable(task));
+    return () -> {
+      try {
+        bound.call();
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Exception e) {
+        // runnables only throw unchecked exceptions
+        throw new IllegalStateException(e);
+      }
+    };
+  }
+
+  /**
+   * Runs the given task in background.
+   *
+   * @param task the task to run
+   * @throws RejectedExecutionException if the executor is saturated
+   */
+  public static void execute(Runnable task) {
+    executor().execute(wrap(task));
+  }
+
+  /**
+   * Runs the given task in background.
+   *
+   * @param <T> type of the result
+   * @param task the task to run
+   * @return the future result
+   * @throws RejectedExecutionException if the executor is saturated
+   */
+  public static <T> Future<T> submit(Callable<T> task) {
+    return executor().submit(wrap(task));
+  }
+
+  /**
+   * Runs the given task in background.
+   *
+   * @param task the task to run
+   * @return the future completed with <code>null</code> once the task is done
+   * @throws RejectedExecutionException if the executor is saturated
+   */
+  public static Future<?> submit(Runnable task) {
+    return executor().submit(wrap(task));
+  }
+
+  /**
+   * Returns the executor metrics.
+   *
+   * @return the number of threads, active and queued tasks, completed and rejected tasks
+   */
+  public static Map<String, Object> getStats() {
+    final ThreadPoolExecutor pool = executor();
+    final Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("virtual", virtual);
+    stats.put("maxThreads", pool.getMaximumPoolSize());
+    stats.put("threads", pool.getPoolSize());
+    stats.put("largestThreads", pool.getLargestPoolSize());
+    stats.put("active", pool.getActiveCount());
+    stats.put("queued", pool.getQueue().size());
+    stats.put("queueCapacity", pool.getQueue().remainingCapacity() + pool.getQueue().size());
+    stats.put("completed", pool.getCompletedTaskCount());
+    stats.put("rejected", REJECTED.get());
+    return stats;
+  }
+
+  /** Stops the executor, the running tasks are interrupted. */
+  public static synchronized void shutdown() {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdownNow();
+    executor = null;
+  }
+}
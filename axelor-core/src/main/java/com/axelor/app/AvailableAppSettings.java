@@ -50,6 +50,9 @@ public interface AvailableAppSettings {
 
   String APPLICATION_DOMAIN_BLOCKLIST_PATTERN = "application.domain-blocklist-pattern";
 
+  String APPLICATION_META_INCREMENTAL_LOAD = "application.meta.incremental-load";
+  String APPLICATION_META_MODULE_WORKERS = "application.meta.module-workers";
+
   String VIEW_CONFIRM_YES_NO = "view.confirm-yes-no";
   String VIEW_SINGLE_TAB = "view.single-tab";
   String VIEW_TABS_MAX = "view.max-tabs";
@@ -83,6 +86,10 @@ public interface AvailableAppSettings {
 
   String REPORTS_DESIGN_DIR = "reports.design-dir";
   String REPORTS_FONTS_CONFIG = "reports.fonts-config";
+  String REPORTS_QUEUE_THREADS = "reports.queue.threads";
+  String REPORTS_QUEUE_SIZE = "reports.queue.size";
+  String REPORTS_QUEUE_USER_LIMIT = "reports.queue.user-limit";
+  String REPORTS_CACHE_EXPIRE_TIME = "reports.cache.expire-time";
 
   String TEMPLATE_SEARCH_DIR = "template.search-dir";
 
@@ -113,6 +120,10 @@ public interface AvailableAppSettings {
   String SESSION_TIMEOUT = "session.timeout";
   String SESSION_COOKIE_SECURE = "session.cookie.secure";
 
+  String EXECUTOR_THREADS = "executor.threads";
+  String EXECUTOR_QUEUE_SIZE = "executor.queue-size";
+  String EXECUTOR_VIRTUAL_THREADS = "executor.virtual-threads";
+
   String QUARTZ_ENABLE = "quartz.enable";
   String QUARTZ_THREAD_COUNT = "quartz.thread-count";
 
@@ -124,6 +135,25 @@ public interface AvailableAppSettings {
   String ENCRYPTION_OLD_ALGORITHM = "encryption.old-algorithm";
   String ENCRYPTION_OLD_PASSWORD = "encryption.old-password";
 
+  String CACHE_BUS_TRANSPORT = "cache.bus.transport";
+  String CACHE_BUS_POLL_INTERVAL = "cache.bus.poll-interval";
+
+  String REQUEST_STATS_ENABLED = "request.stats.enabled";
+  String REQUEST_STATS_SLOW_THRESHOLD = "request.stats.slow-threshold";
+  String REQUEST_STATS_N_PLUS_ONE_THRESHOLD = "request.stats.n-plus-one-threshold";
+
+  String ACTION_TRACE_ENABLED = "action.trace.enabled";
+  String ACTION_TRACE_HISTOGRAMS = "action.trace.histograms";
+  String ACTION_TRACE_HISTORY_SIZE = "action.trace.history-size";
+  String ACTION_TRACE_MAX_STEPS = "action.trace.max-steps";
+  String ACTION_TRACE_SLOW_THRESHOLD = "action.trace.slow-threshold";
+
+  String MASS_OPERATION_CHUNK_SIZE = "mass.operation.chunk-size";
+
+  String SEARCH_INDEX_STARTUP = "search.index.startup";
+  String SEARCH_INDEX_THREADS = "search.index.threads";
+  String SEARCH_INDEX_BATCH_SIZE = "search.index.batch-size";
+
   String HIBERNATE_SEARCH_DEFAULT_DIRECTORY_PROVIDER =
       "hibernate.search.default.directory_provider";
   String HIBERNATE_SEARCH_DEFAULT_INDEX_BASE = "hibernate.search.default.indexBase";
@@ -20,11 +20,12 @@ package com.axelor.app.internal;
 
 import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
+import com.axelor.auth.AuthIdentity;
 import com.axelor.auth.AuthUtils;
-import com.axelor.auth.db.User;
 import com.google.inject.Singleton;
 import java.io.IOException;
 import java.util.Locale;
+import java.util.concurrent.Callable;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -55,7 +56,7 @@ public class AppFilter implements Filter {
   }
 
   public static Locale getLocale() {
-    User user = AuthUtils.getUser();
+    AuthIdentity user = AuthUtils.getIdentity();
     if (user != null && user.getLanguage() != null) {
       return new Locale(user.getLanguage());
     }
@@ -68,6 +69,31 @@ public class AppFilter implements Filter {
     return LANGUAGE.get();
   }
 
+  /**
+   * Binds the base url and the request locale of the calling thread to the given job, so that the
+   * job renders urls and messages the same way when run by another thread.
+   *
+   * @param <T> type of the result
+   * @param job the job to bind
+   * @return the bound job
+   */
+  public static <T> Callable<T> bind(Callable<T> job) {
+    final String baseUrl = BASE_URL.get();
+    final Locale language = LANGUAGE.get();
+    return () -> {
+      final String currentUrl = BASE_URL.get();
+      final Locale currentLanguage = LANGUAGE.get();
+      BASE_URL.set(baseUrl);
+      LANGUAGE.set(language);
+      try {
+        return job.call();
+      } finally {
+        BASE_URL.set(currentUrl);
+        LANGUAGE.set(currentLanguage);
+      }
+    };
+  }
+
   private String computeBaseUrl(ServletRequest req) {
     final String proto = req.getScheme();
     final int port = req.getServerPort();
@@ -89,6 +115,7 @@ public class AppFilter implements Filter {
     } finally {
       LANGUAGE.remove();
       BASE_URL.remove();
+      AuthIdentity.clear();
     }
   }
 
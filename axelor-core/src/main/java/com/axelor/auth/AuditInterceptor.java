@@ -21,18 +21,23 @@ package com.axelor.auth;
 import com.axelor.auth.db.AuditableModel;
 import com.axelor.auth.db.Group;
 import com.axelor.auth.db.User;
+import com.axelor.cache.CacheBus;
 import com.axelor.db.EntityHelper;
 import com.axelor.db.JPA;
 import com.axelor.db.JpaSequence;
 import com.axelor.db.Model;
 import com.axelor.db.mapper.Mapper;
 import com.axelor.db.mapper.Property;
+import com.axelor.meta.MetaVersion;
 import com.axelor.meta.db.MetaSequence;
+import com.axelor.rpc.RequestStats;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import javax.persistence.PersistenceException;
 import org.hibernate.EmptyInterceptor;
 import org.hibernate.Transaction;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.resource.transaction.spi.TransactionStatus;
 import org.hibernate.type.Type;
 
 @SuppressWarnings("serial")
@@ -54,6 +59,7 @@ public class AuditInterceptor extends EmptyInterceptor {
   public void afterTransactionBegin(Transaction tx) {
     currentUser.set(AuthUtils.getUser());
     tracker.set(new AuditTracker());
+    CacheBus.transactionStarted();
   }
 
   @Override
@@ -61,6 +67,9 @@ public class AuditInterceptor extends EmptyInterceptor {
     tracker.get().clear();
     tracker.remove();
     currentUser.remove();
+    MetaVersion.transactionCompleted(tx.getStatus() == TransactionStatus.COMMITTED);
+    AuthIdentity.transactionCompleted(tx.getStatus() == TransactionStatus.COMMITTED);
+    CacheBus.transactionCompleted(tx.getStatus() == TransactionStatus.COMMITTED);
   }
 
   @Override
@@ -68,6 +77,13 @@ public class AuditInterceptor extends EmptyInterceptor {
     tracker.get().onComplete(tx, getUser());
   }
 
+  @Override
+  public boolean onLoad(
+      Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+    RequestStats.onEntityLoaded();
+    return false;
+  }
+
   private User getUser() {
     User user = currentUser.get();
     if (user == null) {
@@ -149,6 +165,9 @@ public class AuditInterceptor extends EmptyInterceptor {
       String[] propertyNames,
       Type[] types) {
 
+    MetaVersion.onChange(entity);
+    AuthIdentity.onChange(entity);
+
     if (!(entity instanceof AuditableModel)) {
       return false;
     }
@@ -183,6 +202,9 @@ public class AuditInterceptor extends EmptyInterceptor {
   public boolean onSave(
       Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
 
+    MetaVersion.onChange(entity);
+    AuthIdentity.onChange(entity);
+
     boolean changed = updateSequence(entity, propertyNames, state);
     if (!(entity instanceof AuditableModel)) {
       return changed;
@@ -221,5 +243,30 @@ public class AuditInterceptor extends EmptyInterceptor {
     if (tracker.get() != null && entity instanceof Model) {
       tracker.get().delete((Model) entity);
     }
+    MetaVersion.onChange(entity);
+    AuthIdentity.onChange(entity);
+  }
+
+  @Override
+  public void onCollectionRecreate(Object collection, Serializable key) {
+    onCollectionChange(collection);
+  }
+
+  @Override
+  public void onCollectionRemove(Object collection, Serializable key) {
+    onCollectionChange(collection);
+  }
+
+  @Override
+  public void onCollectionUpdate(Object collection, Serializable key) {
+    onCollectionChange(collection);
+  }
+
+  private void onCollectionChange(Object collection) {
+    if (collection instanceof PersistentCollection) {
+      final Object owner = ((PersistentCollection) collection).getOwner();
+      MetaVersion.onChange(owner);
+      AuthIdentity.onChange(owner);
+    }
   }
 }
@@ -20,6 +20,7 @@ package com.axelor.auth;
 
 import com.axelor.auth.db.User;
 import com.axelor.auth.db.repo.UserRepository;
+import com.axelor.db.JPA;
 import com.google.common.base.Preconditions;
 import java.util.concurrent.Callable;
 import javax.inject.Inject;
@@ -83,4 +84,33 @@ public class AuditableRunner {
       batchUser.remove();
     }
   }
+
+  /**
+   * Binds the batch user of the calling thread, if any, to the given job, so that the job keeps
+   * track of audit logs when run by another thread.
+   *
+   * @param <T> type of the result
+   * @param job the job to bind
+   * @return the bound job
+   */
+  public static <T> Callable<T> bind(Callable<T> job) {
+    final User user = batchUser.get();
+    if (user == null || user.getId() == null) {
+      return job;
+    }
+    final Long id = user.getId();
+    return () -> {
+      final User current = batchUser.get();
+      batchUser.set(JPA.em().find(User.class, id));
+      try {
+        return job.call();
+      } finally {
+        if (current == null) {
+          batchUser.remove();
+        } else {
+          batchUser.set(current);
+        }
+      }
+    };
+  }
 }
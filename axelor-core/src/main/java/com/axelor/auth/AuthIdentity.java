@@ -0,0 +1,182 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.auth;
+
+import com.axelor.auth.db.Group;
+import com.axelor.auth.db.Role;
+import com.axelor.auth.db.User;
+import com.axelor.cache.CacheBus;
+import com.axelor.db.tenants.TenantResolver;
+import com.google.common.collect.ImmutableSet;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An immutable snapshot of the identity of the authenticated user: its id, code, group, role names
+ * and flags.
+ *
+ * <p>The snapshot is resolved once per request, see {@link AuthUtils#getIdentity()}, so that
+ * checking the current user, its group or its roles doesn't query the database again. It is
+ * dropped at the end of the request and, on all the nodes when a cache bus is configured, once a
+ * transaction modifying users, groups or roles is committed.
+ */
+public final class AuthIdentity {
+
+  /** The {@link CacheBus} topic of the identity version. */
+  public static final String TOPIC = "auth.identity";
+
+  private static final AtomicLong VERSION = new AtomicLong();
+
+  private static final ThreadLocal<AuthIdentity> CURRENT = new ThreadLocal<>();
+
+  private static final ThreadLocal<Boolean> CHANGED = new ThreadLocal<>();
+
+  static {
+    CacheBus.subscribe(TOPIC, key -> VERSION.incrementAndGet());
+  }
+
+  private final Long id;
+  private final String code;
+  private final String language;
+  private final String groupCode;
+  private final Set<String> roles;
+  private final boolean admin;
+  private final boolean technicalStaff;
+
+  private final String tenant;
+  private final long version;
+
+  private AuthIdentity(User user, String tenant, long version) {
+    final Group group = user.getGroup();
+    final ImmutableSet.Builder<String> names = ImmutableSet.builder();
+    if (user.getRoles() != null) {
+      user.getRoles().stream().map(Role::getName).forEach(names::add);
+    }
+    if (group != null && group.getRoles() != null) {
+      group.getRoles().stream().map(Role::getName).forEach(names::add);
+    }
+    this.id = user.getId();
+    this.code = user.getCode();
+    this.language = user.getLanguage();
+    this.groupCode = group == null ? null : group.getCode();
+    this.roles = names.build();
+    this.admin = AuthUtils.isAdmin(user);
+    this.technicalStaff = AuthUtils.isTechnicalStaff(user);
+    this.tenant = tenant;
+    this.version = version;
+  }
+
+  /**
+   * Returns the snapshot of the user with the given code, resolving it if the current one is of
+   * another user, of another tenant or outdated.
+   *
+   * @param code the user code
+   * @return the identity, or null if no such user
+   */
+  static AuthIdentity get(String code) {
+    final String tenant = TenantResolver.currentTenantIdentifier();
+    final long version = VERSION.get();
+    final AuthIdentity current = CURRENT.get();
+    if (current != null
+        && current.version == version
+        && current.code.equals(code)
+        && Objects.equals(current.tenant, tenant)) {
+      return current;
+    }
+    final User user = AuthUtils.getUser(code);
+    if (user == null) {
+      CURRENT.remove();
+      return null;
+    }
+    final AuthIdentity identity = new AuthIdentity(user, tenant, version);
+    CURRENT.set(identity);
+    return identity;
+  }
+
+  /** Drops the snapshot of the current thread, called at the end of a request. */
+  public static void clear() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Called when an entity is saved, updated or removed.
+   *
+   * @param entity the entity
+   */
+  public static void onChange(Object entity) {
+    if (entity instanceof User || entity instanceof Group || entity instanceof Role) {
+      CURRENT.remove();
+      CHANGED.set(Boolean.TRUE);
+    }
+  }
+
+  /**
+   * Called when a transaction is completed, to drop the snapshots on all the threads if users,
+   * groups or roles were modified.
+   *
+   * @param committed whether the transaction is committed
+   */
+  public static void transactionCompleted(boolean committed) {
+    final Boolean changed = CHANGED.get();
+    CHANGED.remove();
+    if (committed && changed != null) {
+      CacheBus.invalidateAll(TOPIC);
+    }
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getCode() {
+    return code;
+  }
+
+  public String getLanguage() {
+    return language;
+  }
+
+  public String getGroupCode() {
+    return groupCode;
+  }
+
+  /** The names of the roles of the user and of its group. */
+  public Set<String> getRoles() {
+    return roles;
+  }
+
+  public boolean hasRole(String... names) {
+    return Arrays.stream(names).anyMatch(roles::contains);
+  }
+
+  public boolean isAdmin() {
+    return admin;
+  }
+
+  public boolean isTechnicalStaff() {
+    return technicalStaff;
+  }
+
+  @Override
+  public String toString() {
+    return "AuthIdentity{code=" + code + ", group=" + groupCode + ", roles=" + roles + "}";
+  }
+}
@@ -84,11 +84,11 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
   private AuthResolver authResolver = new AuthResolver();
 
   private User getUser() {
-    final User user = AuthUtils.getUser();
-    if (user == null || AuthUtils.isAdmin(user)) {
+    final AuthIdentity identity = AuthUtils.getIdentity();
+    if (identity == null || identity.isAdmin()) {
       return null;
     }
-    return user;
+    return AuthUtils.getUser();
   }
 
   private Condition getCondition(User user, Permission permission, AccessType accessType) {
@@ -102,11 +102,11 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
 
   @Override
   public boolean hasRole(String name) {
-    final User user = getUser();
-    if (user == null) {
+    final AuthIdentity identity = AuthUtils.getIdentity();
+    if (identity == null || identity.isAdmin()) {
       return true;
     }
-    return AuthUtils.hasRole(user, name);
+    return identity.hasRole(name);
   }
 
   @Override
@@ -20,7 +20,6 @@ package com.axelor.auth;
 
 import com.axelor.auth.db.User;
 import com.axelor.db.JPA;
-import com.axelor.db.JpaRepository;
 import com.axelor.db.QueryBinder;
 import com.google.common.base.Preconditions;
 import java.time.LocalDateTime;
@@ -43,9 +42,32 @@ public class AuthUtils {
     return null;
   }
 
+  /**
+   * Returns the authenticated user.
+   *
+   * <p>The user is found by the id of the current {@link AuthIdentity}, so it comes from the
+   * persistence context once loaded.
+   *
+   * @return the authenticated user, or null
+   */
   public static User getUser() {
+    final AuthIdentity identity = getIdentity();
+    return identity == null ? null : JPA.em().find(User.class, identity.getId());
+  }
+
+  /**
+   * Returns the identity snapshot of the authenticated user, resolved once per request.
+   *
+   * @return the identity, or null if not authenticated
+   */
+  public static AuthIdentity getIdentity() {
+    final String code = getPrincipal();
+    return code == null ? null : AuthIdentity.get(code);
+  }
+
+  private static String getPrincipal() {
     try {
-      return getUser(getSubject().getPrincipal().toString());
+      return getSubject().getPrincipal().toString();
     } catch (NullPointerException | InvalidSessionException e) {
     }
     return null;
@@ -55,12 +77,7 @@ public class AuthUtils {
     if (code == null) {
       return null;
     }
-    return JpaRepository.of(User.class)
-        .all()
-        .filter("self.code = ?", code)
-        .cacheable()
-        .autoFlush(false)
-        .fetchOne();
+    return JPA.findByNaturalId(User.class, code);
   }
 
   public static boolean isActive(final User user) {
@@ -100,6 +117,12 @@ public class AuthUtils {
     Preconditions.checkArgument(user != null, "user not provided.");
     Preconditions.checkArgument(roles != null, "roles not provided.");
     Preconditions.checkArgument(roles.length > 0, "roles not provided.");
+
+    final AuthIdentity identity = getIdentity();
+    if (identity != null && identity.getCode().equals(user.getCode())) {
+      return identity.hasRole(roles);
+    }
+
     final TypedQuery<Long> query = JPA.em().createQuery(QS_HAS_ROLE, Long.class);
     query.setParameter("roles", Arrays.asList(roles));
     query.setParameter("user", user.getCode());
@@ -0,0 +1,298 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.cache;
+
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.db.internal.DBHelper;
+import com.axelor.inject.Beans;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the node-local caches consistent across the nodes of a cluster.
+ *
+ * <p>Caches subscribe to a topic and get notified when an entry (or all the entries) should be
+ * invalidated, either by the local node or by any other node. Messages are exchanged using the
+ * {@link CacheBusTransport} configured with <code>cache.bus.transport</code> setting:
+ *
+ * <ul>
+ *   <li><code>none</code> - single node, invalidations are local only (default)
+ *   <li><code>notify</code> - PostgreSQL <code>LISTEN/NOTIFY</code>
+ *   <li><code>table</code> - database table polled every <code>cache.bus.poll-interval</code> ms
+ *   <li>fully qualified name of a custom {@link CacheBusTransport} implementation
+ * </ul>
+ *
+ * <p>Messages published inside a transaction are only sent once the transaction is committed, so
+ * that other nodes never reload stale data.
+ */
+public final class CacheBus {
+
+  private static final Logger log = LoggerFactory.getLogger(CacheBus.class);
+
+  private static final String NODE = UUID.randomUUID().toString();
+
+  private static final Map<String, List<Consumer<String>>> LISTENERS = new ConcurrentHashMap<>();
+
+  private static final ThreadLocal<List<String>> PENDING = new ThreadLocal<>();
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final int DEFAULT_POLL_INTERVAL = 2000;
+
+  private static volatile CacheBusTransport transport;
+
+  private static ExecutorService publisher;
+
+  private CacheBus() {}
+
+  /**
+   * Subscribes to the messages of the given topic.
+   *
+   * <p>The listener receives the invalidated key, or <code>null</code> if all the entries should be
+   * invalidated. For broadcast topics, it receives the message payload.
+   *
+   * @param topic the topic name
+   * @param listener the listener
+   */
+  public static void subscribe(String topic, Consumer<String> listener) {
+    LISTENERS.computeIfAbsent(topic, k -> new CopyOnWriteArrayList<>()).add(listener);
+  }
+
+  /**
+   * Invalidates an entry of the given cache on all the nodes.
+   *
+   * @param topic the cache topic
+   * @param key the key to invalidate, or <code>null</code> to invalidate all the entries
+   */
+  public static void invalidate(String topic, String key) {
+    dispatch(topic, key);
+    publish(topic, key);
+  }
+
+  /**
+   * Invalidates all the entries of the given cache on all the nodes.
+   *
+   * @param topic the cache topic
+   */
+  public static void invalidateAll(String topic) {
+    invalidate(topic, null);
+  }
+
+  /**
+   * Sends a message to the listeners of the given topic on the other nodes only.
+   *
+   * <p>The message is dropped if the transport doesn't support broadcast messages, see {@link
+   * #isBroadcastEnabled()}.
+   *
+   * @param topic the topic name
+   * @param payload the message payload
+   */
+  public static void broadcast(String topic, String payload) {
+    if (isBroadcastEnabled()) {
+      publish(topic, payload);
+    }
+  }
+
+  /**
+   * Whether messages are exchanged with other nodes.
+   *
+   * @return true if a transport is running
+   */
+  public static boolean isEnabled() {
+    return transport != null;
+  }
+
+  /**
+   * Whether broadcast messages are exchanged with other nodes.
+   *
+   * @return true if the running transport supports broadcast messages
+   */
+  public static boolean isBroadcastEnabled() {
+    final CacheBusTransport current = transport;
+    return current != null && current.isBroadcastSupported();
+  }
+
+  /** Starts the configured transport. */
+  public static synchronized void start() {
+    if (transport != null) {
+      return;
+    }
+
+    final CacheBusTransport instance = createTransport();
+    if (instance == null) {
+      return;
+    }
+
+    try {
+      instance.start(CacheBus::receive);
+    } catch (Exception e) {
+      log.error("Unable to start cache bus: {}", e.getMessage(), e);
+      return;
+    }
+
+    publisher =
+        Executors.newSingleThreadExecutor(
+            r -> {
+              final Thread thread = new Thread(r, "cache-bus-publisher");
+              thread.setDaemon(true);
+              return thread;
+            });
+    transport = instance;
+    log.info("Cache bus started: {}", instance.getClass().getSimpleName());
+  }
+
+  /** Stops the running transport. */
+  public static synchronized void stop() {
+    if (transport == null) {
+      return;
+    }
+    publisher.shutdown();
+    transport.stop();
+    transport = null;
+    publisher = null;
+  }
+
+  private static CacheBusTransport createTransport() {
+    final AppSettings settings = AppSettings.get();
+    final String name = settings.get(AvailableAppSettings.CACHE_BUS_TRANSPORT, "none").trim();
+    final int interval =
+        settings.getInt(AvailableAppSettings.CACHE_BUS_POLL_INTERVAL, DEFAULT_POLL_INTERVAL);
+
+    switch (name) {
+      case "none":
+        return null;
+      case "notify":
+        if (DBHelper.isPostgreSQL()) {
+          return new PostgreSQLNotifyTransport();
+        }
+        log.warn("Cache bus 'notify' transport requires PostgreSQL, using 'table' transport.");
+        return new TablePollingTransport(interval);
+      case "table":
+        return new TablePollingTransport(interval);
+      default:
+        try {
+          return (CacheBusTransport) Beans.get(Class.forName(name));
+        } catch (ClassNotFoundException | ClassCastException e) {
+          log.error("Invalid cache bus transport: {}", name);
+          return null;
+        }
+    }
+  }
+
+  /**
+   * Marks the start of a transaction on the current thread. Messages are then kept until {@link
+   * #transactionCompleted(boolean)}.
+   */
+  public static void transactionStarted() {
+    if (transport != null) {
+      PENDING.set(new ArrayList<>());
+    }
+  }
+
+  /**
+   * Marks the end of the transaction on the current thread. Pending messages are sent if the
+   * transaction is committed.
+   *
+   * @param committed whether the transaction is committed
+   */
+  public static void transactionCompleted(boolean committed) {
+    final List<String> pending = PENDING.get();
+    PENDING.remove();
+    if (committed && pending != null) {
+      pending.forEach(CacheBus::send);
+    }
+  }
+
+  private static void publish(String topic, String payload) {
+    if (transport == null) {
+      return;
+    }
+
+    final String message;
+    try {
+      message = MAPPER.writeValueAsString(new String[] {NODE, topic, payload});
+    } catch (Exception e) {
+      log.error("Unable to encode cache bus message: {}", e.getMessage());
+      return;
+    }
+
+    final List<String> pending = PENDING.get();
+    if (pending == null) {
+      send(message);
+    } else {
+      pending.add(message);
+    }
+  }
+
+  private static void send(String message) {
+    final ExecutorService executor = publisher;
+    final CacheBusTransport target = transport;
+    if (executor == null || target == null) {
+      return;
+    }
+    executor.execute(
+        () -> {
+          try {
+            target.publish(message);
+          } catch (Exception e) {
+            log.error("Unable to publish cache bus message: {}", e.getMessage());
+          }
+        });
+  }
+
+  private static void receive(String message) {
+    final String[] parts;
+    try {
+      parts = MAPPER.readValue(message, String[].class);
+    } catch (Exception e) {
+      log.warn("Invalid cache bus message: {}", message);
+      return;
+    }
+    if (parts.length != 3 || NODE.equals(parts[0])) {
+      return;
+    }
+    log.trace("Cache bus message: topic={}, key={}", parts[1], parts[2]);
+    dispatch(parts[1], parts[2]);
+  }
+
+  private static void dispatch(String topic, String key) {
+    final List<Consumer<String>> listeners = LISTENERS.get(topic);
+    if (listeners == null) {
+      return;
+    }
+    for (Consumer<String> listener : listeners) {
+      try {
+        listener.accept(key);
+      } catch (Exception e) {
+        log.error("Error in cache bus listener of {}: {}", topic, e.getMessage(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * The transport used by the {@link CacheBus} to exchange messages between the nodes of a cluster.
+ *
+ * <p>Custom implementations can be configured with <code>cache.bus.transport</code> setting using
+ * their fully qualified class name.
+ */
+public interface CacheBusTransport {
+
+  /**
+   * Starts receiving the messages published by the other nodes.
+   *
+   * @param receiver the consumer of received messages
+   * @throws Exception if the transport can't be started
+   */
+  void start(Consumer<String> receiver) throws Exception;
+
+  /**
+   * Publishes a message to all the nodes.
+   *
+   * @param message the message to publish
+   * @throws Exception if the message can't be published
+   */
+  void publish(String message) throws Exception;
+
+  /**
+   * Whether the transport carries the messages sent with {@link CacheBus#broadcast(String,
+   * String)}, not only the cache invalidations.
+   *
+   * @return true by default
+   */
+  default boolean isBroadcastSupported() {
+    return true;
+  }
+
+  /** Stops the transport and releases its resources. */
+  void stop();
+}
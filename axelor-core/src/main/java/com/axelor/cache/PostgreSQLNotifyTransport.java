@@ -0,0 +1,124 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.cache;
+
+import com.axelor.db.internal.DBHelper;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** The {@link CacheBusTransport} using PostgreSQL <code>LISTEN/NOTIFY</code>. */
+public class PostgreSQLNotifyTransport implements CacheBusTransport {
+
+  private static final Logger log = LoggerFactory.getLogger(PostgreSQLNotifyTransport.class);
+
+  private static final String CHANNEL = "axelor_cache_bus";
+
+  private static final int LISTEN_TIMEOUT = 1000;
+  private static final int RECONNECT_DELAY = 5000;
+
+  private volatile boolean running;
+
+  private Thread listener;
+
+  private Connection connection;
+
+  @Override
+  public void start(Consumer<String> receiver) {
+    running = true;
+    listener = new Thread(() -> listen(receiver), "cache-bus-listener");
+    listener.setDaemon(true);
+    listener.start();
+  }
+
+  private void listen(Consumer<String> receiver) {
+    while (running) {
+      try (Connection conn = DBHelper.getConnection();
+          Statement stmt = conn.createStatement()) {
+        conn.setAutoCommit(true);
+        stmt.execute("LISTEN " + CHANNEL);
+        final PGConnection pg = conn.unwrap(PGConnection.class);
+        while (running) {
+          final PGNotification[] notifications = pg.getNotifications(LISTEN_TIMEOUT);
+          if (notifications == null) {
+            continue;
+          }
+          for (PGNotification notification : notifications) {
+            receiver.accept(notification.getParameter());
+          }
+        }
+      } catch (Exception e) {
+        if (!running) {
+          return;
+        }
+        log.error("Cache bus listener failed, reconnecting: {}", e.getMessage());
+        try {
+          Thread.sleep(RECONNECT_DELAY);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  @Override
+  public synchronized void publish(String message) throws Exception {
+    if (connection == null || connection.isClosed()) {
+      connection = DBHelper.getConnection();
+      connection.setAutoCommit(true);
+    }
+    try (PreparedStatement stmt = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+      stmt.setString(1, CHANNEL);
+      stmt.setString(2, message);
+      stmt.execute();
+    } catch (SQLException e) {
+      close();
+      throw e;
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    running = false;
+    if (listener != null) {
+      listener.interrupt();
+      listener = null;
+    }
+    close();
+  }
+
+  private void close() {
+    if (connection == null) {
+      return;
+    }
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      // ignore
+    }
+    connection = null;
+  }
+}
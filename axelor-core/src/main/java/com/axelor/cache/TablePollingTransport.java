@@ -0,0 +1,201 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.cache;
+
+import com.axelor.db.JPA;
+import com.axelor.inject.Beans;
+import com.axelor.meta.db.MetaCacheEvent;
+import com.google.inject.persist.UnitOfWork;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link CacheBusTransport} using a database table polled at fixed interval.
+ *
+ * <p>Messages are read in id order after the last received one, so the clocks of the nodes don't
+ * matter. Ids skipped by a poll are retried for a while, as the transaction inserting them may
+ * commit after the one inserting a greater id.
+ *
+ * <p>Only cache invalidations are exchanged, broadcast messages are not supported.
+ */
+public class TablePollingTransport implements CacheBusTransport {
+
+  private static final Logger log = LoggerFactory.getLogger(TablePollingTransport.class);
+
+  private static final long GAP_TIMEOUT = TimeUnit.MINUTES.toNanos(1);
+  private static final int MAX_GAPS = 1000;
+
+  static final long RETENTION = TimeUnit.MINUTES.toMillis(10);
+
+  private final int interval;
+
+  // skipped ids with the time (nano) after which they are given up
+  private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+  private ScheduledExecutorService executor;
+
+  private long lastId;
+  private long lastPurge;
+
+  public TablePollingTransport(int interval) {
+    this.interval = interval;
+  }
+
+  @Override
+  public void start(Consumer<String> receiver) {
+    init();
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              final Thread thread = new Thread(r, "cache-bus-poller");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.scheduleWithFixedDelay(
+        () -> {
+          try {
+            poll(receiver);
+          } catch (Exception e) {
+            log.error("Cache bus polling failed: {}", e.getMessage());
+          }
+        },
+        interval,
+        interval,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /** Skips the messages published before. */
+  void init() {
+    doInSession(
+        () -> {
+          final Long max =
+              JPA.em()
+                  .createQuery("SELECT MAX(self.id) FROM MetaCacheEvent self", Long.class)
+                  .getSingleResult();
+          lastId = max == null ? 0 : max;
+          lastPurge = System.currentTimeMillis();
+          gaps.clear();
+        });
+  }
+
+  /**
+   * Receives the messages published since the last poll.
+   *
+   * @param receiver the consumer of received messages
+   */
+  void poll(Consumer<String> receiver) {
+    doInSession(
+        () -> {
+          receive(receiver);
+          final long now = System.currentTimeMillis();
+          if (now - lastPurge > RETENTION) {
+            lastPurge = now;
+            purge(now - RETENTION);
+          }
+        });
+  }
+
+  private void receive(Consumer<String> receiver) {
+    final List<MetaCacheEvent> events =
+        gaps.isEmpty()
+            ? JPA.all(MetaCacheEvent.class)
+                .filter("self.id > :lastId")
+                .bind("lastId", lastId)
+                .order("id")
+                .fetch()
+            : JPA.all(MetaCacheEvent.class)
+                .filter("self.id > :lastId OR self.id IN (:gaps)")
+                .bind("lastId", lastId)
+                .bind("gaps", new ArrayList<>(gaps.keySet()))
+                .order("id")
+                .fetch();
+
+    final long now = System.nanoTime();
+    for (MetaCacheEvent event : events) {
+      final long id = event.getId();
+      if (id > lastId) {
+        for (long gap = Math.max(lastId + 1, id - MAX_GAPS); gap < id; gap++) {
+          gaps.put(gap, now + GAP_TIMEOUT);
+        }
+        lastId = id;
+      } else {
+        gaps.remove(id);
+      }
+      receiver.accept(event.getMessage());
+    }
+
+    gaps.values().removeIf(deadline -> now - deadline > 0);
+    while (gaps.size() > MAX_GAPS) {
+      gaps.remove(gaps.keySet().iterator().next());
+    }
+  }
+
+  /**
+   * Deletes the messages published before the given time.
+   *
+   * @param time the time in milliseconds
+   */
+  void purge(long time) {
+    JPA.runInTransaction(
+        () ->
+            JPA.em()
+                .createQuery("DELETE FROM MetaCacheEvent self WHERE self.eventTime < :time")
+                .setParameter("time", time)
+                .executeUpdate());
+  }
+
+  @Override
+  public void publish(String message) {
+    final MetaCacheEvent event = new MetaCacheEvent();
+    event.setEventTime(System.currentTimeMillis());
+    event.setMessage(message);
+    doInSession(() -> JPA.runInTransaction(() -> JPA.em().persist(event)));
+  }
+
+  @Override
+  public boolean isBroadcastSupported() {
+    return false;
+  }
+
+  @Override
+  public void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  private void doInSession(Runnable task) {
+    final UnitOfWork unitOfWork = Beans.get(UnitOfWork.class);
+    unitOfWork.begin();
+    try {
+      task.run();
+    } finally {
+      unitOfWork.end();
+    }
+  }
+}
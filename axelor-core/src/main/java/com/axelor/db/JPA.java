@@ -44,6 +44,7 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.persistence.EntityGraph;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
 import javax.persistence.OneToMany;
@@ -134,6 +135,49 @@ public final class JPA {
         .multiLoad(ids);
   }
 
+  /**
+   * Find an entity by its simple natural id.<br>
+   * <br>
+   * The natural id is resolved to the primary key using the natural id cache if the entity is
+   * annotated with {@link org.hibernate.annotations.NaturalIdCache}, then the entity is loaded
+   * from the first-level or second-level cache if possible.
+   *
+   * @param klass The model class
+   * @param value The natural id value
+   * @return the matched record or null
+   * @see org.hibernate.SimpleNaturalIdLoadAccess
+   */
+  public static <T extends Model> T findByNaturalId(Class<T> klass, Object value) {
+    if (value == null) {
+      return null;
+    }
+    return em().unwrap(Session.class).bySimpleNaturalId(klass).load(value);
+  }
+
+  /**
+   * Find a named entity graph of the given model class.<br>
+   * <br>
+   * Graphs generated from domain models are named after the entity, like <code>Contact.form</code>,
+   * so the name can be given either qualified or relative to the model class.
+   *
+   * @param klass The model class
+   * @param name The graph name
+   * @return the entity graph or null if not found
+   */
+  public static <T extends Model> EntityGraph<? super T> findEntityGraph(
+      Class<T> klass, String name) {
+    if (name == null) {
+      return null;
+    }
+    final String qualified = name.indexOf('.') > -1 ? name : klass.getSimpleName() + "." + name;
+    for (EntityGraph<? super T> graph : em().getEntityGraphs(klass)) {
+      if (qualified.equals(graph.getName())) {
+        return graph;
+      }
+    }
+    return null;
+  }
+
   private static boolean isAutoFlushEnabled() {
     return !Objects.equal(
         "false", em().getEntityManagerFactory().getProperties().get("JPA.auto_flush"));
@@ -22,15 +22,19 @@ import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
 import com.axelor.auth.AuditInterceptor;
 import com.axelor.common.StringUtils;
+import com.axelor.db.hibernate.cache.CacheRegionFactory;
 import com.axelor.db.hibernate.dialect.CustomDialectResolver;
 import com.axelor.db.hibernate.naming.ImplicitNamingStrategyImpl;
 import com.axelor.db.hibernate.naming.PhysicalNamingStrategyImpl;
+import com.axelor.db.hibernate.stats.RequestStatsListener;
 import com.axelor.db.internal.DBHelper;
 import com.axelor.db.search.SearchMappingFactory;
 import com.axelor.db.search.SearchModule;
 import com.axelor.db.tenants.TenantConnectionProvider;
 import com.axelor.db.tenants.TenantModule;
 import com.axelor.db.tenants.TenantResolver;
+import com.axelor.meta.ActionTrace;
+import com.axelor.rpc.RequestStats;
 import com.google.inject.AbstractModule;
 import com.google.inject.persist.PersistService;
 import com.google.inject.persist.jpa.JpaPersistModule;
@@ -140,6 +144,7 @@ public class JpaModule extends AbstractModule {
     configureCache(settings, properties);
     configureMultiTenancy(settings, properties);
     configureSearch(settings, properties);
+    configureStats(properties);
 
     try {
       configureConnection(settings, properties);
@@ -194,7 +199,8 @@ public class JpaModule extends AbstractModule {
         settings.get(AvailableAppSettings.HIBERNATE_CACHE_REGION_FACTORY);
     if (StringUtils.isBlank(cacheRegionFactory)
         || cacheRegionFactory.equals(DEFAULT_CACHE_REGION_FACTORY)) {
-      properties.put(Environment.CACHE_REGION_FACTORY, DEFAULT_CACHE_REGION_FACTORY);
+      // jcache, with regions sized from app settings
+      properties.put(Environment.CACHE_REGION_FACTORY, CacheRegionFactory.class.getName());
       final String jcacheProvider =
           settings.get(
               AvailableAppSettings.HIBERNATE_JAVAX_CACHE_PROVIDER, DEFAULT_JCACHE_PROVIDER);
@@ -216,6 +222,18 @@ public class JpaModule extends AbstractModule {
     }
   }
 
+  private void configureStats(final Properties properties) {
+    // per request statistics, see ResponseInterceptor, and action traces
+    if (!RequestStats.isEnabled() && !ActionTrace.isEnabled()) {
+      return;
+    }
+    properties.put(Environment.AUTO_SESSION_EVENTS_LISTENER, RequestStatsListener.class.getName());
+    // chain the configured inspector, if any
+    properties.put(
+        Environment.STATEMENT_INSPECTOR,
+        new RequestStatsListener(
+            RequestStatsListener.toInspector(properties.get(Environment.STATEMENT_INSPECTOR))));
+  }
 
   /**
    * 配置搜索模块
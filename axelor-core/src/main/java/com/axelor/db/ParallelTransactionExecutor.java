@@ -18,30 +18,35 @@
  */
 package com.axelor.db;
 
+import com.axelor.app.AppExecutor;
 import com.axelor.db.internal.DBHelper;
 import com.axelor.db.tenants.TenantAware;
 import com.axelor.db.tenants.TenantResolver;
 import java.lang.invoke.MethodHandles;
-import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Executes transactions in parallel and handles rollback if any exception occurs. */
+/**
+ * Executes transactions in parallel and handles rollback if any exception occurs.
+ *
+ * <p>One worker runs in the calling thread, the others run with the shared {@link AppExecutor}.
+ * They join the run as soon as they get a thread, so that the commands complete even if no other
+ * worker gets a thread. The worker of the calling thread joins its transaction, if any.
+ */
 public class ParallelTransactionExecutor {
 
   private final String tenantId;
@@ -50,15 +55,15 @@ public class ParallelTransactionExecutor {
 
   private final int numWorkers;
 
-  private final ExecutorService workerPool;
-
   private final List<Future<?>> workerFutures;
 
-  private final ConcurrentMap<Integer, Entry<CountDownLatch, Queue<Runnable>>> commandsByPriority;
+  private final ConcurrentMap<Integer, Queue<Runnable>> commandsByPriority;
 
-  private final List<Entry<CountDownLatch, Queue<Runnable>>> commands;
+  private final List<Queue<Runnable>> commands;
 
-  private boolean rollbackNeeded;
+  private final Phaser phaser;
+
+  private volatile boolean rollbackNeeded;
 
   private static final Logger logger =
       LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
@@ -97,10 +102,10 @@ public class ParallelTransactionExecutor {
     this.tenantId = tenantId;
     this.tenantHost = tenantHost;
     this.numWorkers = numWorkers;
-    workerPool = Executors.newFixedThreadPool(numWorkers);
     workerFutures = new ArrayList<>(numWorkers);
     commandsByPriority = new ConcurrentHashMap<>();
     commands = new ArrayList<>();
+    phaser = new Phaser();
   }
 
   /**
@@ -121,14 +126,7 @@ public class ParallelTransactionExecutor {
    * @param priority
    */
   public void add(Runnable command, int priority) {
-    commandsByPriority
-        .computeIfAbsent(
-            priority,
-            key ->
-                new SimpleImmutableEntry<>(
-                    new CountDownLatch(numWorkers), new ConcurrentLinkedQueue<>()))
-        .getValue()
-        .add(command);
+    commandsByPriority.computeIfAbsent(priority, key -> new ConcurrentLinkedQueue<>()).add(command);
   }
 
   /**
@@ -137,7 +135,7 @@ public class ParallelTransactionExecutor {
    */
   public void run() {
     start();
-    waitAndShutdown();
+    waitForWorkers();
   }
 
   private void start() {
@@ -145,40 +143,48 @@ public class ParallelTransactionExecutor {
         .sorted()
         .forEachOrdered(priority -> commands.add(commandsByPriority.get(priority)));
 
-    for (int i = 0; i < numWorkers; ++i) {
-      workerFutures.add(
-          workerPool.submit(
-              new TenantAware(this::runCommands).tenantId(tenantId).tenantHost(tenantHost)));
+    for (int i = 1; i < numWorkers; ++i) {
+      try {
+        workerFutures.add(AppExecutor.submit(createWorker()));
+      } catch (RejectedExecutionException e) {
+        break;
+      }
     }
+
+    // the calling thread is a worker too, so that the commands complete even if the other
+    // workers are still waiting for a thread of the executor
+    final FutureTask<?> task = new FutureTask<>(createWorker(), null);
+    workerFutures.add(task);
+    task.run();
   }
 
-  private void waitAndShutdown() {
-    try {
-      workerFutures.forEach(
-          future -> {
-            try {
-              wait(future);
-            } catch (InterruptedException e) {
-              logger.error(e.getMessage(), e);
-              Thread.currentThread().interrupt();
-            } catch (ExecutionException e) {
-              final Throwable cause = e.getCause();
-
-              if (cause instanceof ErrorInAnotherWorker) {
-                return;
-              } else if (cause instanceof RuntimeException) {
-                throw (RuntimeException) cause;
-              } else if (cause instanceof Error) {
-                throw (Error) cause;
-              } else {
-                // Should never happen
-                throw new IllegalStateException(cause);
-              }
+  private Runnable createWorker() {
+    return new TenantAware(this::runCommands).tenantId(tenantId).tenantHost(tenantHost);
+  }
+
+  private void waitForWorkers() {
+    workerFutures.forEach(
+        future -> {
+          try {
+            wait(future);
+          } catch (InterruptedException e) {
+            logger.error(e.getMessage(), e);
+            Thread.currentThread().interrupt();
+          } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof ErrorInAnotherWorker) {
+              return;
+            } else if (cause instanceof RuntimeException) {
+              throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+              throw (Error) cause;
+            } else {
+              // Should never happen
+              throw new IllegalStateException(cause);
             }
-          });
-    } finally {
-      workerPool.shutdown();
-    }
+          }
+        });
   }
 
   private void wait(Future<?> future) throws InterruptedException, ExecutionException {
@@ -187,7 +193,7 @@ public class ParallelTransactionExecutor {
         future.get(1, TimeUnit.HOURS);
         return;
       } catch (TimeoutException e) {
-        logger.warn("Future {} of pool {} is taking a long time to complete.", future, workerPool);
+        logger.warn("Worker {} is taking a long time to complete.", future);
       }
     } while (!Thread.currentThread().isInterrupted());
   }
@@ -195,27 +201,28 @@ public class ParallelTransactionExecutor {
   private void runCommands() {
     RuntimeException error = null;
 
-    for (final Entry<CountDownLatch, Queue<Runnable>> entry : commands) {
-      final CountDownLatch doneSignal = entry.getKey();
-      final Queue<Runnable> commandQueue = entry.getValue();
-
-      try {
-        for (Runnable command; (command = commandQueue.poll()) != null; ) {
-          command.run();
+    // a worker joining late starts with the commands of the current priority, the previous ones
+    // are already completed by the other workers
+    final int first = phaser.register();
+    try {
+      for (int i = Math.max(0, first); first >= 0 && i < commands.size(); ++i) {
+        final Queue<Runnable> commandQueue = commands.get(i);
+
+        try {
+          for (Runnable command; (command = commandQueue.poll()) != null; ) {
+            command.run();
+          }
+        } catch (RuntimeException e) {
+          rollbackNeeded = true;
+          error = e;
+          clearCommandQueues();
         }
-      } catch (RuntimeException e) {
-        rollbackNeeded = true;
-        error = e;
-        clearCommandQueues();
-      } finally {
-        doneSignal.countDown();
-      }
 
-      try {
-        doneSignal.await();
-      } catch (InterruptedException e) {
-        logger.error(e.getMessage(), e);
-        Thread.currentThread().interrupt();
+        phaser.arriveAndAwaitAdvance();
+      }
+    } finally {
+      if (first >= 0) {
+        phaser.arriveAndDeregister();
       }
     }
 
@@ -227,7 +234,7 @@ public class ParallelTransactionExecutor {
   }
 
   private void clearCommandQueues() {
-    commands.stream().map(Entry::getValue).forEach(Collection::clear);
+    commands.forEach(Collection::clear);
   }
 
   private static class ErrorInAnotherWorker extends RuntimeException {
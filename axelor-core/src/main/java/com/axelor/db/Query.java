@@ -31,10 +31,13 @@ import com.axelor.i18n.I18n;
 import com.axelor.rpc.Resource;
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -44,12 +47,16 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.regex.MatchResult;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.persistence.AttributeNode;
+import javax.persistence.EntityGraph;
 import javax.persistence.EntityManager;
 import javax.persistence.FlushModeType;
 import javax.persistence.TypedQuery;
@@ -83,6 +90,8 @@ public class Query<T extends Model> {
 
   private boolean translate;
 
+  private String graph;
+
   private FlushModeType flushMode = FlushModeType.AUTO;
 
   private static final String NAME_PATTERN = "((?:[a-zA-Z_]\\w+)(?:(?:\\[\\])?\\.\\w+)*)";
@@ -90,6 +99,24 @@ public class Query<T extends Model> {
   private static final Pattern PLACEHOLDER_PLAIN = Pattern.compile("(?<!\\?)\\?(?!(\\d+|\\?))");
   private static final Pattern PLACEHOLDER_INDEXED = Pattern.compile("\\?\\d+");
 
+  private static final int CACHE_SIZE = 5000;
+
+  // filter strings checked and with fixed placeholders
+  private static final Cache<String, String> FILTERS =
+      CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+
+  // filter strings with fixed placeholders
+  private static final Cache<String, String> PLACEHOLDERS =
+      CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+
+  // final JPQL statements by query shape
+  private static final Cache<List<Object>, String> STATEMENTS =
+      CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+
+  // selector plans by query shape and selected names
+  private static final Cache<List<Object>, SelectorPlan> SELECTORS =
+      CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+
   /**
    * Create a new instance of {@code Query} with given bean class.
    *
@@ -106,6 +133,15 @@ public class Query<T extends Model> {
     return new Query<T>(klass);
   }
 
+  /**
+   * Get the model class of this query.
+   *
+   * @return the model class
+   */
+  public Class<T> getBeanClass() {
+    return beanClass;
+  }
+
   protected EntityManager em() {
     return JPA.em();
   }
@@ -175,13 +211,21 @@ public class Query<T extends Model> {
       throw new IllegalArgumentException("filter string is required.");
     }
 
-    // check for mixed style positional parameters
-    if (PLACEHOLDER_PLAIN.matcher(filter).find() && PLACEHOLDER_INDEXED.matcher(filter).find()) {
-      throw new IllegalArgumentException(
-          "JDBC and JPA-style positional parameters can't be mixed: " + filter);
-    }
+    final String fixed =
+        cached(
+            FILTERS,
+            filter,
+            () -> {
+              // check for mixed style positional parameters
+              if (PLACEHOLDER_PLAIN.matcher(filter).find()
+                  && PLACEHOLDER_INDEXED.matcher(filter).find()) {
+                throw new IllegalArgumentException(
+                    "JDBC and JPA-style positional parameters can't be mixed: " + filter);
+              }
+              return fixPlaceholders(filter);
+            });
 
-    this.filter = joinHelper.parse(fixPlaceholders(filter), translate);
+    this.filter = joinHelper.parse(fixed, translate);
     this.params = params;
     return this;
   }
@@ -192,15 +236,54 @@ public class Query<T extends Model> {
   }
 
   protected String fixPlaceholders(String filter) {
-    // fix JDBC style parameters
-    int i = 1;
-    final Matcher matcher = PLACEHOLDER_PLAIN.matcher(filter);
-    final StringBuffer sb = new StringBuffer();
-    while (matcher.find()) {
-      matcher.appendReplacement(sb, "?" + (i++));
+    return cached(
+        PLACEHOLDERS,
+        filter,
+        () -> {
+          // fix JDBC style parameters
+          int i = 1;
+          final Matcher matcher = PLACEHOLDER_PLAIN.matcher(filter);
+          final StringBuffer sb = new StringBuffer();
+          while (matcher.find()) {
+            matcher.appendReplacement(sb, "?" + (i++));
+          }
+          matcher.appendTail(sb);
+          return sb.toString();
+        });
+  }
+
+  /**
+   * Get the value of the given key from the cache, computing it if not cached.
+   *
+   * <p>Unlike {@link Cache#get(Object, java.util.concurrent.Callable)}, exceptions thrown while
+   * computing the value are propagated as is.
+   */
+  private static <K, V> V cached(Cache<K, V> cache, K key, Supplier<V> loader) {
+    V value = cache.getIfPresent(key);
+    if (value == null) {
+      value = loader.get();
+      cache.put(key, value);
     }
-    matcher.appendTail(sb);
-    return sb.toString();
+    return value;
+  }
+
+  /**
+   * Get the JPQL statement of the given kind for the current shape of this query, building it if
+   * not cached.
+   *
+   * <p>The shape of a query is made of the compiled path expressions applied to its joins, in
+   * order, along with its filter and order by clause, so that identical queries share the same
+   * statement.
+   */
+  private String statement(String kind, Supplier<String> builder) {
+    final List<Object> key =
+        List.of(
+            kind,
+            beanClass,
+            List.copyOf(joinHelper.shape),
+            filter == null ? "" : filter,
+            orderBy);
+    return cached(STATEMENTS, key, builder);
   }
 
   /**
@@ -295,6 +378,27 @@ public class Query<T extends Model> {
     return translate(true);
   }
 
+  /**
+   * Load the associations of the given named entity graph along with the matched records.
+   *
+   * <p>Collections of the graph are only fetched when all the records are fetched; with a limit,
+   * an offset or a stream, they are left to lazy (batch) loading so the database still paginates
+   * the records.
+   *
+   * @param name the graph name, like <code>form</code> or <code>Contact.form</code>
+   * @return the same query instance
+   * @throws IllegalArgumentException if no such graph exists
+   * @see JPA#findEntityGraph(Class, String)
+   */
+  public Query<T> graph(String name) {
+    if (name != null && JPA.findEntityGraph(beanClass, name) == null) {
+      throw new IllegalArgumentException(
+          String.format("No such entity graph for %s: %s", beanClass.getName(), name));
+    }
+    this.graph = name;
+    return this;
+  }
+
   public Query<T> autoFlush(boolean auto) {
     this.flushMode = auto ? FlushModeType.AUTO : FlushModeType.COMMIT;
     return this;
@@ -349,8 +453,8 @@ public class Query<T extends Model> {
    */
   public Stream<T> fetchStream(int limit, int offset) {
     final org.hibernate.query.Query<T> query =
-        (org.hibernate.query.Query<T>) fetchQuery(limit, offset);
-    if (limit <= 0) {
+        (org.hibernate.query.Query<T>) fetchQuery(limit, offset, true);
+    if (limit <= 0 || limit > DBHelper.getJdbcFetchSize()) {
       query.setFetchSize(DBHelper.getJdbcFetchSize());
     }
     return query.stream();
@@ -383,11 +487,22 @@ public class Query<T extends Model> {
    * @return list of matched records within the range
    */
   public List<T> fetch(int limit, int offset) {
-    return fetchQuery(limit, offset).getResultList();
+    return fetchQuery(limit, offset, false).getResultList();
   }
 
-  private TypedQuery<T> fetchQuery(int limit, int offset) {
-    final TypedQuery<T> query = em().createQuery(selectQuery(), beanClass);
+  private TypedQuery<T> fetchQuery(int limit, int offset, boolean stream) {
+    final EntityGraph<?> entityGraph =
+        graph == null ? null : fetchGraph(stream || limit > 0 || offset > 0);
+
+    String select = selectQuery();
+    if (entityGraph != null
+        && hasCollection(entityGraph)
+        && !select.startsWith("SELECT DISTINCT")) {
+      // collections are fetch joined, root rows are made unique in memory
+      select = select.replaceFirst("^SELECT ", "SELECT DISTINCT ");
+    }
+
+    final TypedQuery<T> query = em().createQuery(select, beanClass);
     query.setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false);
     if (limit > 0) {
       query.setMaxResults(limit);
@@ -400,9 +515,42 @@ public class Query<T extends Model> {
     if (readOnly) {
       binder.setReadOnly();
     }
+    if (entityGraph != null) {
+      query.setHint(QueryHints.HINT_LOADGRAPH, entityGraph);
+    }
     return query;
   }
 
+  /**
+   * Returns the entity graph to load, without its collections when paginated, as fetching them
+   * would paginate the records in memory.
+   */
+  private EntityGraph<?> fetchGraph(boolean paginated) {
+    final EntityGraph<? super T> found = JPA.findEntityGraph(beanClass, graph);
+    if (!paginated || !hasCollection(found)) {
+      return found;
+    }
+    final EntityGraph<T> references = em().createEntityGraph(beanClass);
+    for (AttributeNode<?> node : found.getAttributeNodes()) {
+      if (!isCollection(node)) {
+        references.addAttributeNodes(node.getAttributeName());
+      }
+    }
+    return references;
+  }
+
+  private boolean hasCollection(EntityGraph<?> entityGraph) {
+    return entityGraph.getAttributeNodes().stream().anyMatch(this::isCollection);
+  }
+
+  private boolean isCollection(AttributeNode<?> node) {
+    return em()
+        .getMetamodel()
+        .managedType(beanClass)
+        .getAttribute(node.getAttributeName())
+        .isCollection();
+  }
+
   /**
    * Fetch the first matched record.
    *
@@ -522,9 +670,12 @@ public class Query<T extends Model> {
     selectQuery = selectQuery.replaceAll("\\bself", "that");
 
     if (notMySQL) {
-      return QueryBinder.of(
-              em().createQuery(updateQuery(params, versioned, "self.id IN (" + selectQuery + ")")))
-          .bind(namedParams, this.params)
+      return joinHelper
+          .bind(
+              QueryBinder.of(
+                      em().createQuery(
+                          updateQuery(params, versioned, "self.id IN (" + selectQuery + ")")))
+                  .bind(namedParams, this.params))
           .getQuery()
           .executeUpdate();
     }
@@ -540,8 +691,8 @@ public class Query<T extends Model> {
     TypedQuery<Long> sq = em().createQuery(selectQuery, Long.class);
     javax.persistence.Query uq = em().createQuery(updateQuery);
 
-    QueryBinder.of(sq).bind(namedParams, this.params);
-    QueryBinder.of(uq).bind(namedParams, this.params);
+    joinHelper.bind(QueryBinder.of(sq).bind(namedParams, this.params));
+    joinHelper.bind(QueryBinder.of(uq).bind(namedParams, this.params));
 
     sq.setFirstResult(0);
     sq.setMaxResults(limit);
@@ -617,16 +768,74 @@ public class Query<T extends Model> {
    * Remove all the matched records. <br>
    * <br>
    * In contrast to the {@link #delete()} method, it performs {@link EntityManager#remove(Object)}
-   * operation by fetching objects in pages (100 at a time).
+   * operation by fetching objects in pages (100 at a time). Removed objects are flushed and
+   * detached after each page, so the persistence context doesn't grow with the number of records.
    *
    * @see #delete()
    * @return total number of records removed.
    */
   public long remove() {
-    return fetchStream().peek(JPA::remove).count();
+    final EntityManager em = em();
+    long count = 0;
+    List<Long> ids = fetchIds(0L, 100);
+    while (!ids.isEmpty()) {
+      final List<T> entities = JPA.findByIds(beanClass, ids);
+      for (T entity : entities) {
+        if (entity != null) {
+          JPA.remove(entity);
+          count++;
+        }
+      }
+      em.flush();
+      entities.stream().filter(Objects::nonNull).forEach(em::detach);
+      ids = fetchIds(ids.get(ids.size() - 1), 100);
+    }
+    return count;
+  }
+
+  /**
+   * Fetch the ids of the matched records greater than the given id, in ascending order.
+   *
+   * <p>This allows to process large number of records in chunks, without the cost of an offset:
+   *
+   * <pre>
+   * List&lt;Long&gt; ids = query.fetchIds(0L, 1000);
+   * while (!ids.isEmpty()) {
+   *   ...
+   *   ids = query.fetchIds(ids.get(ids.size() - 1), 1000);
+   * }
+   * </pre>
+   *
+   * @param afterId only fetch ids greater than this one
+   * @param limit the maximum number of ids to fetch
+   * @return the list of ids
+   */
+  public List<Long> fetchIds(Long afterId, int limit) {
+    final StringBuilder sb =
+        new StringBuilder("SELECT DISTINCT self.id FROM ")
+            .append(beanClass.getSimpleName())
+            .append(" self")
+            .append(joinHelper.toString(false))
+            .append(" WHERE self.id > :_afterId");
+    if (filter != null && filter.trim().length() > 0) {
+      sb.append(" AND (").append(filter).append(")");
+    }
+    sb.append(" ORDER BY self.id");
+
+    final TypedQuery<Long> query = em().createQuery(sb.toString(), Long.class);
+    this.bind(query).setFlushMode(flushMode);
+    query.setParameter("_afterId", afterId == null ? 0L : afterId);
+    if (limit > 0) {
+      query.setMaxResults(limit);
+    }
+    return query.getResultList();
   }
 
   protected String selectQuery(boolean update) {
+    return statement(update ? "update" : "select", () -> buildSelectQuery(update));
+  }
+
+  private String buildSelectQuery(boolean update) {
     StringBuilder sb =
         new StringBuilder("SELECT self FROM ")
             .append(beanClass.getSimpleName())
@@ -649,6 +858,10 @@ public class Query<T extends Model> {
   }
 
   protected String countQuery() {
+    return statement("count", this::buildCountQuery);
+  }
+
+  private String buildCountQuery() {
     StringBuilder sb =
         new StringBuilder("SELECT COUNT(self.id) FROM ")
             .append(beanClass.getSimpleName())
@@ -689,7 +902,7 @@ public class Query<T extends Model> {
   }
 
   protected QueryBinder bind(javax.persistence.Query query) {
-    return QueryBinder.of(query).bind(namedParams, params);
+    return joinHelper.bind(QueryBinder.of(query).bind(namedParams, params));
   }
 
   /**
@@ -750,8 +963,37 @@ public class Query<T extends Model> {
     private List<String> collections = Lists.newArrayList();
     private String query;
     private Mapper mapper = Mapper.of(beanClass);
+    private Map<String, Optional<Property>> properties = new HashMap<>();
 
     private Selector(String... names) {
+      final List<Object> key =
+          List.of(
+              beanClass,
+              List.copyOf(joinHelper.shape),
+              filter == null ? "" : filter,
+              orderBy,
+              Arrays.asList(names.clone()));
+
+      SelectorPlan plan = SELECTORS.getIfPresent(key);
+      if (plan == null) {
+        final int mark = joinHelper.shape.size();
+        compile(names);
+        plan =
+            new SelectorPlan(
+                this.names,
+                this.collections,
+                query,
+                List.copyOf(joinHelper.shape.subList(mark, joinHelper.shape.size())));
+        SELECTORS.put(key, plan);
+      } else {
+        plan.paths.forEach(joinHelper::apply);
+        this.names = plan.names;
+        this.collections = plan.collections;
+        this.query = plan.query;
+      }
+    }
+
+    private void compile(String... names) {
       List<String> selects = Lists.newArrayList();
       selects.add("self.id");
       selects.add("self.version");
@@ -818,7 +1060,14 @@ public class Query<T extends Model> {
     }
 
     private Property getProperty(String field) {
-      if (field == null || "".equals(field.trim())) return null;
+      if (field == null) return null;
+      return properties
+          .computeIfAbsent(field, name -> Optional.ofNullable(findProperty(name)))
+          .orElse(null);
+    }
+
+    private Property findProperty(String field) {
+      if ("".equals(field.trim())) return null;
       Mapper mapper = this.mapper;
       Property property = null;
       Iterator<String> names = Splitter.on(".").split(field).iterator();
@@ -835,6 +1084,10 @@ public class Query<T extends Model> {
 
     @SuppressWarnings("all")
     public List<List> values(int limit, int offset) {
+      return valuesQuery(limit, offset).getResultList();
+    }
+
+    private javax.persistence.Query valuesQuery(int limit, int offset) {
       javax.persistence.Query q = em().createQuery(query);
       if (limit > 0) {
         q.setMaxResults(limit);
@@ -848,7 +1101,7 @@ public class Query<T extends Model> {
         binder.setReadOnly();
       }
 
-      return q.getResultList();
+      return q;
     }
 
     @SuppressWarnings("all")
@@ -858,29 +1111,55 @@ public class Query<T extends Model> {
       List<Map> result = Lists.newArrayList();
 
       for (List items : data) {
-        Map<String, Object> map = Maps.newHashMap();
-        for (int i = 0; i < names.size(); i++) {
-          Object value = items.get(i);
-          String name = names.get(i);
-          Property property = getProperty(name);
-          // in case of m2o, get the id,version,name tuple
-          if (property != null && property.isReference() && property.getTargetName() != null) {
-            value = getReferenceValue(items, i);
-            i += 3;
-          } else if (value instanceof Model) {
-            value = Resource.toMapCompact(value);
-          }
-          map.put(name, value);
-        }
-        if (collections.size() > 0) {
-          map.putAll(this.fetchCollections(items.get(0)));
-        }
-        result.add(map);
+        result.add(toMap(items));
       }
 
       return result;
     }
 
+    /**
+     * Fetch the matched records as {@link Stream} within the given range.
+     *
+     * <p>Unlike {@link #fetch(int, int)}, the records are fetched with a database cursor and
+     * converted as the stream is consumed.
+     *
+     * @param limit the limit
+     * @param offset the offset
+     * @return stream of matched records within the range
+     * @see Query#fetchStream(int, int)
+     */
+    @SuppressWarnings("all")
+    public Stream<Map> fetchStream(int limit, int offset) {
+      final org.hibernate.query.Query<List> q =
+          (org.hibernate.query.Query<List>) valuesQuery(limit, offset);
+      if (limit <= 0 || limit > DBHelper.getJdbcFetchSize()) {
+        q.setFetchSize(DBHelper.getJdbcFetchSize());
+      }
+      return q.stream().map(this::toMap);
+    }
+
+    @SuppressWarnings("all")
+    private Map toMap(List items) {
+      Map<String, Object> map = Maps.newHashMap();
+      for (int i = 0; i < names.size(); i++) {
+        Object value = items.get(i);
+        String name = names.get(i);
+        Property property = getProperty(name);
+        // in case of m2o, get the id,version,name tuple
+        if (property != null && property.isReference() && property.getTargetName() != null) {
+          value = getReferenceValue(items, i);
+          i += 3;
+        } else if (value instanceof Model) {
+          value = Resource.toMapCompact(value);
+        }
+        map.put(name, value);
+      }
+      if (collections.size() > 0) {
+        map.putAll(this.fetchCollections(items.get(0)));
+      }
+      return map;
+    }
+
     private Object getReferenceValue(List<?> items, int at) {
       if (items.get(at) == null && items.get(at + 1) == null) {
         return null;
@@ -919,6 +1198,22 @@ public class Query<T extends Model> {
     }
   }
 
+  /** The compiled result of a {@link Selector}, shared by the selectors of identical queries. */
+  private static class SelectorPlan {
+
+    private final List<String> names;
+    private final List<String> collections;
+    private final String query;
+    private final List<JoinPath> paths;
+
+    SelectorPlan(List<String> names, List<String> collections, String query, List<JoinPath> paths) {
+      this.names = Collections.unmodifiableList(names);
+      this.collections = Collections.unmodifiableList(collections);
+      this.query = query;
+      this.paths = paths;
+    }
+  }
+
   /**
    * JoinHelper class is used to auto generate <code>LEFT JOIN</code> for association expressions.
    *
@@ -944,15 +1239,30 @@ public class Query<T extends Model> {
 
     private Set<String> translationJoins = new HashSet<>();
 
+    private String translationLanguage;
+
     private Set<String> fetches = new HashSet<>();
 
     private boolean hasCollection;
 
+    // compiled paths applied to this helper, in order
+    private List<JoinPath> shape = new ArrayList<>();
+
     private static final Pattern selectPattern =
         Pattern.compile("^SELECT\\s+(COUNT\\s*\\()?", Pattern.CASE_INSENSITIVE);
 
     private static final Pattern pathPattern = Pattern.compile("self\\." + NAME_PATTERN);
 
+    private static final String TRANSLATION_LANGUAGE = "_translationLanguage";
+
+    // compiled path expressions by (model, name, fetch, translate)
+    private static final Cache<List<Object>, JoinPath> PATHS =
+        CacheBuilder.newBuilder().maximumSize(CACHE_SIZE * 2L).build();
+
+    // parsed filters by (model, filter, translate)
+    private static final Cache<List<Object>, ParsedFilter> PARSED =
+        CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+
     public JoinHelper(Class<?> beanClass) {
       this.beanClass = beanClass;
     }
@@ -968,23 +1278,28 @@ public class Query<T extends Model> {
      * @return the transformed filter expression
      */
     public String parse(String filter, boolean translate) {
+      final ParsedFilter parsed =
+          cached(PARSED, List.of(beanClass, filter, translate), () -> compile(filter, translate));
+      parsed.paths.forEach(this::apply);
+      return parsed.result;
+    }
 
-      String result = "";
-      Matcher matcher = pathPattern.matcher(filter);
+    private ParsedFilter compile(String filter, boolean translate) {
+      final StringBuilder result = new StringBuilder();
+      final List<JoinPath> paths = new ArrayList<>();
+      final Matcher matcher = pathPattern.matcher(filter);
 
       int last = 0;
       while (matcher.find()) {
-        MatchResult matchResult = matcher.toMatchResult();
-        String alias = joinName(matchResult.group(1), false, translate);
-        if (alias == null) {
-          alias = "self." + matchResult.group(1);
-        }
-        result += filter.substring(last, matchResult.start()) + alias;
-        last = matchResult.end();
+        final JoinPath path = resolve(matcher.group(1), false, translate);
+        final String alias = path.alias == null ? "self." + matcher.group(1) : path.alias;
+        result.append(filter, last, matcher.start()).append(alias);
+        paths.add(path);
+        last = matcher.end();
       }
-      if (last < filter.length()) result += filter.substring(last);
+      if (last < filter.length()) result.append(filter, last, filter.length());
 
-      return result;
+      return new ParsedFilter(result.toString(), paths);
     }
 
     /**
@@ -997,6 +1312,38 @@ public class Query<T extends Model> {
      * @return join variable if join is created else returns name
      */
     private String joinName(String name, boolean fetch, boolean translate) {
+      final JoinPath path = resolve(name, fetch, translate);
+      apply(path);
+      return path.alias;
+    }
+
+    private JoinPath resolve(String name, boolean fetch, boolean translate) {
+      return cached(
+          PATHS,
+          List.of(beanClass, name, fetch, translate),
+          () -> compile(name, fetch, translate));
+    }
+
+    private void apply(JoinPath path) {
+      if (path.collectionFetch != null && fetches.isEmpty()) {
+        fetches.add(path.collectionFetch);
+      }
+      path.joins.forEach(joins::putIfAbsent);
+      fetches.addAll(path.fetches);
+      if (path.collection) {
+        hasCollection = true;
+      }
+      if (path.translationJoin != null) {
+        if (translationLanguage == null) {
+          translationLanguage = I18n.getBundle().getLocale().getLanguage();
+        }
+        translationJoins.add(path.translationJoin);
+      }
+      shape.add(path);
+    }
+
+    private JoinPath compile(String name, boolean fetch, boolean translate) {
+      final JoinPath result = new JoinPath();
       Mapper mapper = Mapper.of(beanClass);
       String[] path = name.split("\\.");
       String prefix = null;
@@ -1018,7 +1365,7 @@ public class Query<T extends Model> {
           }
 
           if (property.isJson()) {
-            return JsonFunction.fromPath(name).toString();
+            return result.alias(JsonFunction.fromPath(name).toString());
           }
 
           if (prefix == null) {
@@ -1027,24 +1374,22 @@ public class Query<T extends Model> {
 
             // Use at least one join fetch on collection,
             // so that we still get unique results when not passing distinct to SQL
-            if (fetches.isEmpty() && property.isCollection()) {
-              fetches.add(joinOn);
+            if (property.isCollection()) {
+              result.collectionFetch = joinOn;
             }
           } else {
             joinOn = prefix + "." + item;
             prefix = prefix + "_" + item;
           }
-          if (!joins.containsKey(joinOn)) {
-            joins.put(joinOn, prefix);
-          }
+          result.joins.putIfAbsent(joinOn, prefix);
           if (fetch) {
-            fetches.add(joinOn);
+            result.fetches.add(joinOn);
           }
 
           if (property.getTarget() != null) {
             currentMapper = Mapper.of(property.getTarget());
             if (property.isCollection()) {
-              this.hasCollection = true;
+              result.collection = true;
             }
           }
 
@@ -1059,14 +1404,14 @@ public class Query<T extends Model> {
             if (property.isReference()) {
               joinOn = prefix + "." + variable;
               prefix = prefix + "_" + variable;
-              joins.put(joinOn, prefix);
+              result.joins.putIfAbsent(joinOn, prefix);
               if (fetch) {
-                fetches.add(joinOn);
+                result.fetches.add(joinOn);
               }
-              return prefix;
+              return result.alias(prefix);
             }
             if (translate && property.isTranslatable()) {
-              return translate(property, prefix);
+              return translate(result, property, prefix);
             }
           }
         }
@@ -1077,20 +1422,20 @@ public class Query<T extends Model> {
               String.format("No such field '%s' in object '%s'", variable, beanClass.getName()));
         }
         if (property.isCollection()) {
-          return null;
+          return result.alias(null);
         }
         if (property.getTarget() != null) {
           prefix = "_" + name;
           final String joinOn = "self." + name;
-          joins.put(joinOn, prefix);
+          result.joins.putIfAbsent(joinOn, prefix);
           if (fetch) {
-            fetches.add(joinOn);
+            result.fetches.add(joinOn);
           }
-          return prefix;
+          return result.alias(prefix);
         }
 
         if (translate && property.isTranslatable()) {
-          return translate(property, null);
+          return translate(result, property, null);
         }
       }
 
@@ -1098,25 +1443,36 @@ public class Query<T extends Model> {
         prefix = "self";
       }
 
-      return prefix + "." + variable;
+      return result.alias(prefix + "." + variable);
     }
 
-    private String translate(Property property, String prefix) {
+    private JoinPath translate(JoinPath result, Property property, String prefix) {
       String variable = property.getName();
-      String language = I18n.getBundle().getLocale().getLanguage();
       String joinName =
           prefix == null
               ? String.format("_meta_translation_%s", variable)
               : String.format("_meta_translation%s_%s", prefix, variable);
       String from = prefix == null ? "self" : prefix;
-      String join =
+
+      result.translationJoin =
           String.format(
-              "MetaTranslation %s ON %s.key = CONCAT('value:', %s.%s) AND %s.language = '%s'",
-              joinName, joinName, from, variable, joinName, language);
+              "MetaTranslation %s ON %s.valueKey = %s.%s AND %s.language = :%s",
+              joinName, joinName, from, variable, joinName, TRANSLATION_LANGUAGE);
 
-      translationJoins.add(join);
+      return result.alias(
+          String.format("COALESCE(NULLIF(%s.message, ''), %s.%s)", joinName, from, variable));
+    }
 
-      return String.format("COALESCE(NULLIF(%s.message, ''), %s.%s)", joinName, from, variable);
+    /**
+     * Bind the language of the translation joins, if any.
+     *
+     * @param binder the query binder
+     * @return the same binder
+     */
+    public QueryBinder bind(QueryBinder binder) {
+      return translationJoins.isEmpty()
+          ? binder
+          : binder.bind(TRANSLATION_LANGUAGE, translationLanguage);
     }
 
     public String joinName(String name) {
@@ -1145,4 +1501,35 @@ public class Query<T extends Model> {
       return joinItems.isEmpty() ? "" : " " + joinItems.stream().collect(Collectors.joining(" "));
     }
   }
+
+  /**
+   * The compiled result of a path expression: the join variable along with the joins to add to the
+   * query. It only depends on the model, so it's shared by all the queries using the same path.
+   */
+  private static class JoinPath {
+
+    private String alias;
+    private final Map<String, String> joins = new LinkedHashMap<>();
+    private final List<String> fetches = new ArrayList<>();
+    private String collectionFetch;
+    private boolean collection;
+    private String translationJoin;
+
+    private JoinPath alias(String alias) {
+      this.alias = alias;
+      return this;
+    }
+  }
+
+  /** The compiled result of a filter: the transformed filter and the paths it refers to. */
+  private static class ParsedFilter {
+
+    private final String result;
+    private final List<JoinPath> paths;
+
+    ParsedFilter(String result, List<JoinPath> paths) {
+      this.result = result;
+      this.paths = paths;
+    }
+  }
 }
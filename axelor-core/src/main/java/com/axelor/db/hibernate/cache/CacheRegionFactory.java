@@ -0,0 +1,119 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.db.hibernate.cache;
+
+import com.axelor.app.AppSettings;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.typesafe.config.ConfigFactory;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The JCache region factory that sizes the second-level cache regions from the application
+ * settings.
+ *
+ * <p>The maximum number of entries and the time to live (in seconds) of a region are configured
+ * with <code>cache.region.&lt;region&gt;.size</code> and <code>cache.region.&lt;region&gt;.ttl
+ * </code>, where the region is the entity name, the collection role, the natural id region (<code>
+ * &lt;entity&gt;##NaturalId</code>) or <code>default-query-results-region</code>. The <code>
+ * cache.region.default.*</code> settings apply to all other regions.
+ *
+ * <p>The <code>default-update-timestamps-region</code> is never sized nor expired, as the query
+ * cache would return stale results once the timestamps of a table are evicted.
+ *
+ * <p>The size is only supported with Caffeine, the default JCache provider. Regions configured in
+ * <code>application.conf</code> keep their configuration.
+ */
+public class CacheRegionFactory extends JCacheRegionFactory {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Logger log = LoggerFactory.getLogger(CacheRegionFactory.class);
+
+  private static final String SETTINGS_PREFIX = "cache.region.";
+
+  private static final String DEFAULT_REGION = "default";
+
+  private static final String SIZE = ".size";
+
+  private static final String TTL = ".ttl";
+
+  @Override
+  protected Cache<Object, Object> createCache(String regionName) {
+    final AppSettings settings = AppSettings.get();
+
+    // expired or evicted timestamps would make the query cache return stale results
+    if (regionName.endsWith(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)) {
+      if (settings.get(SETTINGS_PREFIX + regionName + SIZE) != null
+          || settings.get(SETTINGS_PREFIX + regionName + TTL) != null) {
+        log.warn("Cache region {} can't be sized or expired, settings ignored.", regionName);
+      }
+      return super.createCache(regionName);
+    }
+
+    final int size = getSetting(settings, regionName, SIZE);
+    final int ttl = getSetting(settings, regionName, TTL);
+
+    if (size < 0 && ttl < 0) {
+      return super.createCache(regionName);
+    }
+
+    log.debug("Cache region {}: size={}, ttl={}", regionName, size, ttl);
+
+    final CacheManager cacheManager = getCacheManager();
+    final MutableConfiguration<Object, Object> config;
+
+    if (cacheManager.getCachingProvider() instanceof CaffeineCachingProvider) {
+      final CaffeineConfiguration<Object, Object> caffeine =
+          TypesafeConfigurator.defaults(ConfigFactory.load(cacheManager.getClassLoader()));
+      if (size >= 0) {
+        caffeine.setMaximumSize(OptionalLong.of(size));
+      }
+      config = caffeine;
+    } else {
+      if (size >= 0) {
+        log.warn("Cache region size is only supported by Caffeine, ignored for: {}", regionName);
+      }
+      config = new MutableConfiguration<>();
+    }
+
+    if (ttl >= 0) {
+      config.setExpiryPolicyFactory(
+          CreatedExpiryPolicy.factoryOf(new Duration(TimeUnit.SECONDS, ttl)));
+    }
+
+    return cacheManager.createCache(regionName, config);
+  }
+
+  private static int getSetting(AppSettings settings, String regionName, String suffix) {
+    final int value = settings.getInt(SETTINGS_PREFIX + regionName + suffix, -1);
+    return value < 0 ? settings.getInt(SETTINGS_PREFIX + DEFAULT_REGION + suffix, -1) : value;
+  }
+}
@@ -29,7 +29,7 @@ import org.hibernate.dialect.MySQL57Dialect;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.type.StandardBasicTypes;
 
-public class AxelorMySQL57Dialect extends MySQL57Dialect {
+public class AxelorMySQL57Dialect extends MySQL57Dialect implements MySQLJsonIndexSupport {
 
   public AxelorMySQL57Dialect() {
     super();
@@ -29,7 +29,7 @@ import org.hibernate.dialect.MySQL8Dialect;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.type.StandardBasicTypes;
 
-public class AxelorMySQL8Dialect extends MySQL8Dialect {
+public class AxelorMySQL8Dialect extends MySQL8Dialect implements MySQLJsonIndexSupport {
 
   public AxelorMySQL8Dialect() {
     super();
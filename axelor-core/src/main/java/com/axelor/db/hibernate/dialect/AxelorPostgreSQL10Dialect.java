@@ -29,7 +29,8 @@ import org.hibernate.dialect.PostgreSQL10Dialect;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.type.StandardBasicTypes;
 
-public class AxelorPostgreSQL10Dialect extends PostgreSQL10Dialect {
+public class AxelorPostgreSQL10Dialect extends PostgreSQL10Dialect
+    implements PostgreSQLJsonIndexSupport {
 
   public AxelorPostgreSQL10Dialect() {
     super();
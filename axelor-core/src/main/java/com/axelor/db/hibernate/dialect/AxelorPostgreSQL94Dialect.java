@@ -29,7 +29,8 @@ import org.hibernate.dialect.PostgreSQL94Dialect;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.type.StandardBasicTypes;
 
-public class AxelorPostgreSQL94Dialect extends PostgreSQL94Dialect {
+public class AxelorPostgreSQL94Dialect extends PostgreSQL94Dialect
+    implements PostgreSQLJsonIndexSupport {
 
   public AxelorPostgreSQL94Dialect() {
     super();
@@ -29,7 +29,8 @@ import org.hibernate.dialect.PostgreSQL95Dialect;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.type.StandardBasicTypes;
 
-public class AxelorPostgreSQL95Dialect extends PostgreSQL95Dialect {
+public class AxelorPostgreSQL95Dialect extends PostgreSQL95Dialect
+    implements PostgreSQLJsonIndexSupport {
 
   public AxelorPostgreSQL95Dialect() {
     super();
@@ -0,0 +1,65 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.db.hibernate.dialect;
+
+import java.util.List;
+
+/**
+ * Dialects implementing this interface support database indexes on json field attributes.
+ *
+ * <p>Indexes are created on the very same expression the <code>json_extract_*</code> functions
+ * render, so that the queries filtering or sorting on the attributes can use them.
+ */
+public interface JsonIndexSupport {
+
+  /** The name prefix of the json indexes managed by the platform. */
+  String JSON_INDEX_PREFIX = "json_idx_";
+
+  /**
+   * Returns the SQL query listing the existing json indexes.
+   *
+   * <p>The query returns the index name, the table name and whether the index is valid, for the
+   * indexes of the current schema starting with {@link #JSON_INDEX_PREFIX}. An invalid index, left
+   * by a failed build, is dropped and created again.
+   *
+   * @return the SQL query
+   */
+  String getJsonIndexesQuery();
+
+  /**
+   * Returns the SQL commands to create a json index.
+   *
+   * @param name the index name
+   * @param table the table name
+   * @param expression the indexed expression
+   * @param type the json type of the expression (text, integer or decimal)
+   * @return the SQL commands, empty if the type can't be indexed
+   */
+  List<String> getCreateJsonIndexCommands(
+      String name, String table, String expression, String type);
+
+  /**
+   * Returns the SQL commands to drop a json index.
+   *
+   * @param name the index name
+   * @param table the table name
+   * @return the SQL commands
+   */
+  List<String> getDropJsonIndexCommands(String name, String table);
+}
@@ -0,0 +1,65 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.db.hibernate.dialect;
+
+import java.util.List;
+
+/**
+ * The {@link JsonIndexSupport} for MySQL using indexed virtual generated columns.
+ *
+ * <p>The optimizer uses the index of a generated column for the queries using the same expression
+ * as the column definition. Only numeric attributes are supported, as extracted text is of <code>
+ * LONGTEXT</code> type which can't be indexed.
+ */
+public interface MySQLJsonIndexSupport extends JsonIndexSupport {
+
+  @Override
+  default String getJsonIndexesQuery() {
+    return "SELECT DISTINCT column_name, table_name, TRUE FROM information_schema.columns"
+        + " WHERE table_schema = DATABASE()"
+        + " AND column_name LIKE '"
+        + JSON_INDEX_PREFIX.replace("_", "\\_")
+        + "%'";
+  }
+
+  @Override
+  default List<String> getCreateJsonIndexCommands(
+      String name, String table, String expression, String type) {
+    final String columnType;
+    switch (type) {
+      case "integer":
+        columnType = "bigint";
+        break;
+      case "decimal":
+        columnType = "decimal(64,4)";
+        break;
+      default:
+        return List.of();
+    }
+    return List.of(
+        String.format(
+            "ALTER TABLE %s ADD COLUMN %s %s AS (%s) VIRTUAL, ADD INDEX %s (%s)",
+            table, name, columnType, expression, name, name));
+  }
+
+  @Override
+  default List<String> getDropJsonIndexCommands(String name, String table) {
+    return List.of(String.format("ALTER TABLE %s DROP COLUMN %s", table, name));
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.db.hibernate.dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@link JsonIndexSupport} for PostgreSQL using expression indexes.
+ *
+ * <p>Text attributes also get a trigram index on the upper case expression to speed up the
+ * <code>LIKE</code> searches, provided the <code>pg_trgm</code> extension is installed.
+ */
+public interface PostgreSQLJsonIndexSupport extends JsonIndexSupport {
+
+  String TRIGRAM_SUFFIX = "_trgm";
+
+  @Override
+  default String getJsonIndexesQuery() {
+    // an index is invalid if its build failed, or the build of its trigram index
+    return "SELECT i.relname, t.relname, x.indisvalid AND NOT EXISTS ("
+        + "SELECT 1 FROM pg_class gi JOIN pg_index gx ON gx.indexrelid = gi.oid"
+        + " WHERE gi.relnamespace = i.relnamespace"
+        + " AND gi.relname = i.relname || '"
+        + TRIGRAM_SUFFIX
+        + "' AND NOT gx.indisvalid)"
+        + " FROM pg_index x"
+        + " JOIN pg_class i ON i.oid = x.indexrelid"
+        + " JOIN pg_class t ON t.oid = x.indrelid"
+        + " JOIN pg_namespace n ON n.oid = i.relnamespace"
+        + " WHERE n.nspname = current_schema()"
+        + " AND i.relname LIKE '"
+        + JSON_INDEX_PREFIX.replace("_", "\\_")
+        + "%' AND i.relname NOT LIKE '%"
+        + TRIGRAM_SUFFIX.replace("_", "\\_")
+        + "'";
+  }
+
+  @Override
+  default List<String> getCreateJsonIndexCommands(
+      String name, String table, String expression, String type) {
+    final List<String> commands = new ArrayList<>();
+    commands.add(
+        String.format("CREATE INDEX CONCURRENTLY %s ON %s ((%s))", name, table, expression));
+    if ("text".equals(type)) {
+      commands.add(
+          String.format(
+              "CREATE INDEX CONCURRENTLY %s%s ON %s USING gin ((UPPER(%s)) gin_trgm_ops)",
+              name, TRIGRAM_SUFFIX, table, expression));
+    }
+    return commands;
+  }
+
+  @Override
+  default List<String> getDropJsonIndexCommands(String name, String table) {
+    return List.of(
+        String.format("DROP INDEX CONCURRENTLY IF EXISTS %s", name),
+        String.format("DROP INDEX CONCURRENTLY IF EXISTS %s%s", name, TRIGRAM_SUFFIX));
+  }
+}
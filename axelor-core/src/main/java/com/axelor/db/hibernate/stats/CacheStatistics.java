@@ -0,0 +1,203 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.db.hibernate.stats;
+
+import com.axelor.db.JPA;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the Hibernate statistics of the second-level cache, the query cache and the natural id
+ * cache, per region.
+ *
+ * <p>The counters are only maintained with <code>hibernate.generate_statistics = true</code>. The
+ * report also lists the entities that are read-mostly but not cacheable, which are good candidates
+ * for <code>cacheable="true"</code> in their domain definition.
+ */
+public final class CacheStatistics {
+
+  private static final Logger log = LoggerFactory.getLogger(CacheStatistics.class);
+
+  /** Minimum number of loads for an entity to be reported. */
+  private static final long MIN_READS = 100;
+
+  /** Maximum number of writes per 100 loads for an entity to be reported. */
+  private static final long MAX_WRITES_PERCENT = 5;
+
+  private CacheStatistics() {}
+
+  private static SessionFactoryImplementor getSessionFactory() {
+    return JPA.em().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+  }
+
+  /**
+   * Returns the cache statistics.
+   *
+   * @return the statistics of the second-level cache, query cache and natural id cache regions
+   */
+  public static Map<String, Object> get() {
+    final SessionFactoryImplementor factory = getSessionFactory();
+    final Statistics stats = factory.getStatistics();
+    final Map<String, Object> report = new LinkedHashMap<>();
+
+    report.put("enabled", stats.isStatisticsEnabled());
+    report.put(
+        "secondLevelCache",
+        counters(
+            stats.getSecondLevelCacheHitCount(),
+            stats.getSecondLevelCacheMissCount(),
+            stats.getSecondLevelCachePutCount()));
+    report.put(
+        "queryCache",
+        counters(
+            stats.getQueryCacheHitCount(),
+            stats.getQueryCacheMissCount(),
+            stats.getQueryCachePutCount()));
+    report.put(
+        "naturalIdCache",
+        counters(
+            stats.getNaturalIdCacheHitCount(),
+            stats.getNaturalIdCacheMissCount(),
+            stats.getNaturalIdCachePutCount()));
+
+    report.put(
+        "regions",
+        Arrays.stream(stats.getSecondLevelCacheRegionNames())
+            .sorted()
+            .map(stats::getCacheRegionStatistics)
+            .filter(Objects::nonNull)
+            .map(CacheStatistics::region)
+            .collect(Collectors.toList()));
+
+    final MetamodelImplementor metamodel = factory.getMetamodel();
+    final List<Map<String, Object>> naturalIds = new ArrayList<>();
+    for (String name : stats.getEntityNames()) {
+      final EntityPersister persister = metamodel.entityPersister(name);
+      if (persister.hasNaturalIdentifier() && persister.hasNaturalIdCache()) {
+        naturalIds.add(naturalId(name, stats.getNaturalIdStatistics(name)));
+      }
+    }
+    report.put("naturalIds", naturalIds);
+    report.put("candidates", getCandidates());
+
+    return report;
+  }
+
+  /**
+   * Returns the entities that are read-mostly but not cacheable.
+   *
+   * @return the entity name with the number of reads and writes, most read first
+   */
+  public static List<Map<String, Object>> getCandidates() {
+    final SessionFactoryImplementor factory = getSessionFactory();
+    final Statistics stats = factory.getStatistics();
+    final MetamodelImplementor metamodel = factory.getMetamodel();
+    final List<Map<String, Object>> candidates = new ArrayList<>();
+
+    if (!stats.isStatisticsEnabled()) {
+      return candidates;
+    }
+
+    for (String name : stats.getEntityNames()) {
+      if (metamodel.entityPersister(name).canReadFromCache()) {
+        continue;
+      }
+      final EntityStatistics entity = stats.getEntityStatistics(name);
+      final long reads = entity.getLoadCount() + entity.getFetchCount();
+      final long writes =
+          entity.getInsertCount() + entity.getUpdateCount() + entity.getDeleteCount();
+      if (reads >= MIN_READS && writes * 100 <= reads * MAX_WRITES_PERCENT) {
+        final Map<String, Object> candidate = new LinkedHashMap<>();
+        candidate.put("entity", name);
+        candidate.put("reads", reads);
+        candidate.put("writes", writes);
+        candidates.add(candidate);
+      }
+    }
+
+    candidates.sort((a, b) -> Long.compare((long) b.get("reads"), (long) a.get("reads")));
+    return candidates;
+  }
+
+  /** Logs the entities that are read-mostly but not cacheable. */
+  public static void logCandidates() {
+    final List<Map<String, Object>> candidates;
+    try {
+      candidates = getCandidates();
+    } catch (Exception e) {
+      // persistence service not available
+      return;
+    }
+    for (Map<String, Object> candidate : candidates) {
+      log.info(
+          "Read-mostly entity is not cacheable: {} ({} reads, {} writes)",
+          candidate.get("entity"),
+          candidate.get("reads"),
+          candidate.get("writes"));
+    }
+  }
+
+  private static Map<String, Object> counters(long hits, long misses, long puts) {
+    final Map<String, Object> counters = new LinkedHashMap<>();
+    counters.put("hits", hits);
+    counters.put("misses", misses);
+    counters.put("puts", puts);
+    counters.put("hitRatio", ratio(hits, misses));
+    return counters;
+  }
+
+  private static Map<String, Object> region(CacheRegionStatistics stats) {
+    final Map<String, Object> region = new LinkedHashMap<>();
+    region.put("region", stats.getRegionName());
+    region.putAll(counters(stats.getHitCount(), stats.getMissCount(), stats.getPutCount()));
+    region.put("size", stats.getElementCountInMemory());
+    region.put("memory", stats.getSizeInMemory());
+    return region;
+  }
+
+  private static Map<String, Object> naturalId(String entity, NaturalIdStatistics stats) {
+    final Map<String, Object> naturalId = new LinkedHashMap<>();
+    naturalId.put("entity", entity);
+    naturalId.put("region", stats.getCacheRegionName());
+    naturalId.putAll(
+        counters(stats.getCacheHitCount(), stats.getCacheMissCount(), stats.getCachePutCount()));
+    naturalId.put("queries", stats.getExecutionCount());
+    naturalId.put("queryAvgTime", stats.getExecutionAvgTime());
+    return naturalId;
+  }
+
+  private static double ratio(long hits, long misses) {
+    final long total = hits + misses;
+    return total == 0 ? 0 : (double) hits / total;
+  }
+}
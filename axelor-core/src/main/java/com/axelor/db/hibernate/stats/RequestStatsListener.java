@@ -0,0 +1,111 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.db.hibernate.stats;
+
+import com.axelor.common.StringUtils;
+import com.axelor.meta.ActionTrace;
+import com.axelor.rpc.RequestStats;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Feeds the {@link RequestStats} of the current request with the SQL statements executed and the
+ * second-level cache lookups done by Hibernate sessions, and the {@link ActionTrace} of the
+ * current action with the SQL statements executed.
+ *
+ * <p>As statement inspector, it delegates to the inspector configured with <code>
+ * hibernate.session_factory.statement_inspector</code>, if any.
+ */
+public class RequestStatsListener extends BaseSessionEventListener implements StatementInspector {
+
+  private static final long serialVersionUID = 1L;
+
+  private final StatementInspector delegate;
+
+  public RequestStatsListener() {
+    this(null);
+  }
+
+  public RequestStatsListener(StatementInspector delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Creates the statement inspector from the given setting value.
+   *
+   * @param value the inspector instance, class or class name
+   * @return the statement inspector, or null if not set
+   * @throws IllegalArgumentException if the value is not a valid statement inspector
+   */
+  public static StatementInspector toInspector(Object value) {
+    if (value == null || value instanceof StatementInspector) {
+      return (StatementInspector) value;
+    }
+    try {
+      if (value instanceof Class) {
+        return (StatementInspector) ((Class<?>) value).getDeclaredConstructor().newInstance();
+      }
+      final String name = value.toString().trim();
+      if (StringUtils.isBlank(name)) {
+        return null;
+      }
+      return (StatementInspector)
+          Class.forName(name, true, Thread.currentThread().getContextClassLoader())
+              .getDeclaredConstructor()
+              .newInstance();
+    } catch (ReflectiveOperationException | ClassCastException e) {
+      throw new IllegalArgumentException("Invalid statement inspector: " + value, e);
+    }
+  }
+
+  @Override
+  public String inspect(String sql) {
+    final String inspected = delegate == null ? null : delegate.inspect(sql);
+    final String result = inspected == null ? sql : inspected;
+    RequestStats.onStatementPrepared(result);
+    return result;
+  }
+
+  @Override
+  public void jdbcExecuteStatementStart() {
+    RequestStats.onStatementStart();
+  }
+
+  @Override
+  public void jdbcExecuteStatementEnd() {
+    RequestStats.onStatementEnd();
+    ActionTrace.onStatementEnd();
+  }
+
+  @Override
+  public void jdbcExecuteBatchStart() {
+    RequestStats.onStatementStart();
+  }
+
+  @Override
+  public void jdbcExecuteBatchEnd() {
+    RequestStats.onStatementEnd();
+    ActionTrace.onStatementEnd();
+  }
+
+  @Override
+  public void cacheGetEnd(boolean hit) {
+    RequestStats.onCacheGet(hit);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.db.search;
+
+import com.axelor.common.StringUtils;
+import com.axelor.db.JPA;
+import com.axelor.inject.Beans;
+import com.google.common.primitives.Ints;
+import java.util.ArrayList;
+import java.util.List;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Job to build search indexes.
+ *
+ * <p>The following job parameters are supported:
+ *
+ * <ul>
+ *   <li><code>entities</code> - comma separated names of the entities to index, all the indexed
+ *       entities if not given
+ *   <li><code>incremental</code> - if <code>true</code>, only index records created or updated
+ *       since the last indexing, else re-create the indexes
+ *   <li><code>threads</code> - number of threads loading entities
+ *   <li><code>batch-size</code> - number of entities loaded per query
+ * </ul>
+ */
+@DisallowConcurrentExecution
+public class SearchIndexJob implements Job {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndexJob.class);
+
+  public static final String PARAM_ENTITIES = "entities";
+  public static final String PARAM_INCREMENTAL = "incremental";
+  public static final String PARAM_THREADS = "threads";
+  public static final String PARAM_BATCH_SIZE = "batch-size";
+
+  @Override
+  public void execute(JobExecutionContext context) throws JobExecutionException {
+    final SearchService service = Beans.get(SearchService.class);
+    if (!service.isEnabled()) {
+      LOGGER.warn("Full-text search is not enabled.");
+      return;
+    }
+
+    final JobDataMap data = context.getMergedJobDataMap();
+    final List<Class<?>> types = findTypes(data.getString(PARAM_ENTITIES));
+    final int threads = getInt(data, PARAM_THREADS, service.getThreads());
+    final int batchSize = getInt(data, PARAM_BATCH_SIZE, service.getBatchSize());
+
+    try {
+      if (Boolean.parseBoolean(data.getString(PARAM_INCREMENTAL))) {
+        service.updateIndex(types, batchSize);
+      } else {
+        service.createIndex(types, threads, batchSize);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      throw new JobExecutionException(e);
+    }
+  }
+
+  private List<Class<?>> findTypes(String entities) throws JobExecutionException {
+    final List<Class<?>> types = new ArrayList<>();
+    if (StringUtils.isBlank(entities)) {
+      return types;
+    }
+    for (String name : entities.trim().split("\\s*,\\s*")) {
+      final Class<?> type = JPA.model(name);
+      if (type == null) {
+        throw new JobExecutionException("No such entity: " + name);
+      }
+      types.add(type);
+    }
+    return types;
+  }
+
+  private int getInt(JobDataMap data, String key, int defaultValue) {
+    final String value = data.getString(key);
+    final Integer number = StringUtils.isBlank(value) ? null : Ints.tryParse(value.trim());
+    return number == null ? defaultValue : number;
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.db.search;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Keeps track of the progress of a search indexing run and logs it periodically. */
+public class SearchIndexProgress implements MassIndexerProgressMonitor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndexProgress.class);
+
+  private static final int LOG_INTERVAL = 10000;
+
+  private final AtomicLong total = new AtomicLong();
+  private final AtomicLong loaded = new AtomicLong();
+  private final AtomicLong indexed = new AtomicLong();
+
+  private final long startTime = System.currentTimeMillis();
+
+  private volatile long endTime;
+
+  @Override
+  public void addToTotalCount(long count) {
+    total.addAndGet(count);
+  }
+
+  @Override
+  public void entitiesLoaded(int size) {
+    loaded.addAndGet(size);
+  }
+
+  @Override
+  public void documentsBuilt(int number) {
+    // nothing to track, documents are counted once added
+  }
+
+  @Override
+  public void documentsAdded(long increment) {
+    final long previous = indexed.getAndAdd(increment);
+    if (previous / LOG_INTERVAL != (previous + increment) / LOG_INTERVAL) {
+      LOGGER.info("Indexed {} of {} documents...", previous + increment, total.get());
+    }
+  }
+
+  @Override
+  public void indexingCompleted() {
+    endTime = System.currentTimeMillis();
+    LOGGER.info("Indexed {} documents in {} ms.", indexed.get(), endTime - startTime);
+  }
+
+  /** The total number of documents to index, as far as known. */
+  public long getTotal() {
+    return total.get();
+  }
+
+  /** The number of entities loaded from the database. */
+  public long getLoaded() {
+    return loaded.get();
+  }
+
+  /** The number of documents written to the indexes. */
+  public long getIndexed() {
+    return indexed.get();
+  }
+
+  /** Whether indexing is completed. */
+  public boolean isCompleted() {
+    return endTime > 0;
+  }
+
+  /** The elapsed indexing time in milliseconds. */
+  public long getElapsedTime() {
+    return (isCompleted() ? endTime : System.currentTimeMillis()) - startTime;
+  }
+}
@@ -22,18 +22,57 @@ import com.axelor.auth.db.User;
 import com.axelor.dms.db.DMSFile;
 import com.axelor.meta.db.MetaFile;
 import java.lang.annotation.ElementType;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.ngram.NGramFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
 import org.hibernate.search.annotations.Factory;
 import org.hibernate.search.annotations.Store;
+import org.hibernate.search.cfg.EntityMapping;
 import org.hibernate.search.cfg.SearchMapping;
 
 /** The factory to configure indexed entities programmatically. */
 public final class SearchMappingFactory {
 
+  /** The analyzer indexing the n-grams of lower cased words. */
+  public static final String NGRAM_ANALYZER = "axelor_ngram";
+
+  /** The suffix of the n-gram companion fields, see {@link #ngramField(EntityMapping, String)}. */
+  public static final String NGRAM_FIELD_SUFFIX = "_ngram";
+
+  static final int NGRAM_MIN_SIZE = 3;
+  static final int NGRAM_MAX_SIZE = 20;
+
+  /**
+   * Adds a n-gram analyzed companion field to the given property.
+   *
+   * <p>Substring search on such property is done with a term lookup on the companion field instead
+   * of a leading wildcard query scanning all the indexed terms.
+   *
+   * @param entity the entity mapping
+   * @param property the indexed property name
+   * @return the entity mapping
+   */
+  public static EntityMapping ngramField(EntityMapping entity, String property) {
+    entity
+        .property(property, ElementType.FIELD)
+        .field()
+        .name(property + NGRAM_FIELD_SUFFIX)
+        .analyzer(NGRAM_ANALYZER);
+    return entity;
+  }
+
   @Factory
   public SearchMapping get() {
 
     final SearchMapping mapping = new SearchMapping();
 
+    mapping
+        .analyzerDef(NGRAM_ANALYZER, StandardTokenizerFactory.class)
+        .filter(LowerCaseFilterFactory.class)
+        .filter(NGramFilterFactory.class)
+        .param("minGramSize", String.valueOf(NGRAM_MIN_SIZE))
+        .param("maxGramSize", String.valueOf(NGRAM_MAX_SIZE));
+
     mapping
         .entity(User.class)
         .indexed()
@@ -77,6 +116,9 @@ public final class SearchMappingFactory {
         .property("content", ElementType.FIELD)
         .field();
 
+    ngramField(mapping.entity(User.class), "name");
+    ngramField(mapping.entity(DMSFile.class), "fileName");
+
     // get more mappings
     SearchSupport.get().contribute(mapping);
 
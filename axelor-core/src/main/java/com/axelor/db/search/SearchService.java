@@ -18,31 +18,60 @@
  */
 package com.axelor.db.search;
 
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.auth.db.AuditableModel;
 import com.axelor.auth.db.User;
+import com.axelor.db.JPA;
 import com.axelor.db.JpaSecurity;
 import com.axelor.db.Model;
 import com.axelor.db.mapper.Mapper;
 import com.axelor.db.mapper.Property;
+import com.axelor.db.tenants.TenantAware;
 import com.axelor.dms.db.DMSFile;
 import com.axelor.meta.db.MetaFile;
 import com.axelor.rpc.filter.Filter;
 import com.axelor.rpc.filter.JPQLFilter;
 import com.google.inject.persist.Transactional;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
+import org.hibernate.search.SearchFactory;
 import org.hibernate.search.jpa.FullTextEntityManager;
 import org.hibernate.search.jpa.Search;
+import org.hibernate.search.metadata.FieldDescriptor;
+import org.hibernate.search.metadata.IndexedTypeDescriptor;
 import org.hibernate.search.query.dsl.QueryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,8 +82,18 @@ public class SearchService {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SearchService.class);
 
+  // single word, as tokenized by the n-gram analyzer
+  private static final Pattern NGRAM_TEXT_PATTERN = Pattern.compile("[\\p{L}\\p{N}]+");
+
+  private static final int DEFAULT_THREADS = 6;
+  private static final int DEFAULT_BATCH_SIZE = 10;
+
+  private static final String INDEXED_FILE = "indexed.properties";
+
   private boolean enabled;
 
+  private volatile SearchIndexProgress progress;
+
   @Inject private Provider<EntityManager> emp;
 
   @Inject private Provider<JpaSecurity> security;
@@ -89,10 +128,279 @@ public class SearchService {
     final Query query = builder.keyword().wildcard().onField("code").matching("*").createQuery();
     if (!force
         & ftem.createFullTextQuery(query, User.class).setMaxResults(1).getResultList().size() > 0) {
+      final List<Class<?>> outdated = findOutdatedTypes(ftem.getSearchFactory());
+      if (!outdated.isEmpty()) {
+        LOGGER.info("Search mapping changed, re-creating indexes of: {}", outdated);
+        createIndex(outdated);
+      }
       return;
     }
     LOGGER.info("Initializing search indexes....");
-    ftem.createIndexer().startAndWait();
+    createIndex(new ArrayList<>());
+  }
+
+  /**
+   * Finds the indexed types having n-gram fields not yet filled in their existing index, as the
+   * indexes are not rebuilt when the mapping changes.
+   */
+  private List<Class<?>> findOutdatedTypes(SearchFactory factory) {
+    final List<Class<?>> outdated = new ArrayList<>();
+    for (Class<?> type : factory.getIndexedTypes()) {
+      final IndexedTypeDescriptor descriptor = factory.getIndexedTypeDescriptor(type);
+      try (IndexReader reader = factory.getIndexReaderAccessor().open(type)) {
+        for (FieldDescriptor field : descriptor.getIndexedFields()) {
+          final String name = field.getName();
+          if (name.endsWith(SearchMappingFactory.NGRAM_FIELD_SUFFIX)
+              && !hasTerms(reader, name)
+              && hasTerms(
+                  reader,
+                  name.substring(
+                      0, name.length() - SearchMappingFactory.NGRAM_FIELD_SUFFIX.length()))) {
+            outdated.add(type);
+            break;
+          }
+        }
+      } catch (IOException e) {
+        LOGGER.warn("Unable to read search index of {}: {}", type.getName(), e.getMessage());
+      }
+    }
+    return outdated;
+  }
+
+  private static boolean hasTerms(IndexReader reader, String field) throws IOException {
+    return MultiFields.getTerms(reader, field) != null;
+  }
+
+  /**
+   * Initialize search indexes in background, see {@link #createIndex(boolean)}.
+   *
+   * @param force if true, indexes will be re-created.
+   */
+  public void createIndexAsync(boolean force) {
+    final Thread thread =
+        new TenantAware(
+            () -> {
+              try {
+                createIndex(force);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              } catch (Exception e) {
+                LOGGER.error("Unable to initialize search indexes", e);
+              }
+            });
+    thread.setName("search-indexer");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Re-create search indexes of the given entity types, using the configured number of threads and
+   * batch size.
+   *
+   * @param types the entity types to index, all the indexed types if empty
+   * @throws InterruptedException
+   */
+  public void createIndex(Collection<Class<?>> types) throws InterruptedException {
+    createIndex(types, getThreads(), getBatchSize());
+  }
+
+  int getThreads() {
+    return AppSettings.get().getInt(AvailableAppSettings.SEARCH_INDEX_THREADS, DEFAULT_THREADS);
+  }
+
+  int getBatchSize() {
+    return AppSettings.get()
+        .getInt(AvailableAppSettings.SEARCH_INDEX_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Re-create search indexes of the given entity types.
+   *
+   * @param types the entity types to index, all the indexed types if empty
+   * @param threads number of threads loading entities
+   * @param batchSize number of entities loaded per query
+   * @throws InterruptedException
+   */
+  public void createIndex(Collection<Class<?>> types, int threads, int batchSize)
+      throws InterruptedException {
+    final FullTextEntityManager ftem = getFullTextEntityManager();
+    final Set<Class<?>> indexed = findIndexedTypes(types);
+    final LocalDateTime startTime = LocalDateTime.now();
+    final SearchIndexProgress monitor = new SearchIndexProgress();
+
+    progress = monitor;
+    ftem.createIndexer(indexed.toArray(new Class<?>[] {}))
+        .threadsToLoadObjects(threads)
+        .batchSizeToLoadObjects(batchSize)
+        .progressMonitor(monitor)
+        .startAndWait();
+
+    saveIndexedOn(indexed, startTime);
+  }
+
+  /**
+   * Update search indexes of the given entity types with the records created or updated since they
+   * were last indexed.
+   *
+   * <p>Types never indexed with this service are fully re-indexed. Only auditable entities can be
+   * updated incrementally, other types are skipped. Removed records are not detected.
+   *
+   * @param types the entity types to index, all the indexed types if empty
+   * @param batchSize number of entities loaded per query
+   * @return number of records indexed
+   * @throws InterruptedException
+   */
+  public long updateIndex(Collection<Class<?>> types, int batchSize) throws InterruptedException {
+    final Set<Class<?>> indexed = findIndexedTypes(types);
+    final Properties indexedOn = loadIndexedOn();
+    final List<Class<?>> missing = new ArrayList<>();
+    final SearchIndexProgress monitor = new SearchIndexProgress();
+
+    progress = monitor;
+
+    long count = 0;
+    for (Class<?> type : indexed) {
+      final String since = indexedOn.getProperty(type.getName());
+      if (since == null) {
+        missing.add(type);
+      } else if (AuditableModel.class.isAssignableFrom(type)) {
+        final LocalDateTime startTime = LocalDateTime.now();
+        count +=
+            updateIndex(
+                type.asSubclass(AuditableModel.class),
+                toLocalDateTime(Long.parseLong(since)),
+                batchSize,
+                monitor);
+        indexedOn.setProperty(type.getName(), String.valueOf(toMillis(startTime)));
+      }
+    }
+
+    monitor.indexingCompleted();
+    saveIndexedOn(indexedOn);
+
+    if (!missing.isEmpty()) {
+      LOGGER.info("No previous indexing found, re-creating indexes of: {}", missing);
+      createIndex(missing);
+    }
+
+    return count;
+  }
+
+  private long updateIndex(
+      Class<? extends AuditableModel> type,
+      LocalDateTime since,
+      int batchSize,
+      SearchIndexProgress monitor) {
+    final FullTextEntityManager ftem = getFullTextEntityManager();
+    final String query =
+        "SELECT self FROM "
+            + type.getName()
+            + " self WHERE self.id > :lastId "
+            + "AND (self.updatedOn >= :since OR self.createdOn >= :since) "
+            + "ORDER BY self.id";
+
+    LOGGER.info("Updating search index of {} since {}...", type.getName(), since);
+
+    long count = 0;
+    long lastId = 0;
+    while (true) {
+      final long after = lastId;
+      final List<? extends AuditableModel> items =
+          JPA.withTransaction(
+              () -> {
+                final List<? extends AuditableModel> found =
+                    ftem.createQuery(query, type)
+                        .setParameter("lastId", after)
+                        .setParameter("since", since)
+                        .setMaxResults(batchSize)
+                        .getResultList();
+                found.forEach(ftem::index);
+                ftem.flushToIndexes();
+                return found;
+              });
+      ftem.clear();
+
+      if (items.isEmpty()) {
+        return count;
+      }
+
+      count += items.size();
+      lastId = items.get(items.size() - 1).getId();
+      monitor.documentsAdded(items.size());
+    }
+  }
+
+  /**
+   * Returns the progress of the running, or last run, indexing.
+   *
+   * @return the indexing progress, null if no indexing was run
+   */
+  public SearchIndexProgress getProgress() {
+    return progress;
+  }
+
+  private Set<Class<?>> findIndexedTypes(Collection<Class<?>> types) {
+    final Set<Class<?>> indexed = getFullTextEntityManager().getSearchFactory().getIndexedTypes();
+    if (types == null || types.isEmpty()) {
+      return indexed;
+    }
+    final Set<Class<?>> found = new LinkedHashSet<>();
+    for (Class<?> type : types) {
+      if (indexed.contains(type)) {
+        found.add(type);
+      } else {
+        LOGGER.warn("Not an indexed entity: {}", type.getName());
+      }
+    }
+    return found;
+  }
+
+  private Path getIndexedOnPath() {
+    return Paths.get(
+        AppSettings.get()
+            .getPath(
+                AvailableAppSettings.HIBERNATE_SEARCH_DEFAULT_INDEX_BASE,
+                SearchModule.DEFAULT_INDEX_BASE),
+        INDEXED_FILE);
+  }
+
+  private synchronized Properties loadIndexedOn() {
+    final Properties indexedOn = new Properties();
+    final Path path = getIndexedOnPath();
+    if (Files.exists(path)) {
+      try (InputStream is = Files.newInputStream(path)) {
+        indexedOn.load(is);
+      } catch (IOException e) {
+        LOGGER.warn("Unable to read {}: {}", path, e.getMessage());
+      }
+    }
+    return indexedOn;
+  }
+
+  private synchronized void saveIndexedOn(Properties indexedOn) {
+    final Path path = getIndexedOnPath();
+    try {
+      Files.createDirectories(path.getParent());
+      try (OutputStream os = Files.newOutputStream(path)) {
+        indexedOn.store(os, null);
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Unable to write {}: {}", path, e.getMessage());
+    }
+  }
+
+  private synchronized void saveIndexedOn(Collection<Class<?>> types, LocalDateTime time) {
+    final Properties indexedOn = loadIndexedOn();
+    types.forEach(type -> indexedOn.setProperty(type.getName(), String.valueOf(toMillis(time))));
+    saveIndexedOn(indexedOn);
+  }
+
+  private static long toMillis(LocalDateTime time) {
+    return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  private static LocalDateTime toLocalDateTime(long millis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
   }
 
   /**
@@ -152,20 +460,34 @@ public class SearchService {
       return all;
     }
 
-    final org.apache.lucene.search.Query query =
-        builder
-            .keyword()
-            .wildcard()
-            .onFields(names.toArray(new String[] {}))
-            .ignoreFieldBridge()
-            .matching("*" + searchText + "*")
-            .createQuery();
-
-    LOGGER.debug("Searching {} for {}", entityType.getName(), query);
-
     // find documents in batches and filter them according to security
     // filter
     try (IndexReader reader = em.getSearchFactory().getIndexReaderAccessor().open(entityType)) {
+
+      // n-gram fields are only used once filled, the index may predate them
+      final Set<String> ngramNames = new HashSet<>();
+      for (String name : names) {
+        if (hasTerms(reader, name + SearchMappingFactory.NGRAM_FIELD_SUFFIX)) {
+          ngramNames.add(name);
+        }
+      }
+
+      final Query query =
+          createSearchQuery(
+              names,
+              ngramNames,
+              searchText,
+              fields ->
+                  builder
+                      .keyword()
+                      .wildcard()
+                      .onFields(fields)
+                      .ignoreFieldBridge()
+                      .matching("*" + searchText + "*")
+                      .createQuery());
+
+      LOGGER.debug("Searching {} for {}", entityType.getName(), query);
+
       IndexSearcher searcher = new IndexSearcher(reader);
       ScoreDoc after = null;
       int topCount = limit;
@@ -204,4 +526,49 @@ public class SearchService {
       }
     }
   }
+
+  /**
+   * Creates the substring search query on the given fields.
+   *
+   * <p>Fields having a filled n-gram companion field are searched with a term lookup when the
+   * search text is a single word of supported length, others fallback to a wildcard query.
+   *
+   * @param names the fields to search
+   * @param ngramNames the fields having a filled n-gram companion field
+   * @param searchText the search text
+   * @param wildcard creates the wildcard query on the given fields
+   * @return the search query
+   */
+  static Query createSearchQuery(
+      List<String> names,
+      Set<String> ngramNames,
+      String searchText,
+      Function<String[], Query> wildcard) {
+    final boolean ngramText =
+        searchText.length() >= SearchMappingFactory.NGRAM_MIN_SIZE
+            && searchText.length() <= SearchMappingFactory.NGRAM_MAX_SIZE
+            && NGRAM_TEXT_PATTERN.matcher(searchText).matches();
+
+    final BooleanQuery.Builder query = new BooleanQuery.Builder();
+    final List<String> wildcardNames = new ArrayList<>();
+
+    for (String name : names) {
+      if (ngramText && ngramNames.contains(name)) {
+        query.add(
+            new TermQuery(
+                new Term(
+                    name + SearchMappingFactory.NGRAM_FIELD_SUFFIX,
+                    searchText.toLowerCase(Locale.ROOT))),
+            Occur.SHOULD);
+      } else {
+        wildcardNames.add(name);
+      }
+    }
+
+    if (!wildcardNames.isEmpty()) {
+      query.add(wildcard.apply(wildcardNames.toArray(new String[] {})), Occur.SHOULD);
+    }
+
+    return query.build();
+  }
 }
@@ -19,6 +19,7 @@
 package com.axelor.db.tenants;
 
 import com.axelor.db.JPA;
+import java.util.concurrent.Callable;
 
 public class TenantAware extends Thread {
 
@@ -55,4 +56,31 @@ public class TenantAware extends Thread {
       TenantResolver.CURRENT_HOST.set(currentHost);
     }
   }
+
+  /**
+   * Binds the tenant of the calling thread to the given job, so that the job uses the same tenant
+   * when run by another thread.
+   *
+   * <p>Unlike {@link #run()}, the job is not wrapped in a transaction.
+   *
+   * @param <T> type of the result
+   * @param job the job to bind
+   * @return the bound job
+   */
+  public static <T> Callable<T> bind(Callable<T> job) {
+    final String tenantId = TenantResolver.currentTenantIdentifier();
+    final String tenantHost = TenantResolver.currentTenantHost();
+    return () -> {
+      final String currentId = TenantResolver.CURRENT_TENANT.get();
+      final String currentHost = TenantResolver.CURRENT_HOST.get();
+      TenantResolver.CURRENT_TENANT.set(tenantId);
+      TenantResolver.CURRENT_HOST.set(tenantHost);
+      try {
+        return job.call();
+      } finally {
+        TenantResolver.CURRENT_TENANT.set(currentId);
+        TenantResolver.CURRENT_HOST.set(currentHost);
+      }
+    };
+  }
 }
@@ -18,6 +18,7 @@
  */
 package com.axelor.i18n;
 
+import com.axelor.cache.CacheBus;
 import com.axelor.common.StringUtils;
 import com.axelor.db.JPA;
 import com.axelor.db.Query;
@@ -33,6 +34,13 @@ import java.util.concurrent.ConcurrentHashMap;
 /** The database backed {@link ResourceBundle} that loads translations from the axelor database. */
 public class I18nBundle extends ResourceBundle {
 
+  /** The {@link CacheBus} topic of the translations. */
+  public static final String CACHE = "i18n";
+
+  static {
+    CacheBus.subscribe(CACHE, key -> ResourceBundle.clearCache());
+  }
+
   private final Locale locale;
   private final Map<String, String> messages = new ConcurrentHashMap<>();
 
@@ -109,6 +117,6 @@ public class I18nBundle extends ResourceBundle {
   }
 
   public static void invalidate() {
-    ResourceBundle.clearCache();
+    CacheBus.invalidateAll(CACHE);
   }
 }
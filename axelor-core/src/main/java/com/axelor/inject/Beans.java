@@ -41,6 +41,15 @@ public final class Beans {
     instance = this;
   }
 
+  /**
+   * Whether the injector is available.
+   *
+   * @return true if {@link #get(Class)} can be used
+   */
+  public static boolean isInitialized() {
+    return instance != null && instance.injector != null;
+  }
+
   private static Beans get() {
     if (instance == null || instance.injector == null) {
       throw new RuntimeException("Guice is not initialized.");
@@ -20,6 +20,7 @@ package com.axelor.mail.service;
 
 import static com.axelor.common.StringUtils.isBlank;
 
+import com.axelor.app.AppExecutor;
 import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
 import com.axelor.auth.AuditableRunner;
@@ -73,8 +74,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import javax.activation.DataSource;
 import javax.inject.Singleton;
 import javax.mail.FetchProfile;
@@ -104,8 +104,6 @@ public class MailServiceImpl implements MailService, MailConstants {
   private boolean senderConfigured;
   private boolean readerConfigured;
 
-  private ExecutorService executor = Executors.newCachedThreadPool();
-
   private Logger log = LoggerFactory.getLogger(MailService.class);
 
   private static final Object FETCH_LOCK = new Object();
@@ -385,14 +383,24 @@ public class MailServiceImpl implements MailService, MailConstants {
     }
 
     // send email using a separate process to void thread blocking
-    executor.submit(
+    final Callable<Boolean> job =
         new Callable<Boolean>() {
           @Override
           public Boolean call() throws Exception {
             send(sender, email);
             return true;
           }
-        });
+        };
+    try {
+      AppExecutor.submit(job);
+    } catch (RejectedExecutionException e) {
+      log.warn("Background executor is saturated, sending email synchronously.");
+      try {
+        job.call();
+      } catch (Exception ex) {
+        throw new MailException(ex);
+      }
+    }
   }
 
   @Transactional(rollbackOn = Exception.class)
@@ -21,19 +21,30 @@ package com.axelor.meta;
 import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
 import com.axelor.auth.AuthSecurityWarner;
+import com.axelor.db.JPA;
 import com.axelor.db.JpaSecurity;
 import com.axelor.event.Event;
 import com.axelor.events.PostAction;
 import com.axelor.events.PreAction;
 import com.axelor.inject.Beans;
+import com.axelor.rpc.ActionBatchRequest;
 import com.axelor.rpc.ActionRequest;
 import com.axelor.rpc.ActionResponse;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
 public class ActionExecutor {
 
+  /** Response keys requiring the client to interact before any further action is executed. */
+  private static final Set<String> INTERRUPT_KEYS = ImmutableSet.of("pending", "error", "alert");
+
   private final Event<PreAction> preActionEvent;
   private final Event<PostAction> postActionEvent;
   private final JpaSecurity security;
@@ -58,6 +69,52 @@ public class ActionExecutor {
     return newActionHandler(request).execute();
   }
 
+  /**
+   * Execute the actions of the given batch request, in order, in a single transaction.
+   *
+   * <p>The execution stops at the first action that fails or requires some interaction on client
+   * side, like an error, an alert or a pending action, in which case the responses of the remaining
+   * actions are not returned.
+   *
+   * @param request the batch request
+   * @return the responses of the executed actions
+   */
+  public List<ActionResponse> execute(ActionBatchRequest request) {
+    final List<ActionRequest> actions = request.getActions();
+    final List<ActionResponse> responses = new ArrayList<>();
+    if (actions == null || actions.isEmpty()) {
+      return responses;
+    }
+    JPA.runInTransaction(
+        () -> {
+          for (ActionRequest item : actions) {
+            final ActionRequest itemRequest = request.toRequest(item);
+            final ActionResponse response = execute(itemRequest);
+            request.update(item, itemRequest);
+            responses.add(response);
+            if (isInterrupted(response)) {
+              break;
+            }
+          }
+        });
+    return responses;
+  }
+
+  private boolean isInterrupted(ActionResponse response) {
+    if (response.getStatus() != ActionResponse.STATUS_SUCCESS) {
+      return true;
+    }
+    if (response.getData() instanceof Collection) {
+      for (Object item : (Collection<?>) response.getData()) {
+        if (item instanceof Map
+            && INTERRUPT_KEYS.stream().anyMatch(((Map<?, ?>) item)::containsKey)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   Event<PreAction> getPreActionEvent() {
     return preActionEvent;
   }
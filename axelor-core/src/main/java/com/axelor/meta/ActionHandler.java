@@ -61,6 +61,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -239,6 +240,10 @@ public class ActionHandler {
   }
 
   public Object call(String className, String method) {
+    return trace("call", className + ":" + method, () -> doCall(className, method));
+  }
+
+  private Object doCall(String className, String method) {
     ActionResponse response = new ActionResponse();
     try {
       final Class<?> klass = Class.forName(className);
@@ -253,6 +258,10 @@ public class ActionHandler {
   }
 
   public Object rpc(String className, String methodCall) {
+    return trace("call", className + ":" + methodCall, () -> doRpc(className, methodCall));
+  }
+
+  private Object doRpc(String className, String methodCall) {
 
     Pattern pattern = Pattern.compile("(\\w+)\\((.*?)\\)");
     Matcher matcher = pattern.matcher(methodCall);
@@ -331,21 +340,31 @@ public class ActionHandler {
   }
 
   public Object selectOne(String query, Object... params) {
-    Query q = select(query, params);
-    q.setMaxResults(1);
-    try {
-      return q.getResultList().get(0);
-    } catch (Exception e) {
-    }
-    return null;
+    return trace(
+        "select",
+        query,
+        () -> {
+          Query q = select(query, params);
+          q.setMaxResults(1);
+          try {
+            return q.getResultList().get(0);
+          } catch (Exception e) {
+          }
+          return null;
+        });
   }
 
   public Object selectAll(String query, Object... params) {
-    try {
-      return select(query, params).getResultList();
-    } catch (Exception e) {
-    }
-    return null;
+    return trace(
+        "select[]",
+        query,
+        () -> {
+          try {
+            return select(query, params).getResultList();
+          } catch (Exception e) {
+          }
+          return null;
+        });
   }
 
   public Object selectOne(String query) {
@@ -394,7 +413,19 @@ public class ActionHandler {
   }
 
   private Object handleScript(String expression) {
-    return scriptHelper.eval(expression);
+    return trace("script", expression, () -> scriptHelper.eval(expression));
+  }
+
+  private <T> T trace(String type, String name, Supplier<T> task) {
+    final ActionTrace.Node trace = ActionTrace.enter(type, name);
+    try {
+      return task.get();
+    } catch (RuntimeException e) {
+      ActionTrace.onError(trace, e);
+      throw e;
+    } finally {
+      ActionTrace.exit(trace);
+    }
   }
 
   private Object handleAction(String expression) {
@@ -513,7 +544,7 @@ public class ActionHandler {
       action.addAction(item);
     }
 
-    Object data = action.wrap(this);
+    Object data = trace("request", name, () -> action.wrap(this));
 
     if (data instanceof ActionResponse) {
       return (ActionResponse) data;
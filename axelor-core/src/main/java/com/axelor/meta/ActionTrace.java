@@ -0,0 +1,386 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.meta;
+
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Traces the execution of actions.
+ *
+ * <p>When enabled, each action request produces a tree of the executed actions, with their
+ * scripts, method calls, queries and conditions, along with their duration and the number of SQL
+ * statements they executed. The last traces are kept in memory, see {@link #getTraces()}, and the
+ * duration of the actions are aggregated per action name, see {@link #getHistograms()}.
+ *
+ * <p>A trace records at most <code>action.trace.max-steps</code> steps, the steps beyond are only
+ * counted, see {@link Node#getTruncated()}.
+ */
+public final class ActionTrace {
+
+  private static final Logger log = LoggerFactory.getLogger(ActionTrace.class);
+
+  private static final ThreadLocal<Node> CURRENT = new ThreadLocal<>();
+
+  private static final Deque<Trace> TRACES = new ConcurrentLinkedDeque<>();
+
+  private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+  private static final int MAX_NAME_LENGTH = 256;
+
+  private static final boolean ENABLED;
+  private static final boolean HISTOGRAMS_ENABLED;
+  private static final int HISTORY_SIZE;
+  private static final int MAX_STEPS;
+  private static final long SLOW_THRESHOLD;
+
+  static {
+    final AppSettings settings = AppSettings.get();
+    ENABLED = settings.getBoolean(AvailableAppSettings.ACTION_TRACE_ENABLED, false);
+    HISTOGRAMS_ENABLED = settings.getBoolean(AvailableAppSettings.ACTION_TRACE_HISTOGRAMS, true);
+    HISTORY_SIZE = settings.getInt(AvailableAppSettings.ACTION_TRACE_HISTORY_SIZE, 50);
+    MAX_STEPS = settings.getInt(AvailableAppSettings.ACTION_TRACE_MAX_STEPS, 1000);
+    SLOW_THRESHOLD = settings.getInt(AvailableAppSettings.ACTION_TRACE_SLOW_THRESHOLD, 1000);
+  }
+
+  private ActionTrace() {}
+
+  /**
+   * Whether action tracing is enabled.
+   *
+   * @return true if enabled
+   */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Starts tracing an execution step on the current thread.
+   *
+   * <p>The step is added to the step being traced, if any, else it starts a new trace.
+   *
+   * @param type the step type, like <code>action-record</code>, <code>script</code> or <code>
+   *     call</code>
+   * @param name the step name, an action name or an expression
+   * @return the traced step, or null if disabled
+   */
+  public static Node enter(String type, String name) {
+    if (!ENABLED) {
+      return null;
+    }
+    return enter(type, name, MAX_STEPS);
+  }
+
+  static Node enter(String type, String name, int maxSteps) {
+    final Node parent = CURRENT.get();
+    final Node node = new Node(parent, type, name);
+    if (parent != null) {
+      // steps beyond the limit are traced, but not kept in the tree
+      if (node.root.steps < maxSteps) {
+        node.root.steps += 1;
+        parent.children.add(node);
+      } else {
+        node.root.truncated += 1;
+      }
+    }
+    CURRENT.set(node);
+    return node;
+  }
+
+  /**
+   * Stops tracing the given step.
+   *
+   * @param node the step returned by {@link #enter(String, String)}, may be null
+   */
+  public static void exit(Node node) {
+    if (node == null) {
+      return;
+    }
+    node.time = System.nanoTime() - node.startTime;
+    CURRENT.set(node.parent);
+
+    if (node.parent != null) {
+      node.parent.sqlCount += node.sqlCount;
+    } else {
+      CURRENT.remove();
+      complete(node);
+    }
+
+    if (HISTOGRAMS_ENABLED && node.isAction()) {
+      HISTOGRAMS.computeIfAbsent(node.name, Histogram::new).add(node.getTime());
+    }
+  }
+
+  /**
+   * Records the result of the given condition step.
+   *
+   * @param node the step, may be null
+   * @param result the condition result
+   */
+  public static void onResult(Node node, boolean result) {
+    if (node != null) {
+      node.result = result;
+    }
+  }
+
+  /**
+   * Records an error raised by the given step.
+   *
+   * @param node the step, may be null
+   * @param e the error
+   */
+  public static void onError(Node node, Throwable e) {
+    if (node != null) {
+      node.error = e.getClass().getName() + ": " + e.getMessage();
+    }
+  }
+
+  /** Called after a SQL statement is executed. */
+  public static void onStatementEnd() {
+    final Node node = CURRENT.get();
+    if (node != null) {
+      node.sqlCount += 1;
+    }
+  }
+
+  private static void complete(Node root) {
+    final User user = AuthUtils.getUser();
+    final Trace trace = new Trace(user == null ? null : user.getCode(), root);
+
+    TRACES.addFirst(trace);
+    while (TRACES.size() > HISTORY_SIZE) {
+      TRACES.pollLast();
+    }
+
+    if (root.getTime() >= SLOW_THRESHOLD) {
+      final StringBuilder builder = new StringBuilder();
+      root.print(builder, 0);
+      log.warn("Slow action: [name={}, time={}ms]\n{}", root.name, root.getTime(), builder);
+    }
+  }
+
+  /**
+   * Returns the last action traces, most recent first.
+   *
+   * @return list of traces
+   */
+  public static List<Trace> getTraces() {
+    return new ArrayList<>(TRACES);
+  }
+
+  /**
+   * Returns the execution time histograms of the actions, per action name.
+   *
+   * @return map of action name to histogram
+   */
+  public static Map<String, Histogram> getHistograms() {
+    return Collections.unmodifiableMap(HISTOGRAMS);
+  }
+
+  /** Clears the traces and histograms collected so far. */
+  public static void clear() {
+    TRACES.clear();
+    HISTOGRAMS.clear();
+  }
+
+  /** A traced action request. */
+  public static class Trace {
+
+    private final String user;
+    private final LocalDateTime date = LocalDateTime.now();
+    private final Node root;
+
+    Trace(String user, Node root) {
+      this.user = user;
+      this.root = root;
+    }
+
+    public String getUser() {
+      return user;
+    }
+
+    public LocalDateTime getDate() {
+      return date;
+    }
+
+    public Node getRoot() {
+      return root;
+    }
+  }
+
+  /** A traced execution step. */
+  public static class Node {
+
+    private final Node parent;
+    private final Node root;
+    private final String type;
+    private final String name;
+    private final long startTime = System.nanoTime();
+    private final List<Node> children = new ArrayList<>();
+
+    private long time;
+    private int sqlCount;
+    private Boolean result;
+    private String error;
+
+    // recorded and dropped steps of the whole trace, kept by the root step
+    private int steps = 1;
+    private int truncated;
+
+    Node(Node parent, String type, String name) {
+      this.parent = parent;
+      this.root = parent == null ? this : parent.root;
+      this.type = type;
+      this.name =
+          name != null && name.length() > MAX_NAME_LENGTH
+              ? name.substring(0, MAX_NAME_LENGTH) + "..."
+              : name;
+    }
+
+    private boolean isAction() {
+      return type.startsWith("action") && name != null;
+    }
+
+    public String getType() {
+      return type;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /** The execution time in milliseconds. */
+    public long getTime() {
+      return TimeUnit.NANOSECONDS.toMillis(time);
+    }
+
+    /** The number of SQL statements executed, including the ones of the child steps. */
+    public int getSqlCount() {
+      return sqlCount;
+    }
+
+    /** The result of a condition step. */
+    public Boolean getResult() {
+      return result;
+    }
+
+    public String getError() {
+      return error;
+    }
+
+    public List<Node> getChildren() {
+      return children;
+    }
+
+    /** The number of steps of the trace not recorded, on the root step only. */
+    public int getTruncated() {
+      return root == this ? truncated : 0;
+    }
+
+    private void print(StringBuilder builder, int depth) {
+      builder.append("  ".repeat(depth)).append(type).append(": ").append(name);
+      builder.append(" [time=").append(getTime()).append("ms, sql=").append(sqlCount);
+      if (result != null) {
+        builder.append(", result=").append(result);
+      }
+      if (error != null) {
+        builder.append(", error=").append(error);
+      }
+      builder.append("]\n");
+      for (Node child : children) {
+        child.print(builder, depth + 1);
+      }
+      if (getTruncated() > 0) {
+        builder.append("  ").append(getTruncated()).append(" more steps not recorded\n");
+      }
+    }
+  }
+
+  /** Execution time histogram of an action. */
+  public static class Histogram {
+
+    private static final long[] BOUNDS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+    private volatile long maxTime;
+
+    Histogram(String name) {
+      this.name = name;
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    void add(long time) {
+      int i = 0;
+      while (i < BOUNDS.length && time > BOUNDS[i]) {
+        i++;
+      }
+      buckets[i].increment();
+      count.increment();
+      totalTime.add(time);
+      if (time > maxTime) {
+        maxTime = time;
+      }
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getCount() {
+      return count.sum();
+    }
+
+    public long getTotalTime() {
+      return totalTime.sum();
+    }
+
+    public long getMaxTime() {
+      return maxTime;
+    }
+
+    /** The number of executions per upper bound in milliseconds, <code>+Inf</code> for the last. */
+    public Map<String, Long> getBuckets() {
+      final Map<String, Long> result = new LinkedHashMap<>();
+      for (int i = 0; i < buckets.length; i++) {
+        result.put(i < BOUNDS.length ? String.valueOf(BOUNDS[i]) : "+Inf", buckets[i].sum());
+      }
+      return result;
+    }
+  }
+}
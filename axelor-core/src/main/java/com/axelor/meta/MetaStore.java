@@ -20,9 +20,11 @@ package com.axelor.meta;
 
 import static com.axelor.common.StringUtils.isBlank;
 
+import com.axelor.auth.AuthIdentity;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.Role;
 import com.axelor.auth.db.User;
+import com.axelor.cache.CacheBus;
 import com.axelor.common.Inflector;
 import com.axelor.common.StringUtils;
 import com.axelor.db.JpaSecurity;
@@ -75,9 +77,24 @@ public final class MetaStore {
 
   private static final Logger log = LoggerFactory.getLogger(MetaStore.class);
 
+  /** The {@link CacheBus} topic of the actions cache. */
+  public static final String ACTIONS_CACHE = "meta.actions";
+
   private static final Cache<String, Action> ACTIONS =
       CacheBuilder.newBuilder().maximumSize(1000).weakValues().build();
 
+  static {
+    CacheBus.subscribe(
+        ACTIONS_CACHE,
+        name -> {
+          if (name == null) {
+            ACTIONS.invalidateAll();
+          } else {
+            ACTIONS.invalidate(name);
+          }
+        });
+  }
+
   private MetaStore() {}
 
   /** Used for unit testing. */
@@ -109,8 +126,8 @@ public final class MetaStore {
   }
 
   public static Map<String, Object> getPermissions(Class<?> model) {
-    final User user = AuthUtils.getUser();
-    if (user == null || AuthUtils.isAdmin(user) || !Model.class.isAssignableFrom(model)) {
+    final AuthIdentity identity = AuthUtils.getIdentity();
+    if (identity == null || identity.isAdmin() || !Model.class.isAssignableFrom(model)) {
       return null;
     }
 
@@ -616,10 +633,10 @@ public final class MetaStore {
   }
 
   public static void clear() {
-    ACTIONS.invalidateAll();
+    CacheBus.invalidateAll(ACTIONS_CACHE);
   }
 
   public static void invalidate(String name) {
-    ACTIONS.invalidate(name);
+    CacheBus.invalidate(ACTIONS_CACHE, name);
   }
 }
@@ -0,0 +1,147 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.meta;
+
+import com.axelor.app.internal.AppFilter;
+import com.axelor.auth.db.Group;
+import com.axelor.auth.db.Permission;
+import com.axelor.auth.db.Role;
+import com.axelor.auth.db.User;
+import com.axelor.cache.CacheBus;
+import com.axelor.db.tenants.TenantResolver;
+import com.axelor.meta.db.MetaAction;
+import com.axelor.meta.db.MetaAttrs;
+import com.axelor.meta.db.MetaField;
+import com.axelor.meta.db.MetaHelp;
+import com.axelor.meta.db.MetaJsonField;
+import com.axelor.meta.db.MetaJsonModel;
+import com.axelor.meta.db.MetaMenu;
+import com.axelor.meta.db.MetaModel;
+import com.axelor.meta.db.MetaModule;
+import com.axelor.meta.db.MetaPermission;
+import com.axelor.meta.db.MetaPermissionRule;
+import com.axelor.meta.db.MetaSelect;
+import com.axelor.meta.db.MetaSelectItem;
+import com.axelor.meta.db.MetaTranslation;
+import com.axelor.meta.db.MetaView;
+import com.axelor.meta.db.MetaViewCustom;
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a version of the metadata used to build views and fields, so that responses built from
+ * them can be cached and validated.
+ *
+ * <p>The version changes once a transaction modifying views, fields, selections, custom fields,
+ * translations, helps, menus, actions, modules or permissions is committed, on all the nodes when a
+ * cache bus is configured.
+ */
+public final class MetaVersion {
+
+  /** The {@link CacheBus} topic of the metadata version. */
+  public static final String TOPIC = "meta.version";
+
+  private static final Set<Class<?>> TRACKED =
+      ImmutableSet.of(
+          MetaView.class,
+          MetaViewCustom.class,
+          MetaModel.class,
+          MetaField.class,
+          MetaSelect.class,
+          MetaSelectItem.class,
+          MetaJsonModel.class,
+          MetaJsonField.class,
+          MetaTranslation.class,
+          MetaHelp.class,
+          MetaMenu.class,
+          MetaAction.class,
+          MetaAttrs.class,
+          MetaModule.class,
+          MetaPermission.class,
+          MetaPermissionRule.class,
+          Permission.class,
+          Role.class,
+          Group.class);
+
+  // the version restarts with the node, so make it unique per node start
+  private static final String NODE = Long.toString(System.currentTimeMillis(), 36);
+
+  private static final AtomicLong VERSION = new AtomicLong();
+
+  private static final ThreadLocal<Boolean> CHANGED = new ThreadLocal<>();
+
+  static {
+    CacheBus.subscribe(TOPIC, key -> VERSION.incrementAndGet());
+  }
+
+  private MetaVersion() {}
+
+  /**
+   * Returns the current metadata version.
+   *
+   * @return the version
+   */
+  public static String get() {
+    return NODE + "." + VERSION.get();
+  }
+
+  /**
+   * Returns a fingerprint of the metadata as seen by the given user: the metadata version, the
+   * tenant, the language and the user with its own version, as custom views, groups, roles and
+   * permissions are resolved per user.
+   *
+   * @param user the user
+   * @return the fingerprint
+   */
+  public static String getFingerprint(User user) {
+    final StringBuilder sb = new StringBuilder(get());
+    sb.append(':').append(TenantResolver.currentTenantIdentifier());
+    sb.append(':').append(AppFilter.getLocale().toLanguageTag());
+    if (user != null) {
+      sb.append(':').append(user.getCode()).append('.').append(user.getVersion());
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Called when an entity is saved, updated or removed.
+   *
+   * @param entity the entity
+   */
+  public static void onChange(Object entity) {
+    if (entity != null && TRACKED.stream().anyMatch(type -> type.isInstance(entity))) {
+      CHANGED.set(Boolean.TRUE);
+    }
+  }
+
+  /**
+   * Called when a transaction is completed, to change the version if tracked entities were
+   * modified.
+   *
+   * @param committed whether the transaction is committed
+   */
+  public static void transactionCompleted(boolean committed) {
+    final Boolean changed = CHANGED.get();
+    CHANGED.remove();
+    if (committed && changed != null) {
+      CacheBus.invalidateAll(TOPIC);
+    }
+  }
+}
@@ -30,6 +30,7 @@ import com.axelor.meta.db.MetaJsonModel;
 import com.axelor.meta.db.MetaJsonRecord;
 import com.axelor.meta.db.MetaMenu;
 import com.axelor.meta.db.MetaView;
+import com.axelor.meta.service.JsonIndexService;
 import com.google.common.base.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -250,7 +251,9 @@ public class MetaJsonModelRepository extends AbstractMetaJsonModelRepository {
   @Override
   public MetaJsonModel save(MetaJsonModel entity) {
     this.onSave(entity);
-    return super.save(entity);
+    final MetaJsonModel saved = super.save(entity);
+    Beans.get(JsonIndexService.class).updateOnCommit();
+    return saved;
   }
 
   @Override
@@ -268,5 +271,6 @@ public class MetaJsonModelRepository extends AbstractMetaJsonModelRepository {
 
     super.remove(entity);
     JPA.all(MetaJsonRecord.class).filter("self.jsonModel = ?", entity.getName()).remove();
+    Beans.get(JsonIndexService.class).updateOnCommit();
   }
 }
@@ -0,0 +1,42 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.meta.db.repo;
+
+import com.axelor.meta.db.MetaTranslation;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+
+/**
+ * Entity listener keeping {@link MetaTranslation#getValueKey()} in sync with the translation key.
+ *
+ * <p>Field value translations are stored with <code>value:</code> prefixed keys. The value key
+ * holds the key without the prefix, so translated fields can be joined on an indexed column.
+ */
+public class MetaTranslationListener {
+
+  public static final String VALUE_PREFIX = "value:";
+
+  @PrePersist
+  @PreUpdate
+  public void updateValueKey(MetaTranslation entity) {
+    final String key = entity.getKey();
+    entity.setValueKey(
+        key != null && key.startsWith(VALUE_PREFIX) ? key.substring(VALUE_PREFIX.length()) : null);
+  }
+}
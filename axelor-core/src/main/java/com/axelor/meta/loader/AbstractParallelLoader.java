@@ -33,9 +33,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.inject.Inject;
 
 abstract class AbstractParallelLoader extends AbstractLoader {
 
+  @Inject private ResourceChecksums checksums;
+
   /**
    * 查找元数据文件
    * @param module
@@ -63,10 +66,34 @@ abstract class AbstractParallelLoader extends AbstractLoader {
       Set<Path> paths) {
 
     for (URL file : findFiles(module, paths)) {
+      if (isUnchanged(module, Collections.singletonList(file))) {
+        continue;
+      }
       transactionExecutor.add(() -> doLoad(file, module, update));
     }
   }
 
+  /**
+   * Checks whether the given files, loaded together, are unchanged since the last run and can be
+   * skipped.
+   *
+   * @param module the module the files belong to
+   * @param files the files to check
+   * @return true if the files can be skipped
+   */
+  protected boolean isUnchanged(Module module, List<URL> files) {
+    return checksums.isUnchanged(module, files);
+  }
+
+  /**
+   * Whether resources unchanged since the last run are skipped.
+   *
+   * @return true if loading is incremental
+   */
+  protected boolean isIncremental() {
+    return checksums.isSkipping();
+  }
+
   protected List<URL> findFiles(Module module, Set<Path> paths) {
     final List<URL> lists = findFiles(module);
 
@@ -84,6 +84,10 @@ public class I18nLoader extends AbstractParallelLoader {
       Set<Path> paths) {
 
     for (List<URL> files : splitFiles(findFiles(module, paths))) {
+      // translation files of a language are checked as a whole, custom ones override the others
+      if (isUnchanged(module, files)) {
+        continue;
+      }
       transactionExecutor.add(() -> doLoad(files, module, update));
     }
   }
@@ -18,6 +18,9 @@
  */
 package com.axelor.meta.loader;
 
+import com.axelor.app.AppExecutor;
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
 import com.axelor.auth.AuditableRunner;
 import com.axelor.auth.AuthService;
 import com.axelor.auth.db.AuditableModel;
@@ -38,10 +41,19 @@ import java.lang.reflect.Field;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.slf4j.Logger;
@@ -56,6 +68,12 @@ public class ModuleManager {
 
   private boolean loadData = true;
 
+  private final boolean incremental =
+      AppSettings.get().getBoolean(AvailableAppSettings.APPLICATION_META_INCREMENTAL_LOAD, false);
+
+  private final int moduleWorkers =
+      AppSettings.get().getInt(AvailableAppSettings.APPLICATION_META_MODULE_WORKERS, 1);
+
   private final AuthService authService;
 
   private final MetaModuleRepository modules;
@@ -68,6 +86,8 @@ public class ModuleManager {
 
   private final List<AbstractParallelLoader> metaLoaders;
 
+  private final ResourceChecksums checksums;
+
   private static long lastRestored;
   private final Set<Path> pathsToRestore = new HashSet<>();
 
@@ -81,12 +101,14 @@ public class ModuleManager {
       ModelLoader modelLoader,
       I18nLoader i18nLoader,
       DataLoader dataLoader,
-      DemoLoader demoLoader) {
+      DemoLoader demoLoader,
+      ResourceChecksums checksums) {
     this.authService = authService;
     this.modules = modules;
     this.viewLoader = viewLoader;
     this.dataLoader = dataLoader;
     this.demoLoader = demoLoader;
+    this.checksums = checksums;
     metaLoaders = ImmutableList.of(modelLoader, viewLoader, i18nLoader);
   }
 
@@ -105,6 +127,7 @@ public class ModuleManager {
       loadModules(moduleList, update, withDemo);
     } finally {
       encryptPasswords();
+      updateTranslationKeys();
       doCleanUp();
     }
   }
@@ -163,16 +186,114 @@ public class ModuleManager {
 
   //加载所有模块
   private void loadModules(List<Module> moduleList, boolean update, boolean withDemo) {
+    // restoring views must reload everything, whatever the checksums say
+    if (incremental) {
+      checksums.start(update && loadData);
+    }
     Beans.get(AuditableRunner.class)
         .run(
             () -> {
               //异步初始化每个模块
-              moduleList.forEach(m -> installOne(m.getName(), update, withDemo));
+              installAll(moduleList, update, withDemo);
               //异步初始化每个模块视图
               moduleList.forEach(m -> viewLoader.doLast(m, update));
             });
     //生成最终视图
     viewLoader.terminate(update);
+    checksums.commit();
+  }
+
+  private void installAll(List<Module> moduleList, boolean update, boolean withDemo) {
+    final int numWorkers = loadData ? Math.min(moduleWorkers, moduleList.size()) : 1;
+    if (numWorkers <= 1) {
+      moduleList.forEach(m -> installOne(m.getName(), update, withDemo));
+      return;
+    }
+
+    // meta are loaded in resolution order, so that view overrides and priorities never depend
+    // on timing, only the data of the modules is loaded in parallel
+    final List<Module> installed =
+        moduleList.stream()
+            .filter(m -> installOneMeta(m.getName(), update))
+            .collect(Collectors.toList());
+
+    runInOrder(installed, numWorkers, m -> installOneData(m, update, withDemo));
+  }
+
+  /**
+   * Runs the given task for each module with the shared {@link AppExecutor}, each module once the
+   * modules it depends on are done.
+   *
+   * @param moduleList the modules, in resolution order
+   * @param numWorkers the maximum number of modules processed at a time
+   * @param task the task to run for each module
+   */
+  static void runInOrder(List<Module> moduleList, int numWorkers, Consumer<Module> task) {
+    final CompletionService<Module> service = new ExecutorCompletionService<>(AppExecutor::execute);
+    final List<Module> waiting = new ArrayList<>(moduleList);
+    final Map<Future<Module>, Module> running = new HashMap<>();
+
+    RuntimeException failure = null;
+    while (!running.isEmpty() || (failure == null && !waiting.isEmpty())) {
+      final Set<Module> pending = new HashSet<>(waiting);
+      pending.addAll(running.values());
+
+      // modules are in resolution order, so dependencies are always scheduled first
+      for (Iterator<Module> it = waiting.iterator();
+          failure == null && it.hasNext() && running.size() < numWorkers; ) {
+        final Module module = it.next();
+        if (dependsOnAny(module, pending)) {
+          continue;
+        }
+        try {
+          running.put(
+              service.submit(
+                  () -> {
+                    task.accept(module);
+                    return module;
+                  }),
+              module);
+          it.remove();
+        } catch (RejectedExecutionException e) {
+          failure = e;
+        }
+      }
+
+      if (running.isEmpty()) {
+        break;
+      }
+
+      try {
+        final Future<Module> done = service.take();
+        running.remove(done);
+        done.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure =
+              e.getCause() instanceof RuntimeException
+                  ? (RuntimeException) e.getCause()
+                  : new IllegalStateException(e.getCause());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        running.keySet().forEach(future -> future.cancel(true));
+        throw new IllegalStateException(e);
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private static boolean dependsOnAny(Module module, Set<Module> modules) {
+    for (Module depend : module.getDepends()) {
+      // not being installed, but may depend on modules being installed
+      if (modules.contains(depend) || dependsOnAny(depend, modules)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   public boolean isLoadData() {
@@ -205,10 +326,19 @@ public class ModuleManager {
 
   private void doCleanUp(long time) {
     AbstractLoader.doCleanUp();
+    checksums.clear();
     updateLastRestored(time);
   }
 
   private boolean installOne(String moduleName, boolean update, boolean withDemo) {
+    if (!installOneMeta(moduleName, update)) {
+      return false;
+    }
+    installOneData(RESOLVER.get(moduleName), update, withDemo);
+    return true;
+  }
+
+  private boolean installOneMeta(String moduleName, boolean update) {
     final Module module = RESOLVER.get(moduleName);
     final MetaModule metaModule = modules.findByName(moduleName);
 
@@ -225,6 +355,10 @@ public class ModuleManager {
     // load meta
     installMeta(module, update);
 
+    return true;
+  }
+
+  private void installOneData(Module module, boolean update, boolean withDemo) {
     // load data (runs in it's own transaction)
     if (loadData) {
       dataLoader.load(module, update);
@@ -236,8 +370,6 @@ public class ModuleManager {
     // finally update install state
     module.setPending(false);
     module.setInstalled(true);
-
-    return true;
   }
 
   private void installMeta(Module module, boolean update) {
@@ -349,6 +481,20 @@ public class ModuleManager {
     admin = users.save(admin);
   }
 
+  /** Fill the value keys of the field value translations created before they were introduced. */
+  @Transactional
+  public void updateTranslationKeys() {
+    final int count =
+        JPA.em()
+            .createQuery(
+                "UPDATE MetaTranslation self SET self.valueKey = SUBSTRING(self.key, 7) "
+                    + "WHERE self.valueKey IS NULL AND self.key LIKE 'value:%'")
+            .executeUpdate();
+    if (count > 0) {
+      log.info("Updated value keys of {} translation(s).", count);
+    }
+  }
+
   @Transactional
   public void encryptPasswords() {
     final UserRepository users = Beans.get(UserRepository.class);
@@ -0,0 +1,167 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.meta.loader;
+
+import com.axelor.db.JPA;
+import com.axelor.meta.db.MetaChecksum;
+import com.axelor.meta.db.repo.MetaChecksumRepository;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Resources;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the content checksums of the module resources loaded by the meta loaders.
+ *
+ * <p>Checksums of the loaded resources are only persisted once all the modules have been
+ * successfully loaded, so a failed run never marks a resource as up-to-date.
+ */
+@Singleton
+class ResourceChecksums {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ResourceChecksums.class);
+
+  private final MetaChecksumRepository checksums;
+
+  private final Map<Entry<String, String>, String> stored = new ConcurrentHashMap<>();
+  private final Map<Entry<String, String>, String> pending = new ConcurrentHashMap<>();
+
+  private boolean tracking;
+  private boolean skipping;
+
+  @Inject
+  ResourceChecksums(MetaChecksumRepository checksums) {
+    this.checksums = checksums;
+  }
+
+  /**
+   * Starts tracking resource checksums.
+   *
+   * @param skipUnchanged whether resources found unchanged since the last run should be skipped
+   */
+  void start(boolean skipUnchanged) {
+    clear();
+    tracking = true;
+    skipping = skipUnchanged;
+    if (skipping) {
+      checksums
+          .all()
+          .fetchStream()
+          .forEach(
+              item ->
+                  stored.put(Map.entry(item.getModule(), item.getResource()), item.getChecksum()));
+    }
+  }
+
+  /**
+   * Whether unchanged resources are being skipped.
+   *
+   * @return true if unchanged resources are skipped
+   */
+  boolean isSkipping() {
+    return tracking && skipping;
+  }
+
+  /**
+   * Checks whether the given group of files were already loaded with the same content.
+   *
+   * <p>The checksum of a changed group is recorded and persisted with {@link #commit()}.
+   *
+   * @param module the module the files belong to
+   * @param files the files, always loaded together
+   * @return true if the files can be skipped
+   */
+  boolean isUnchanged(Module module, List<URL> files) {
+    if (!tracking || files.isEmpty()) {
+      return false;
+    }
+
+    final Entry<String, String> key = Map.entry(module.getName(), toResource(files.get(0)));
+    final String checksum = compute(files);
+
+    if (skipping && checksum.equals(stored.get(key))) {
+      LOG.debug("Skipping unchanged: {}", key.getValue());
+      return true;
+    }
+
+    pending.put(key, checksum);
+    return false;
+  }
+
+  /** Persists the checksums of the resources loaded since {@link #start(boolean)}. */
+  void commit() {
+    if (pending.isEmpty()) {
+      return;
+    }
+    LOG.info("Saving {} resource checksum(s)...", pending.size());
+    JPA.runInTransaction(
+        () ->
+            pending.forEach(
+                (key, checksum) -> {
+                  MetaChecksum entity = checksums.findByResource(key.getKey(), key.getValue());
+                  if (entity == null) {
+                    entity = new MetaChecksum();
+                    entity.setModule(key.getKey());
+                    entity.setResource(key.getValue());
+                  }
+                  entity.setChecksum(checksum);
+                  checksums.save(entity);
+                }));
+    pending.clear();
+  }
+
+  void clear() {
+    tracking = false;
+    skipping = false;
+    stored.clear();
+    pending.clear();
+  }
+
+  /**
+   * Returns the resource path of the given file relative to its jar, so that checksums survive
+   * redeployments to different locations. Exploded resources are kept as is.
+   */
+  private static String toResource(URL file) {
+    final String path = file.getPath();
+    final int index = path.lastIndexOf("!/");
+    return index > -1 ? path.substring(index + 2) : path;
+  }
+
+  private static String compute(List<URL> files) {
+    final Hasher hasher = Hashing.sha256().newHasher();
+    for (URL file : files) {
+      try {
+        hasher.putBytes(Resources.toByteArray(file));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return hasher.hash().toString();
+  }
+}
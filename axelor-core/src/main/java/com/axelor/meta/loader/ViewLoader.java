@@ -201,6 +201,9 @@ public class ViewLoader extends AbstractParallelLoader {
   }
 
   private void generateFinalViews(boolean update) {
+    if (isIncremental() && viewsToGenerate.isEmpty()) {
+      return;
+    }
     LOG.info("Generating computed views...");
     try {
       viewGenerator.process(viewsToGenerate, update);
@@ -260,6 +263,11 @@ public class ViewLoader extends AbstractParallelLoader {
         LOG.error("View with extensions must have extension=\"true\": {}", getName(name, xmlId));
         return;
       }
+
+      // extensions found in unchanged files are not visited, so compute from the base view too
+      if (isIncremental()) {
+        viewsToGenerate.add(view.getName());
+      }
     }
 
     LOG.debug("Loading view: {}", getName(name, xmlId));
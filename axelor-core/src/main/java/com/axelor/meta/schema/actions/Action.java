@@ -23,6 +23,7 @@ import com.axelor.common.StringUtils;
 import com.axelor.db.JpaSecurity;
 import com.axelor.events.PostAction;
 import com.axelor.meta.ActionHandler;
+import com.axelor.meta.ActionTrace;
 import com.axelor.rpc.ActionResponse;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.MoreObjects;
@@ -91,19 +92,27 @@ public abstract class Action {
   }
 
   public Object execute(ActionHandler handler) {
-    final Object result;
-
-    if (StringUtils.isBlank(getName())) {
-      result = evaluate(handler);
-    } else {
+    final ActionTrace.Node trace =
+        ActionTrace.isEnabled() ? ActionTrace.enter(getTraceType(), getName()) : null;
+    try {
+      if (StringUtils.isBlank(getName())) {
+        return evaluate(handler);
+      }
       checkPermission(handler);
       handler.firePreEvent(getName());
       final Object value = evaluate(handler);
       PostAction event = handler.firePostEvent(getName(), value);
-      result = event.getResult();
+      return event.getResult();
+    } catch (RuntimeException e) {
+      ActionTrace.onError(trace, e);
+      throw e;
+    } finally {
+      ActionTrace.exit(trace);
     }
+  }
 
-    return result;
+  private String getTraceType() {
+    return getClass().getSimpleName().replaceAll("([a-z])([A-Z])", "$1-$2").toLowerCase();
   }
 
   protected void checkPermission(ActionHandler handler) {
@@ -141,7 +150,17 @@ public abstract class Action {
     if ("true".equals(expression)) return true;
     if ("false".equals(expression)) return false;
 
-    Object result = handler.evaluate(toExpression(expression, false));
+    final ActionTrace.Node trace = ActionTrace.enter("condition", expression);
+    try {
+      final boolean result = toBoolean(handler.evaluate(toExpression(expression, false)));
+      ActionTrace.onResult(trace, result);
+      return result;
+    } finally {
+      ActionTrace.exit(trace);
+    }
+  }
+
+  private static boolean toBoolean(Object result) {
     if (result instanceof Boolean) return (Boolean) result;
     if (result instanceof Number) return Double.compare(((Number) result).doubleValue(), 0) != 0;
 
@@ -27,13 +27,16 @@ import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.axelor.meta.ActionHandler;
 import com.axelor.meta.MetaFiles;
-import com.axelor.report.ReportGenerator;
+import com.axelor.meta.db.MetaFile;
+import com.axelor.report.ReportJob;
+import com.axelor.report.ReportQueue;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
@@ -66,6 +69,8 @@ public class ActionReport extends Action {
 
   @XmlAttribute private Boolean attachment;
 
+  @XmlAttribute private Boolean async;
+
   @XmlElement(name = "param")
   private List<Parameter> parameters;
 
@@ -95,6 +100,10 @@ public class ActionReport extends Action {
     return attachment;
   }
 
+  public Boolean getAsync() {
+    return async;
+  }
+
   public List<Parameter> getParameters() {
     return parameters;
   }
@@ -128,7 +137,7 @@ public class ActionReport extends Action {
     log.debug("action-report: {}", getName());
 
     final Map<String, Object> params = new HashMap<>();
-    final ReportGenerator generator = Beans.get(ReportGenerator.class);
+    final ReportQueue queue = Beans.get(ReportQueue.class);
 
     if (parameters != null) {
       for (Parameter param : parameters) {
@@ -151,23 +160,52 @@ public class ActionReport extends Action {
             .replace("${name}", getName());
 
     final String fileName = String.format("%s.%s", outputName, format);
-    final File output = generator.generate(designName, format, params, AppFilter.getLocale());
+    final boolean attach = Boolean.TRUE.equals(attachment) && id != null;
+
+    if (Boolean.TRUE.equals(async)) {
+      final ReportJob job =
+          queue.submit(
+              designName,
+              format,
+              params,
+              AppFilter.getLocale(),
+              fileName,
+              attach ? file -> attach(file, fileName, klass, id) : null);
+
+      final Map<String, Object> notify = new HashMap<>();
+      notify.put("title", I18n.get("Report"));
+      notify.put("message", I18n.get("The report is being generated in background."));
+
+      result.put("reportJob", job.getId());
+      result.put("reportFile", fileName);
+      result.put("reportFormat", format);
+      result.put("notify", notify);
+      return result;
+    }
+
+    final File output = queue.render(designName, format, params, AppFilter.getLocale());
 
     result.put("report", getName());
     result.put("reportFile", fileName);
     result.put("reportLink", output.getName());
     result.put("reportFormat", format);
 
-    if (Boolean.TRUE.equals(attachment) && id != null) {
-      final Model bean = (Model) JPA.em().find(klass, id);
-      try (InputStream is = new FileInputStream(output)) {
-        result.put("attached", Beans.get(MetaFiles.class).attach(is, fileName, bean).getMetaFile());
-      }
+    if (attach) {
+      result.put("attached", attach(output, fileName, klass, id));
     }
 
     return result;
   }
 
+  private MetaFile attach(File output, String fileName, Class<?> klass, Long id) {
+    final Model bean = (Model) JPA.em().find(klass, id);
+    try (InputStream is = new FileInputStream(output)) {
+      return Beans.get(MetaFiles.class).attach(is, fileName, bean).getMetaFile();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   @Override
   public Object evaluate(ActionHandler handler) {
     try {
@@ -0,0 +1,319 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.meta.service;
+
+import com.axelor.db.JPA;
+import com.axelor.db.hibernate.dialect.JsonIndexSupport;
+import com.axelor.db.tenants.TenantAware;
+import com.axelor.db.tenants.TenantResolver;
+import com.axelor.inject.Beans;
+import com.axelor.meta.db.MetaJsonField;
+import com.google.common.hash.Hashing;
+import com.google.inject.persist.UnitOfWork;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.inject.Singleton;
+import org.hibernate.MappingException;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.function.SQLFunction;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates and drops the database indexes of the {@link MetaJsonField} marked as indexed.
+ *
+ * <p>Indexes are built in background, without locking the tables on PostgreSQL, once the changes
+ * of the custom fields are committed. The indexes of the current tenant database are updated, and
+ * the indexes left invalid by a failed build are rebuilt.
+ */
+@Singleton
+public class JsonIndexService {
+
+  private static final Logger log = LoggerFactory.getLogger(JsonIndexService.class);
+
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          r -> {
+            final Thread thread = new Thread(r, "json-indexer");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+  private static SessionFactoryImplementor getSessionFactory() {
+    return JPA.em().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+  }
+
+  private static Dialect getDialect() {
+    return getSessionFactory().getJdbcServices().getDialect();
+  }
+
+  /**
+   * Whether the database supports json indexes.
+   *
+   * @return true if supported
+   */
+  public boolean isSupported() {
+    return getDialect() instanceof JsonIndexSupport;
+  }
+
+  /** Updates the indexes once the current transaction is successfully committed. */
+  public void updateOnCommit() {
+    if (!isSupported()) {
+      return;
+    }
+    JPA.em()
+        .unwrap(SessionImplementor.class)
+        .getActionQueue()
+        .registerProcess(
+            (AfterTransactionCompletionProcess)
+                (success, session) -> {
+                  if (success) {
+                    updateAsync();
+                  }
+                });
+  }
+
+  /** Updates the indexes in background. */
+  public void updateAsync() {
+    final String tenantId = TenantResolver.currentTenantIdentifier();
+    final String tenantHost = TenantResolver.currentTenantHost();
+    final String key = String.valueOf(tenantId);
+    if (!isSupported() || !pending.add(key)) {
+      return;
+    }
+    executor.execute(
+        () -> {
+          pending.remove(key);
+          // the unit of work is started by TenantAware, once the tenant is set
+          try {
+            new TenantAware(this::updateQuietly).tenantId(tenantId).tenantHost(tenantHost).run();
+          } finally {
+            Beans.get(UnitOfWork.class).end();
+          }
+        });
+  }
+
+  private void updateQuietly() {
+    try {
+      update();
+    } catch (Exception e) {
+      log.error("Unable to update json indexes: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Creates the missing indexes and drops the indexes of the fields no longer indexed.
+   *
+   * @throws SQLException if the existing indexes can't be read
+   */
+  public void update() throws SQLException {
+    final SessionFactoryImplementor factory = getSessionFactory();
+    final Dialect dialect = factory.getJdbcServices().getDialect();
+    if (!(dialect instanceof JsonIndexSupport)) {
+      return;
+    }
+
+    final JsonIndexSupport support = (JsonIndexSupport) dialect;
+    final Map<String, List<String>> wanted = new HashMap<>();
+
+    for (MetaJsonField field :
+        JPA.all(MetaJsonField.class).filter("self.indexed = TRUE").order("id").fetch()) {
+      final String[] target = findTarget(field);
+      if (target == null) {
+        log.warn("Custom field {}.{} can't be indexed.", field.getModel(), field.getName());
+        continue;
+      }
+
+      final AbstractEntityPersister persister;
+      try {
+        persister =
+            (AbstractEntityPersister) factory.getMetamodel().entityPersister(field.getModel());
+      } catch (MappingException | ClassCastException e) {
+        log.warn("No such entity for custom field {}: {}", field.getName(), field.getModel());
+        continue;
+      }
+
+      final String type = target[1];
+      final String table = persister.getTableName();
+      final String expression;
+      try {
+        final String column = persister.getPropertyColumnNames(field.getModelField())[0];
+        expression = render(dialect, factory, column, target[0], type);
+      } catch (RuntimeException e) {
+        log.warn("Custom field {}.{} can't be indexed: {}", field.getModel(), field.getName(), e);
+        continue;
+      }
+      final String name =
+          JsonIndexSupport.JSON_INDEX_PREFIX
+              + Hashing.sha256()
+                  .hashString(table + ":" + expression, StandardCharsets.UTF_8)
+                  .toString()
+                  .substring(0, 16);
+
+      final List<String> commands =
+          support.getCreateJsonIndexCommands(name, table, expression, type);
+      if (commands.isEmpty()) {
+        log.warn(
+            "Custom field {}.{} of type {} can't be indexed on this database.",
+            field.getModel(),
+            field.getName(),
+            field.getType());
+        continue;
+      }
+      wanted.put(name, commands);
+    }
+
+    try (Connection connection = getConnection(factory)) {
+      connection.setAutoCommit(true);
+
+      final Map<String, String> existing = new HashMap<>();
+      final Set<String> invalid = new HashSet<>();
+      try (Statement stmt = connection.createStatement();
+          ResultSet rs = stmt.executeQuery(support.getJsonIndexesQuery())) {
+        while (rs.next()) {
+          final String name = rs.getString(1).toLowerCase();
+          existing.put(name, rs.getString(2));
+          if (!rs.getBoolean(3)) {
+            invalid.add(name);
+          }
+        }
+      }
+
+      execute(connection, getUpdateCommands(support, existing, invalid, wanted));
+    }
+  }
+
+  /**
+   * Returns the commands dropping the unwanted and invalid indexes, then creating the missing and
+   * invalid ones.
+   */
+  static List<String> getUpdateCommands(
+      JsonIndexSupport support,
+      Map<String, String> existing,
+      Set<String> invalid,
+      Map<String, List<String>> wanted) {
+    final List<String> commands = new ArrayList<>();
+
+    for (Map.Entry<String, String> entry : existing.entrySet()) {
+      if (!wanted.containsKey(entry.getKey())) {
+        log.info("Dropping json index {} on {}", entry.getKey(), entry.getValue());
+        commands.addAll(support.getDropJsonIndexCommands(entry.getKey(), entry.getValue()));
+      } else if (invalid.contains(entry.getKey())) {
+        log.info("Dropping invalid json index {} on {}", entry.getKey(), entry.getValue());
+        commands.addAll(support.getDropJsonIndexCommands(entry.getKey(), entry.getValue()));
+      }
+    }
+
+    for (Map.Entry<String, List<String>> entry : wanted.entrySet()) {
+      if (!existing.containsKey(entry.getKey()) || invalid.contains(entry.getKey())) {
+        log.info("Creating json index {}", entry.getKey());
+        commands.addAll(entry.getValue());
+      }
+    }
+
+    return commands;
+  }
+
+  /**
+   * Returns a new connection, in auto-commit mode, to the database of the current tenant.
+   *
+   * <p>Indexes are built concurrently on PostgreSQL, which isn't allowed in a transaction.
+   */
+  private static Connection getConnection(SessionFactoryImplementor factory) throws SQLException {
+    final String tenantId = TenantResolver.currentTenantIdentifier();
+    if (tenantId != null) {
+      final MultiTenantConnectionProvider provider =
+          factory.getServiceRegistry().getService(MultiTenantConnectionProvider.class);
+      if (provider != null) {
+        return provider.getConnection(tenantId);
+      }
+    }
+    return factory.getServiceRegistry().getService(ConnectionProvider.class).getConnection();
+  }
+
+  private void execute(Connection connection, List<String> commands) {
+    for (String sql : commands) {
+      try (Statement stmt = connection.createStatement()) {
+        stmt.execute(sql);
+      } catch (SQLException e) {
+        log.warn("Unable to execute: {} ({})", sql, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Renders the expression with the same function used by queries, so that the index matches
+   * their expression exactly.
+   */
+  private String render(
+      Dialect dialect,
+      SessionFactoryImplementor factory,
+      String column,
+      String attribute,
+      String type) {
+    final SQLFunction function = dialect.getFunctions().get("json_extract_" + type);
+    final List<String> args = new ArrayList<>();
+    args.add(column);
+    for (String item : attribute.split("\\.")) {
+      args.add("'" + item + "'");
+    }
+    return function.render(null, args, factory);
+  }
+
+  /** Returns the json path and type of the indexed value of the given field. */
+  private String[] findTarget(MetaJsonField field) {
+    switch (field.getType()) {
+      case "string":
+      case "enum":
+      case "date":
+      case "datetime":
+      case "time":
+        return new String[] {field.getName(), "text"};
+      case "integer":
+        return new String[] {field.getName(), "integer"};
+      case "decimal":
+        return new String[] {field.getName(), "decimal"};
+      case "many-to-one":
+      case "json-many-to-one":
+        return new String[] {field.getName() + ".id", "integer"};
+      default:
+        return null;
+    }
+  }
+}
@@ -72,7 +72,17 @@ public class MenuChecker {
     if (item.getUser() != null && item.getUser() != user) {
       return false;
     }
+    return isPermitted(item);
+  }
 
+  /**
+   * Check whether the given {@link MetaMenu} is allowed for the groups and roles of the {@link
+   * User}, regardless of the user the menu may be restricted to.
+   *
+   * @param item the meta menu to check
+   * @return true if the meta menu is allowed, false otherwise
+   */
+  public boolean isPermitted(MetaMenu item) {
     final Set<String> myGroups = menuGroups.get(item.getId());
     final Set<String> myRoles = menuRoles.get(item.getId());
 
@@ -101,6 +111,18 @@ public class MenuChecker {
     return scriptHelper.test(condition);
   }
 
+  /**
+   * Check whether the given {@link MetaMenu} is not hidden and its module to check is installed,
+   * without evaluating its condition to check
+   *
+   * @param item the meta menu to check
+   * @return true if the meta menu can be shown, false otherwise
+   */
+  public boolean isVisible(MetaMenu item) {
+    final String module = item.getModuleToCheck();
+    return !Boolean.TRUE.equals(item.getHidden()) && (isBlank(module) || isInstalled(module));
+  }
+
   /**
    * Check whether the given {@link MetaMenu} can be shown
    *
@@ -19,29 +19,50 @@
 package com.axelor.meta.service.menu;
 
 import com.axelor.app.internal.AppFilter;
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.Role;
 import com.axelor.auth.db.User;
 import com.axelor.common.ObjectUtils;
 import com.axelor.common.StringUtils;
+import com.axelor.db.tenants.TenantResolver;
 import com.axelor.inject.Beans;
+import com.axelor.meta.MetaVersion;
 import com.axelor.meta.db.MetaMenu;
 import com.axelor.meta.db.repo.MetaHelpRepository;
 import com.axelor.meta.schema.views.MenuItem;
-import com.axelor.meta.service.tags.TagsService;
+import com.axelor.script.CompositeScriptHelper;
+import com.axelor.script.ScriptBindings;
+import com.axelor.script.ScriptHelper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
-import javax.inject.Inject;
 
 public class MenuService {
 
-  @Inject private TagsService tagsService;
+  /**
+   * Menus allowed by groups and roles, cached per metadata version, tenant, group, roles, language
+   * and help preference. Menus restricted to a user and condition scripts are checked on each call.
+   *
+   * <p>The {@link MetaVersion metadata version} changes once changes to menus, helps, groups or
+   * roles are committed, so menus built from older data are never used again.
+   */
+  private static final Cache<String, List<CachedMenu>> MENUS =
+      CacheBuilder.newBuilder().maximumSize(1000).build();
 
   /**
    * Get menus for the given user
    *
+   * <p>Dynamic tags are not computed, they are fetched separately, see {@link
+   * com.axelor.meta.service.tags.TagsService}.
+   *
    * @param user the given user
    * @return list of {@link MenuItem}
    */
@@ -51,6 +72,64 @@ public class MenuService {
       return Collections.emptyList();
     }
 
+    final String key = getCacheKey(user);
+    List<CachedMenu> menus = MENUS.getIfPresent(key);
+    if (menus == null) {
+      menus = buildMenus(user);
+      MENUS.put(key, menus);
+    }
+
+    final List<MenuItem> menuItems = new ArrayList<>();
+    final Set<String> skipped = new HashSet<>();
+    ScriptHelper scriptHelper = null;
+
+    // menus are in tree order, so parents are checked before their children
+    for (CachedMenu menu : menus) {
+      boolean allowed =
+          (menu.parent == null || !skipped.contains(menu.parent))
+              && (menu.userId == null || menu.userId.equals(user.getId()));
+      if (allowed && menu.condition != null) {
+        if (scriptHelper == null) {
+          scriptHelper = new CompositeScriptHelper(new ScriptBindings(new HashMap<>()));
+        }
+        allowed = scriptHelper.test(menu.condition);
+      }
+      if (allowed) {
+        menuItems.add(menu.toMenuItem());
+      } else {
+        skipped.add(menu.name);
+      }
+    }
+
+    menuItems.sort(new MenuItemComparator());
+    return menuItems;
+  }
+
+  private String getCacheKey(User user) {
+    final StringBuilder sb = new StringBuilder();
+    sb.append(MetaVersion.get()).append(':');
+    sb.append(TenantResolver.currentTenantIdentifier()).append(':');
+    sb.append(AppFilter.getLocale().getLanguage()).append(':');
+    sb.append(Boolean.TRUE.equals(user.getNoHelp())).append(':');
+    if (AuthUtils.isAdmin(user)) {
+      return sb.append('*').toString();
+    }
+
+    final Set<String> roles = new TreeSet<>();
+    if (user.getRoles() != null) {
+      user.getRoles().stream().map(Role::getName).forEach(roles::add);
+    }
+    if (user.getGroup() != null) {
+      sb.append(user.getGroup().getCode());
+      if (user.getGroup().getRoles() != null) {
+        user.getGroup().getRoles().stream().map(Role::getName).forEach(roles::add);
+      }
+    }
+    return sb.append(':').append(String.join(",", roles)).toString();
+  }
+
+  private List<CachedMenu> buildMenus(User user) {
+
     // fetch meta menu
     final List<MetaMenu> metaMenus = MenuUtils.fetchMetaMenu(null);
     if (ObjectUtils.isEmpty(metaMenus)) {
@@ -58,8 +137,8 @@ public class MenuService {
     }
 
     final Map<String, String> helps = new HashMap<>();
-    List<MenuItem> menuItems = new ArrayList<>();
-    MenuChecker checker = new MenuChecker(metaMenus, user);
+    final List<CachedMenu> menus = new ArrayList<>();
+    final MenuChecker checker = new MenuChecker(metaMenus, user);
 
     // pre-build menu helps dictionary
     if (!Boolean.TRUE.equals(user.getNoHelp())) {
@@ -76,8 +155,8 @@ public class MenuService {
           /** Check whether the node can be visited */
           @Override
           public MenuNodeResult preChildVisit(MenuNode childNode) {
-            if (checker.isAllowed(childNode.getMetaMenu())
-                && checker.canShow(childNode.getMetaMenu())) {
+            if (checker.isPermitted(childNode.getMetaMenu())
+                && checker.isVisible(childNode.getMetaMenu())) {
               return MenuNodeResult.CONTINUE;
             }
             return MenuNodeResult.TERMINATE;
@@ -87,14 +166,14 @@ public class MenuService {
           @Override
           public MenuNodeResult visit(MenuNode node) {
             if (!node.isRoot()) {
-              menuItems.add(buildMenuItem(node.getMetaMenu(), helps));
+              final MetaMenu menu = node.getMetaMenu();
+              menus.add(new CachedMenu(menu, helps.get(menu.getName())));
             }
             return MenuNodeResult.CONTINUE;
           }
         });
 
-    menuItems.sort(new MenuItemComparator());
-    return menuItems;
+    return Collections.unmodifiableList(menus);
   }
 
   private Map<String, String> getHelps() {
@@ -111,44 +190,79 @@ public class MenuService {
         .collect(Collectors.toMap(s -> (String) s.get("key"), s -> (String) s.get("value")));
   }
 
-  /**
-   * Create {@link MenuItem} from {@link MetaMenu}
-   *
-   * @param menu the {@link MetaMenu}
-   * @param helps helps dictionary
-   * @return created {@link MenuItem}
-   */
-  private MenuItem buildMenuItem(MetaMenu menu, Map<String, String> helps) {
-
-    MenuItem item = new MenuItem();
-    item.setName(menu.getName());
-    item.setOrder(menu.getOrder());
-    item.setTitle(menu.getTitle());
-    item.setIcon(menu.getIcon());
-    item.setIconBackground(menu.getIconBackground());
-    item.setHasTag(menu.getTagCount() || StringUtils.notEmpty(menu.getTagGet()));
-    item.setTagStyle(menu.getTagStyle());
-    item.setTop(menu.getTop());
-    item.setLeft(menu.getLeft());
-    item.setMobile(menu.getMobile());
-    item.setHidden(menu.getHidden());
-    item.setModuleToCheck(menu.getModuleToCheck());
-    item.setConditionToCheck(menu.getConditionToCheck());
-
-    if (helps.containsKey(menu.getName())) {
-      item.setHelp(helps.get(menu.getName()));
-    }
+  /** The values of a {@link MetaMenu}, from which each call builds its own {@link MenuItem}. */
+  private static final class CachedMenu {
 
-    if (menu.getParent() != null) {
-      item.setParent(menu.getParent().getName());
-    }
+    private final String name;
+    private final Integer order;
+    private final String title;
+    private final String icon;
+    private final String iconBackground;
+    private final boolean hasTag;
+    private final String tagStyle;
+    private final Boolean top;
+    private final Boolean left;
+    private final Boolean mobile;
+    private final Boolean hidden;
+    private final String moduleToCheck;
+    private final String conditionToCheck;
+    private final String help;
+    private final String parent;
+    private final String action;
+    private final String tag;
+    private final Long userId;
+    private final String condition;
 
-    if (menu.getAction() != null) {
-      item.setAction(menu.getAction().getName());
+    CachedMenu(MetaMenu menu, String help) {
+      this.name = menu.getName();
+      this.order = menu.getOrder();
+      this.title = menu.getTitle();
+      this.icon = menu.getIcon();
+      this.iconBackground = menu.getIconBackground();
+      this.hasTag = menu.getTagCount() || StringUtils.notEmpty(menu.getTagGet());
+      this.tagStyle = menu.getTagStyle();
+      this.top = menu.getTop();
+      this.left = menu.getLeft();
+      this.mobile = menu.getMobile();
+      this.hidden = menu.getHidden();
+      this.moduleToCheck = menu.getModuleToCheck();
+      this.conditionToCheck = menu.getConditionToCheck();
+      this.help = help;
+      this.parent = menu.getParent() == null ? null : menu.getParent().getName();
+      this.action = menu.getAction() == null ? null : menu.getAction().getName();
+      this.tag = menu.getTag();
+      this.userId = menu.getUser() == null ? null : menu.getUser().getId();
+      this.condition =
+          StringUtils.isBlank(menu.getConditionToCheck()) ? null : menu.getConditionToCheck();
     }
 
-    item.setTag(tagsService.getTagValue(menu));
-
-    return item;
+    /**
+     * Create a new {@link MenuItem}, as callers may modify it.
+     *
+     * @return created {@link MenuItem}
+     */
+    MenuItem toMenuItem() {
+      final MenuItem item = new MenuItem();
+      item.setName(name);
+      item.setOrder(order);
+      item.setTitle(title);
+      item.setIcon(icon);
+      item.setIconBackground(iconBackground);
+      item.setHasTag(hasTag);
+      item.setTagStyle(tagStyle);
+      item.setTop(top);
+      item.setLeft(left);
+      item.setMobile(mobile);
+      item.setHidden(hidden);
+      item.setModuleToCheck(moduleToCheck);
+      item.setConditionToCheck(conditionToCheck);
+      if (help != null) {
+        item.setHelp(help);
+      }
+      item.setParent(parent);
+      item.setAction(action);
+      item.setTag(tag);
+      return item;
+    }
   }
 }
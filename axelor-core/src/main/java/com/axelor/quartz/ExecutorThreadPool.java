@@ -0,0 +1,131 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.quartz;
+
+import com.axelor.app.AppExecutor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.quartz.spi.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The quartz {@link ThreadPool} that runs the jobs with the shared {@link AppExecutor}.
+ *
+ * <p>At most <code>threadCount</code> jobs run at the same time, the scheduler waits for one of
+ * them to complete before firing the next triggers. If the executor is saturated, the job waits
+ * until it is accepted.
+ */
+public class ExecutorThreadPool implements ThreadPool {
+
+  private static final Logger log = LoggerFactory.getLogger(ExecutorThreadPool.class);
+
+  private static final long RETRY_DELAY = 100;
+
+  private int threadCount = 3;
+
+  private Semaphore permits;
+
+  private volatile boolean shutdown;
+
+  public void setThreadCount(int threadCount) {
+    this.threadCount = threadCount;
+  }
+
+  @Override
+  public void initialize() {
+    permits = new Semaphore(Math.max(1, threadCount));
+  }
+
+  @Override
+  public boolean runInThread(Runnable runnable) {
+    if (runnable == null || shutdown) {
+      return false;
+    }
+    permits.acquireUninterruptibly();
+    final Runnable job =
+        () -> {
+          try {
+            runnable.run();
+          } finally {
+            permits.release();
+          }
+        };
+
+    // like SimpleThreadPool, wait for the executor instead of failing the fired triggers
+    boolean warned = false;
+    while (!shutdown) {
+      try {
+        AppExecutor.execute(job);
+        return true;
+      } catch (RejectedExecutionException e) {
+        if (!warned) {
+          log.warn("Executor is saturated, waiting to run scheduled job: {}", e.getMessage());
+          warned = true;
+        }
+      }
+      try {
+        Thread.sleep(RETRY_DELAY);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    permits.release();
+    return false;
+  }
+
+  @Override
+  public int blockForAvailableThreads() {
+    while (!shutdown) {
+      try {
+        if (permits.tryAcquire(500, TimeUnit.MILLISECONDS)) {
+          permits.release();
+          return Math.max(1, permits.availablePermits());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    return 0;
+  }
+
+  @Override
+  public void shutdown(boolean waitForJobsToComplete) {
+    shutdown = true;
+    if (waitForJobsToComplete && permits != null) {
+      final int count = Math.max(1, threadCount);
+      permits.acquireUninterruptibly(count);
+      permits.release(count);
+    }
+  }
+
+  @Override
+  public int getPoolSize() {
+    return Math.max(1, threadCount);
+  }
+
+  @Override
+  public void setInstanceId(String schedInstId) {}
+
+  @Override
+  public void setInstanceName(String schedName) {}
+}
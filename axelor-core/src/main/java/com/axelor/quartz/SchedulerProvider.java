@@ -39,6 +39,8 @@ class SchedulerProvider implements Provider<Scheduler> {
 
   private static final String THREAD_COUNT_SET = "org.quartz.threadPool.threadCount";
 
+  private static final String THREAD_POOL_CLASS = "org.quartz.threadPool.class";
+
   @Inject private GuiceJobFactory jobFactory;
 
   @Inject private JobCleaner jobCleaner;
@@ -47,6 +49,7 @@ class SchedulerProvider implements Provider<Scheduler> {
   public Scheduler get() {
 
     Properties cfg = new Properties();
+    cfg.put(THREAD_POOL_CLASS, ExecutorThreadPool.class.getName());
     cfg.put(
         THREAD_COUNT_SET,
         AppSettings.get().get(AvailableAppSettings.QUARTZ_THREAD_COUNT, DEFAULT_THREAD_COUNT));
@@ -28,12 +28,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.inject.Inject;
@@ -53,6 +55,8 @@ import org.eclipse.birt.report.model.api.IResourceLocator;
 /** The report generator service. */
 public class ReportGenerator {
 
+  private static final Map<String, CachedDesign> DESIGNS = new ConcurrentHashMap<>();
+
   @Inject private IReportEngine engine;
 
   /**
@@ -91,6 +95,54 @@ public class ReportGenerator {
       Locale locale)
       throws IOException, BirtException {
 
+    final IReportRunnable report = openReportDesign(designName);
+
+    final IRunAndRenderTask task = engine.createRunAndRenderTask(report);
+    final IRenderOption opts = new RenderOption();
+
+    opts.setOutputFormat(format);
+    opts.setOutputStream(output);
+
+    if (IRenderOption.OUTPUT_FORMAT_PDF.equals(format)) {
+      opts.setOption(IPDFRenderOption.PDF_HYPHENATION, true);
+    }
+
+    task.setLocale(locale);
+    task.setRenderOption(opts);
+    task.setParameterValues(params);
+
+    task.getAppContext()
+        .put(EngineConstants.APPCONTEXT_CLASSLOADER_KEY, getClass().getClassLoader());
+    task.getAppContext().put(IConnectionFactory.CLOSE_PASS_IN_CONNECTION, Boolean.FALSE);
+
+    JPA.jdbcWork(
+        new JPA.JDBCWork() {
+
+          @Override
+          public void execute(Connection connection) throws SQLException {
+            task.getAppContext().put(IConnectionFactory.PASS_IN_CONNECTION, connection);
+            try {
+              task.run();
+            } catch (EngineException e) {
+              throw new RuntimeException(e);
+            } finally {
+              task.close();
+            }
+          }
+        });
+  }
+
+  /**
+   * Returns the parsed report design, reusing the one parsed by a previous run unless the design
+   * file was modified since.
+   *
+   * @param designName report design
+   * @return the report design
+   * @throws IOException if an I/O exception occurs
+   * @throws BirtException if the design can't be found or parsed
+   */
+  protected IReportRunnable openReportDesign(String designName)
+      throws IOException, BirtException {
     final IResourceLocator locator = engine.getConfig().getResourceLocator();
     final URL found = locator.findResource(null, designName, IResourceLocator.OTHERS);
 
@@ -98,42 +150,46 @@ public class ReportGenerator {
       throw new BirtException("No such report found: " + designName);
     }
 
-    try (InputStream stream = found.openStream()) {
+    final long lastModified = lastModified(found);
+    final CachedDesign cached = DESIGNS.get(designName);
+    if (cached != null
+        && cached.engine == engine
+        && cached.url.equals(found.toString())
+        && cached.lastModified == lastModified) {
+      return cached.report;
+    }
 
+    try (InputStream stream = found.openStream()) {
       final IReportRunnable report = engine.openReportDesign(designName, stream);
-      final IRunAndRenderTask task = engine.createRunAndRenderTask(report);
-      final IRenderOption opts = new RenderOption();
+      DESIGNS.put(designName, new CachedDesign(engine, found.toString(), lastModified, report));
+      return report;
+    }
+  }
 
-      opts.setOutputFormat(format);
-      opts.setOutputStream(output);
+  private static long lastModified(URL url) {
+    if (!"file".equals(url.getProtocol())) {
+      // designs packaged in jars can't change without a restart
+      return 0L;
+    }
+    try {
+      return new File(url.toURI()).lastModified();
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return -1L;
+    }
+  }
 
-      if (IRenderOption.OUTPUT_FORMAT_PDF.equals(format)) {
-        opts.setOption(IPDFRenderOption.PDF_HYPHENATION, true);
-      }
+  private static class CachedDesign {
 
-      task.setLocale(locale);
-      task.setRenderOption(opts);
-      task.setParameterValues(params);
-
-      task.getAppContext()
-          .put(EngineConstants.APPCONTEXT_CLASSLOADER_KEY, getClass().getClassLoader());
-      task.getAppContext().put(IConnectionFactory.CLOSE_PASS_IN_CONNECTION, Boolean.FALSE);
-
-      JPA.jdbcWork(
-          new JPA.JDBCWork() {
-
-            @Override
-            public void execute(Connection connection) throws SQLException {
-              task.getAppContext().put(IConnectionFactory.PASS_IN_CONNECTION, connection);
-              try {
-                task.run();
-              } catch (EngineException e) {
-                throw new RuntimeException(e);
-              } finally {
-                task.close();
-              }
-            }
-          });
+    private final IReportEngine engine;
+    private final String url;
+    private final long lastModified;
+    private final IReportRunnable report;
+
+    CachedDesign(IReportEngine engine, String url, long lastModified, IReportRunnable report) {
+      this.engine = engine;
+      this.url = url;
+      this.lastModified = lastModified;
+      this.report = report;
     }
   }
 
@@ -0,0 +1,150 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.report;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps track of a report rendered in background.
+ *
+ * @see ReportQueue
+ */
+public class ReportJob {
+
+  public enum Status {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+  }
+
+  private final String id = UUID.randomUUID().toString();
+
+  private final String designName;
+
+  private final String format;
+
+  private final String fileName;
+
+  private final String owner;
+
+  private volatile Status status = Status.PENDING;
+
+  private volatile String link;
+
+  private volatile String error;
+
+  private final long submitTime = System.currentTimeMillis();
+
+  private volatile long startTime;
+
+  private volatile long endTime;
+
+  ReportJob(String designName, String format, String fileName, String owner) {
+    this.designName = designName;
+    this.format = format;
+    this.fileName = fileName;
+    this.owner = owner;
+  }
+
+  void start() {
+    this.startTime = System.currentTimeMillis();
+    this.status = Status.RUNNING;
+  }
+
+  void finish(Status status, String link, String error) {
+    this.link = link;
+    this.error = error;
+    this.endTime = System.currentTimeMillis();
+    this.status = status;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getDesignName() {
+    return designName;
+  }
+
+  public String getFormat() {
+    return format;
+  }
+
+  /** The name of the output file, as shown to the user. */
+  public String getFileName() {
+    return fileName;
+  }
+
+  /** The code of the user who submitted the report. */
+  public String getOwner() {
+    return owner;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  /** The name of the rendered temporary file, once done. */
+  public String getLink() {
+    return link;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  /** Whether the report is done or failed. */
+  public boolean isCompleted() {
+    return endTime > 0;
+  }
+
+  /** The time in milliseconds the report waited in the queue. */
+  public long getWaitTime() {
+    return (startTime > 0 ? startTime : System.currentTimeMillis()) - submitTime;
+  }
+
+  /** The elapsed time in milliseconds since the report was submitted. */
+  public long getElapsedTime() {
+    return (isCompleted() ? endTime : System.currentTimeMillis()) - submitTime;
+  }
+
+  long getEndTime() {
+    return endTime;
+  }
+
+  public Map<String, Object> toMap() {
+    final Map<String, Object> map = new HashMap<>();
+    map.put("id", id);
+    map.put("status", status);
+    map.put("reportFile", fileName);
+    map.put("reportFormat", format);
+    map.put("wait", getWaitTime());
+    map.put("elapsed", getElapsedTime());
+    if (link != null) {
+      map.put("reportLink", link);
+    }
+    if (error != null) {
+      map.put("error", error);
+    }
+    return map;
+  }
+}
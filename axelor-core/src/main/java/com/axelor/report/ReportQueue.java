@@ -0,0 +1,247 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.report;
+
+import com.axelor.app.AppExecutor;
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
+import com.axelor.db.JPA;
+import com.axelor.i18n.I18n;
+import com.axelor.report.ReportJob.Status;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import org.eclipse.birt.core.exception.BirtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Renders reports in background.
+ *
+ * <p>Reports are rendered by a fixed number of workers, so that large batches of reports neither
+ * hold the request threads nor more database connections than there are workers. The number of
+ * waiting reports is bounded, in total and per user. The status of a report can be followed with
+ * {@link #get(String)}.
+ *
+ * <p>When <code>reports.cache.expire-time</code> is set, a rendered report is reused for the same
+ * user, design, format, locale and parameters until it expires, see {@link #render(String, String,
+ * Map, Locale)}.
+ */
+@Singleton
+public class ReportQueue {
+
+  private static final Logger log = LoggerFactory.getLogger(ReportQueue.class);
+
+  private static final long RETENTION = TimeUnit.HOURS.toMillis(1);
+
+  private static final int CACHE_SIZE = 500;
+
+  private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+  private final Provider<ReportGenerator> generator;
+
+  private final ThreadPoolExecutor executor;
+
+  private final int userLimit;
+
+  private final Cache<String, File> outputs;
+
+  @Inject
+  public ReportQueue(Provider<ReportGenerator> generator) {
+    final AppSettings settings = AppSettings.get();
+    final AtomicInteger counter = new AtomicInteger();
+    final int threads = Math.max(1, settings.getInt(AvailableAppSettings.REPORTS_QUEUE_THREADS, 2));
+    final int size = Math.max(1, settings.getInt(AvailableAppSettings.REPORTS_QUEUE_SIZE, 100));
+    final int expireTime = settings.getInt(AvailableAppSettings.REPORTS_CACHE_EXPIRE_TIME, 0);
+
+    this.generator = generator;
+    this.userLimit = settings.getInt(AvailableAppSettings.REPORTS_QUEUE_USER_LIMIT, 5);
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(size),
+            r -> {
+              final Thread thread = new Thread(r, "report-" + counter.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.outputs =
+        expireTime <= 0
+            ? null
+            : CacheBuilder.newBuilder()
+                .maximumSize(CACHE_SIZE)
+                .expireAfterWrite(expireTime, TimeUnit.SECONDS)
+                .build();
+  }
+
+  /**
+   * Renders a report to a temporary file, reusing one rendered for the current user if cached.
+   *
+   * @param designName report design name
+   * @param format output format
+   * @param params report parameters
+   * @param locale report output language
+   * @return the rendered file
+   * @throws IOException if an I/O exception occurs
+   * @throws BirtException if rendering fails
+   */
+  public File render(String designName, String format, Map<String, Object> params, Locale locale)
+      throws IOException, BirtException {
+    final String key =
+        outputs == null ? null : toKey(AuthUtils.getUser(), designName, format, params, locale);
+    if (key != null) {
+      final File cached = outputs.getIfPresent(key);
+      if (cached != null && cached.isFile()) {
+        return cached;
+      }
+    }
+    final File output = generator.get().generate(designName, format, params, locale);
+    if (key != null) {
+      outputs.put(key, output);
+    }
+    return output;
+  }
+
+  /**
+   * Submits a report to be rendered in background.
+   *
+   * @param designName report design name
+   * @param format output format
+   * @param params report parameters
+   * @param locale report output language
+   * @param fileName the name of the output file, as shown to the user
+   * @param onDone called in a transaction with the rendered file, may be null
+   * @return the report job
+   * @throws IllegalStateException if the user or the queue has too many pending reports
+   */
+  public ReportJob submit(
+      String designName,
+      String format,
+      Map<String, Object> params,
+      Locale locale,
+      String fileName,
+      Consumer<File> onDone) {
+    final User user = AuthUtils.getUser();
+    final String owner = user == null ? null : user.getCode();
+    final ReportJob job = new ReportJob(designName, format, fileName, owner);
+
+    purge();
+    synchronized (jobs) {
+      if (owner != null && userLimit > 0 && countPending(owner) >= userLimit) {
+        throw new IllegalStateException(
+            I18n.get("Too many reports are being generated, please wait for them to complete."));
+      }
+      jobs.put(job.getId(), job);
+    }
+
+    // bound to the tenant and the subject of the caller, the unit of work is ended once done
+    final Runnable task = AppExecutor.wrap(() -> run(job, params, locale, onDone));
+
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      jobs.remove(job.getId());
+      throw new IllegalStateException(
+          I18n.get("Too many reports are waiting to be generated, please try again later."), e);
+    }
+
+    return job;
+  }
+
+  /**
+   * Returns the report job with the given id, if submitted by the current user.
+   *
+   * @param id the job id
+   * @return the job, or null if not found
+   */
+  public ReportJob get(String id) {
+    purge();
+    final ReportJob job = id == null ? null : jobs.get(id);
+    if (job == null) {
+      return null;
+    }
+    final User user = AuthUtils.getUser();
+    if (user == null || AuthUtils.isAdmin(user) || user.getCode().equals(job.getOwner())) {
+      return job;
+    }
+    return null;
+  }
+
+  private void run(
+      ReportJob job, Map<String, Object> params, Locale locale, Consumer<File> onDone) {
+    job.start();
+    try {
+      final File output = render(job.getDesignName(), job.getFormat(), params, locale);
+      if (onDone != null) {
+        JPA.runInTransaction(() -> onDone.accept(output));
+      }
+      job.finish(Status.DONE, output.getName(), null);
+    } catch (Exception e) {
+      log.error("Report {} failed: {}", job.getDesignName(), e, e);
+      job.finish(Status.FAILED, null, e.getMessage());
+    }
+    log.debug(
+        "Report {}: {} (waited {} ms, {} ms in total)",
+        job.getDesignName(),
+        job.getStatus(),
+        job.getWaitTime(),
+        job.getElapsedTime());
+  }
+
+  private long countPending(String owner) {
+    return jobs.values().stream()
+        .filter(job -> !job.isCompleted() && owner.equals(job.getOwner()))
+        .count();
+  }
+
+  private static String toKey(
+      User user, String designName, String format, Map<String, Object> params, Locale locale) {
+    return String.join(
+        "|",
+        user == null ? "" : user.getCode(),
+        designName,
+        format,
+        locale == null ? "" : locale.toLanguageTag(),
+        String.valueOf(params == null ? null : new TreeMap<>(params)));
+  }
+
+  private void purge() {
+    final long now = System.currentTimeMillis();
+    jobs.values().removeIf(job -> job.isCompleted() && now - job.getEndTime() > RETENTION);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.rpc;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A request to execute several actions, in order, with the same context.
+ *
+ * <p>The context values are built once from the {@link #getData() data} of the batch request. Each
+ * action gets a new context with these values and the extra context values of its action request,
+ * like <code>_source</code> or <code>_signal</code>, which are not seen by the following actions.
+ * The values set by an action are kept in the batch context, so they are seen by the following
+ * ones.
+ */
+public class ActionBatchRequest extends Request {
+
+  private List<ActionRequest> actions;
+
+  private Map<String, Object> values;
+
+  public List<ActionRequest> getActions() {
+    return actions;
+  }
+
+  public void setActions(List<ActionRequest> actions) {
+    this.actions = actions;
+  }
+
+  private Map<String, Object> getValues() {
+    if (values == null) {
+      values = getRawContext();
+    }
+    return values;
+  }
+
+  /**
+   * Create the request to execute the action of the given item with the batch context.
+   *
+   * @param item the action request of the batch
+   * @return an {@link ActionRequest} with the batch data and a new context
+   */
+  public ActionRequest toRequest(ActionRequest item) {
+    final ActionRequest request = new ActionRequest();
+    final Context context = getContext();
+
+    request.setModel(item.getModel() == null ? getModel() : item.getModel());
+    request.setAction(item.getAction());
+    request.setData(getData());
+
+    if (context != null) {
+      final Map<String, Object> itemValues = new HashMap<>(getValues());
+      itemValues.putAll(item.getRawContext());
+      request.setContext(new Context(itemValues, context.getContextClass()));
+    }
+
+    return request;
+  }
+
+  /**
+   * Keep the context values set by the executed action in the batch context, without the extra
+   * context values of its item.
+   *
+   * @param item the action request of the batch
+   * @param request the executed request, created with {@link #toRequest(ActionRequest)}
+   */
+  public void update(ActionRequest item, ActionRequest request) {
+    final Context context = request.getContext();
+    if (context == null) {
+      return;
+    }
+    final Map<String, Object> extra = item.getRawContext();
+    final Map<String, Object> batchValues = getValues();
+    final Map<String, Object> itemValues = new HashMap<>(context);
+    itemValues.forEach(
+        (name, value) -> {
+          // json contexts are bound to the item context, their values are kept in their field
+          if (value instanceof JsonContext) {
+            return;
+          }
+          if (!extra.containsKey(name) || !Objects.equals(extra.get(name), value)) {
+            batchValues.put(name, value);
+          }
+        });
+  }
+}
@@ -24,16 +24,24 @@ import com.axelor.db.Model;
 import com.axelor.db.mapper.Mapper;
 import com.axelor.db.mapper.Property;
 import com.axelor.meta.db.MetaJsonRecord;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.ForwardingList;
+import com.google.common.collect.ForwardingSet;
 import com.google.common.primitives.Longs;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -146,40 +154,112 @@ public class ContextHandler<T> {
   }
 
   @SuppressWarnings("unchecked")
-  private Object createOrFind(Property property, Object item) {
+  private Long findReferenceId(Object item) {
+    if (item instanceof Number) {
+      return ((Number) item).longValue();
+    }
+    if (item instanceof Map) {
+      final Map<String, Object> map = (Map<String, Object>) item;
+      final Long id = findId(map);
+      return id == null || id <= 0 || map.containsKey(FIELD_VERSION) ? null : id;
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object createOrFind(Property property, Object item, Map<Long, Object> loaded) {
     if (item == null || item instanceof Model) {
       return item;
     }
     if (item instanceof Map) {
       final Map<String, Object> map = (Map<String, Object>) item;
-      final Long id = findId(map);
+      final Long id = findReferenceId(map);
       // if new or updated, create proxy
-      if (id == null || id <= 0 || map.containsKey(FIELD_VERSION)) {
+      if (id == null) {
         return ContextHandlerFactory.newHandler(property.getTarget(), map).getProxy();
       }
       // use managed instance
-      final Object bean = JPA.em().find(property.getTarget(), id);
+      final Object bean =
+          loaded.containsKey(id) ? loaded.get(id) : JPA.em().find(property.getTarget(), id);
       if (map.containsKey(FIELD_SELECTED)) {
         Mapper.of(property.getTarget()).set(bean, FIELD_SELECTED, map.get(FIELD_SELECTED));
       }
       return bean;
     }
     if (item instanceof Number) {
-      return JPA.em().find(property.getTarget(), item);
+      final Long id = ((Number) item).longValue();
+      return loaded.containsKey(id) ? loaded.get(id) : JPA.em().find(property.getTarget(), item);
     }
     throw new IllegalArgumentException("Invalid collection item for field: " + property.getName());
   }
 
+  /**
+   * Resolves the items of a collection field, loading all the existing records with one query.
+   */
+  @SuppressWarnings("unchecked")
+  private List<Object> findAll(Property property, Collection<?> items) {
+    final List<Long> ids =
+        items.stream()
+            .map(this::findReferenceId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    final Map<Long, Object> loaded = new HashMap<>();
+    if (ids.size() > 1) {
+      final Class<? extends Model> target = (Class<? extends Model>) property.getTarget();
+      for (Model bean : JPA.findByIds(target, ids)) {
+        if (bean != null) {
+          loaded.put(bean.getId(), bean);
+        }
+      }
+    }
+    return items.stream()
+        .map(item -> createOrFind(property, item, loaded))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns a collection resolving its items only when first used, or null if the field type is
+   * not supported.
+   */
+  private Collection<Object> findAllLazy(Class<?> type, Property property, Collection<?> items) {
+    final Supplier<List<Object>> resolved = Suppliers.memoize(() -> findAll(property, items));
+    if (type.isAssignableFrom(List.class)) {
+      return new ForwardingList<Object>() {
+        private List<Object> delegate;
+
+        @Override
+        protected List<Object> delegate() {
+          if (delegate == null) {
+            delegate = new ArrayList<>(resolved.get());
+          }
+          return delegate;
+        }
+      };
+    }
+    if (type.isAssignableFrom(Set.class)) {
+      return new ForwardingSet<Object>() {
+        private Set<Object> delegate;
+
+        @Override
+        protected Set<Object> delegate() {
+          if (delegate == null) {
+            delegate = new LinkedHashSet<>(resolved.get());
+          }
+          return delegate;
+        }
+      };
+    }
+    return null;
+  }
+
   Object validate(Property property, Object value) {
     if (property == null) {
       return value;
     }
     if (property.isCollection() && value instanceof Collection) {
-      value =
-          ((Collection<?>) value)
-              .stream().map(item -> createOrFind(property, item)).collect(Collectors.toList());
+      value = findAll(property, (Collection<?>) value);
     } else if (property.isReference()) {
-      value = createOrFind(property, value);
+      value = createOrFind(property, value, Collections.emptyMap());
     }
     return value;
   }
@@ -191,11 +271,29 @@ public class ContextHandler<T> {
       return;
     }
 
-    final Object value = validate(property, values.get(property.getName()));
+    final Object raw = values.get(property.getName());
     final Object bean = getUnmanagedEntity();
 
+    // resolve collection items only when the collection is used
+    final Method setter = beanMapper.getSetter(property.getName());
+    if (setter != null && property.isCollection() && raw instanceof Collection) {
+      final Collection<Object> lazy =
+          findAllLazy(setter.getParameterTypes()[0], property, (Collection<?>) raw);
+      if (lazy != null) {
+        try {
+          setter.invoke(bean, lazy);
+        } catch (Exception e) {
+          throw new IllegalArgumentException(e);
+        }
+        validated.add(property.getName());
+        return;
+      }
+    }
+
+    final Object value = validate(property, raw);
+
     Mapper mapper = beanMapper;
-    if (mapper.getSetter(property.getName()) == null && bean instanceof AuditableModel) {
+    if (setter == null && bean instanceof AuditableModel) {
       mapper = Mapper.of(AuditableModel.class);
     }
 
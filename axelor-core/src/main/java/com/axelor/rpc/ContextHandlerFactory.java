@@ -29,14 +29,20 @@ import static net.bytebuddy.matcher.ElementMatchers.isPublic;
 import static net.bytebuddy.matcher.ElementMatchers.isSetter;
 import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
 
+import com.axelor.app.AppExecutor;
 import com.axelor.db.mapper.Mapper;
 import com.axelor.db.mapper.Property;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import javax.persistence.Entity;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.dynamic.DynamicType.Builder;
@@ -70,13 +76,33 @@ public final class ContextHandlerFactory {
   }
 
   /**
-   * Asynchronously refresh proxy cache.
+   * Refresh proxy cache, the proxy classes are created in parallel.
    *
    * @param models the entity classes for which proxy classes are required
    */
   public static void refresh(Collection<Class<?>> models) {
     PROXY_CACHE.invalidateAll();
-    models.parallelStream().filter(ContextHandlerFactory::isEntity).forEach(PROXY_CACHE::refresh);
+    final List<Future<?>> futures = new ArrayList<>();
+    for (Class<?> model : models) {
+      if (!isEntity(model)) {
+        continue;
+      }
+      try {
+        futures.add(AppExecutor.submit(() -> PROXY_CACHE.refresh(model)));
+      } catch (RejectedExecutionException e) {
+        PROXY_CACHE.refresh(model);
+      }
+    }
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (ExecutionException e) {
+        // the proxy class will be created on first use
+      }
+    }
   }
 
   private static boolean hasJsonFields(Class<?> beanClass) {
@@ -0,0 +1,160 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.rpc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of a mass update or removal running in background.
+ *
+ * @see MassOperationService
+ */
+public class MassOperation {
+
+  public enum Type {
+    UPDATE,
+    REMOVE
+  }
+
+  public enum Status {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED,
+    CANCELED
+  }
+
+  private final String id = UUID.randomUUID().toString();
+
+  private final String model;
+
+  private final Type type;
+
+  private final String owner;
+
+  private final AtomicLong processed = new AtomicLong();
+
+  private volatile long total;
+
+  private volatile Status status = Status.PENDING;
+
+  private volatile String error;
+
+  private volatile boolean cancelRequested;
+
+  private final long startTime = System.currentTimeMillis();
+
+  private volatile long endTime;
+
+  MassOperation(String model, Type type, String owner) {
+    this.model = model;
+    this.type = type;
+    this.owner = owner;
+  }
+
+  void start(long total) {
+    this.total = total;
+    this.status = Status.RUNNING;
+  }
+
+  void progress(long count) {
+    processed.addAndGet(count);
+  }
+
+  void finish(Status status, String error) {
+    this.status = status;
+    this.error = error;
+    this.endTime = System.currentTimeMillis();
+  }
+
+  void cancel() {
+    cancelRequested = true;
+  }
+
+  boolean isCancelRequested() {
+    return cancelRequested;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getModel() {
+    return model;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  /** The code of the user who started the operation. */
+  public String getOwner() {
+    return owner;
+  }
+
+  /** The number of records processed so far. */
+  public long getProcessed() {
+    return processed.get();
+  }
+
+  /** The number of matched records when the operation started. */
+  public long getTotal() {
+    return total;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  /** Whether the operation is done, failed or canceled. */
+  public boolean isCompleted() {
+    return endTime > 0;
+  }
+
+  /** The elapsed time in milliseconds. */
+  public long getElapsedTime() {
+    return (isCompleted() ? endTime : System.currentTimeMillis()) - startTime;
+  }
+
+  long getEndTime() {
+    return endTime;
+  }
+
+  public Map<String, Object> toMap() {
+    final Map<String, Object> map = new HashMap<>();
+    map.put("id", id);
+    map.put("model", model);
+    map.put("type", type);
+    map.put("status", status);
+    map.put("processed", getProcessed());
+    map.put("total", total);
+    map.put("elapsed", getElapsedTime());
+    if (error != null) {
+      map.put("error", error);
+    }
+    return map;
+  }
+}
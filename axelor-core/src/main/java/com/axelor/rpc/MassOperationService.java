@@ -0,0 +1,305 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.rpc;
+
+import com.axelor.app.AppExecutor;
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
+import com.axelor.db.JPA;
+import com.axelor.db.JpaRepository;
+import com.axelor.db.JpaSecurity;
+import com.axelor.db.Model;
+import com.axelor.db.Query;
+import com.axelor.db.mapper.Mapper;
+import com.axelor.db.mapper.Property;
+import com.axelor.dms.db.DMSFile;
+import com.axelor.rpc.MassOperation.Status;
+import com.axelor.rpc.MassOperation.Type;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import javax.persistence.EntityListeners;
+import org.hibernate.search.annotations.Indexed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs mass updates and removals in background.
+ *
+ * <p>The matched records are processed in chunks of ids, ordered by id, each chunk in its own
+ * transaction, so neither the request nor the persistence context depends on the number of
+ * records. The progress can be followed with {@link #get(String)} and an operation can be stopped
+ * with {@link #cancel(String)}; the chunks already processed are kept.
+ *
+ * <p>Operations run with the shared {@link AppExecutor}, and each chunk is checked against the
+ * write or remove permission of the user who started the operation.
+ */
+@Singleton
+public class MassOperationService {
+
+  private static final Logger log = LoggerFactory.getLogger(MassOperationService.class);
+
+  private static final long RETENTION = TimeUnit.HOURS.toMillis(1);
+
+  private final Map<String, MassOperation> operations = new ConcurrentHashMap<>();
+
+  private final Provider<JpaSecurity> security;
+
+  private final int chunkSize;
+
+  @Inject
+  public MassOperationService(Provider<JpaSecurity> security) {
+    this.security = security;
+    this.chunkSize = AppSettings.get().getInt(AvailableAppSettings.MASS_OPERATION_CHUNK_SIZE, 1000);
+  }
+
+  /**
+   * Updates the records matched by the given query in background.
+   *
+   * @param query the query matching the records to update
+   * @param values the field values to set
+   * @return the operation
+   * @throws RejectedExecutionException if the executor is saturated
+   * @see Query#update(Map, User)
+   */
+  public MassOperation update(Query<?> query, Map<String, Object> values) {
+    return update(query, values, null);
+  }
+
+  /**
+   * Updates the records matched by the given query in background.
+   *
+   * @param query the query matching the records to update
+   * @param values the field values to set
+   * @param listener called in background once the operation is completed, can be null
+   * @return the operation
+   * @throws RejectedExecutionException if the executor is saturated
+   * @see Query#update(Map, User)
+   */
+  public MassOperation update(
+      Query<?> query, Map<String, Object> values, Consumer<MassOperation> listener) {
+    final Class<? extends Model> model = query.getBeanClass();
+    final User user = AuthUtils.getUser();
+    return submit(
+        model,
+        Type.UPDATE,
+        query,
+        ids -> {
+          security.get().check(JpaSecurity.CAN_WRITE, model, ids.toArray(new Long[0]));
+          Query.of(model).filter("self.id IN (:ids)").bind("ids", ids).update(values, user);
+        },
+        listener);
+  }
+
+  /**
+   * Removes the records matched by the given query in background.
+   *
+   * <p>Records are removed through their repository, so that its logic and the entity listeners
+   * apply. If the model has no such logic, no collections and isn't indexed, records are deleted
+   * with bulk statements instead.
+   *
+   * @param query the query matching the records to remove
+   * @return the operation
+   * @throws RejectedExecutionException if the executor is saturated
+   */
+  public MassOperation remove(Query<?> query) {
+    return remove(query, null);
+  }
+
+  /**
+   * Removes the records matched by the given query in background, see {@link #remove(Query)}.
+   *
+   * @param query the query matching the records to remove
+   * @param listener called in background once the operation is completed, can be null
+   * @return the operation
+   * @throws RejectedExecutionException if the executor is saturated
+   */
+  public MassOperation remove(Query<?> query, Consumer<MassOperation> listener) {
+    final Class<? extends Model> model = query.getBeanClass();
+    final boolean bulk = isBulkRemovable(model);
+    return submit(
+        model,
+        Type.REMOVE,
+        query,
+        ids -> {
+          security.get().check(JpaSecurity.CAN_REMOVE, model, ids.toArray(new Long[0]));
+          remove(model, ids, bulk && !hasAttachments(model, ids));
+        },
+        listener);
+  }
+
+  /**
+   * Returns the operation with the given id, if started by the current user.
+   *
+   * @param id the operation id
+   * @return the operation, or null if not found
+   */
+  public MassOperation get(String id) {
+    purge();
+    final MassOperation operation = id == null ? null : operations.get(id);
+    if (operation == null) {
+      return null;
+    }
+    final User user = AuthUtils.getUser();
+    if (user == null || AuthUtils.isAdmin(user) || user.getCode().equals(operation.getOwner())) {
+      return operation;
+    }
+    return null;
+  }
+
+  /**
+   * Requests the cancellation of the operation with the given id.
+   *
+   * <p>The operation stops once the chunk being processed is committed.
+   *
+   * @param id the operation id
+   * @return the operation, or null if not found
+   */
+  public MassOperation cancel(String id) {
+    final MassOperation operation = get(id);
+    if (operation != null && !operation.isCompleted()) {
+      operation.cancel();
+    }
+    return operation;
+  }
+
+  private MassOperation submit(
+      Class<? extends Model> model,
+      Type type,
+      Query<?> query,
+      Consumer<List<Long>> processor,
+      Consumer<MassOperation> listener) {
+    final User user = AuthUtils.getUser();
+    final MassOperation operation =
+        new MassOperation(model.getName(), type, user == null ? null : user.getCode());
+
+    purge();
+    operations.put(operation.getId(), operation);
+
+    // the executor binds the tenant and the subject, and ends the unit of work
+    try {
+      AppExecutor.execute(() -> run(operation, query, processor, listener));
+    } catch (RejectedExecutionException e) {
+      operations.remove(operation.getId());
+      throw e;
+    }
+
+    return operation;
+  }
+
+  private void run(
+      MassOperation operation,
+      Query<?> query,
+      Consumer<List<Long>> processor,
+      Consumer<MassOperation> listener) {
+    try {
+      operation.start(query.count());
+      List<Long> ids = query.fetchIds(0L, chunkSize);
+      while (!ids.isEmpty() && !operation.isCancelRequested()) {
+        final List<Long> chunk = ids;
+        JPA.runInTransaction(() -> processor.accept(chunk));
+        JPA.em().clear();
+        operation.progress(chunk.size());
+        ids = query.fetchIds(chunk.get(chunk.size() - 1), chunkSize);
+      }
+      operation.finish(operation.isCancelRequested() ? Status.CANCELED : Status.DONE, null);
+    } catch (Exception e) {
+      log.error("Mass {} of {} failed: {}", operation.getType(), operation.getModel(), e, e);
+      operation.finish(Status.FAILED, e.getMessage());
+    }
+    log.info(
+        "Mass {} of {}: {} ({} of {} records in {} ms)",
+        operation.getType(),
+        operation.getModel(),
+        operation.getStatus(),
+        operation.getProcessed(),
+        operation.getTotal(),
+        operation.getElapsedTime());
+
+    if (listener != null) {
+      try {
+        listener.accept(operation);
+      } catch (Exception e) {
+        log.error(
+            "Mass {} of {} listener failed: {}", operation.getType(), operation.getModel(), e, e);
+      }
+    }
+  }
+
+  private <T extends Model> void remove(Class<T> model, List<Long> ids, boolean bulk) {
+    if (bulk) {
+      Query.of(model).filter("self.id IN (:ids)").bind("ids", ids).delete();
+      return;
+    }
+    final JpaRepository<T> repository = JpaRepository.of(model);
+    for (T entity : JPA.findByIds(model, ids)) {
+      if (entity != null) {
+        repository.remove(entity);
+      }
+    }
+  }
+
+  private boolean hasAttachments(Class<? extends Model> model, List<Long> ids) {
+    return Query.of(DMSFile.class)
+            .filter("self.relatedModel = :model AND self.relatedId IN (:ids)")
+            .bind("model", model.getName())
+            .bind("ids", ids)
+            .count()
+        > 0;
+  }
+
+  private boolean isBulkRemovable(Class<? extends Model> model) {
+    for (Class<?> c = model; c != null && c != Object.class; c = c.getSuperclass()) {
+      if (c.isAnnotationPresent(EntityListeners.class) || c.isAnnotationPresent(Indexed.class)) {
+        return false;
+      }
+    }
+    for (Property property : Mapper.of(model).getProperties()) {
+      if (property.isCollection()) {
+        return false;
+      }
+    }
+    for (Class<?> c = JpaRepository.of(model).getClass();
+        c != null && c != JpaRepository.class;
+        c = c.getSuperclass()) {
+      for (Method method : c.getDeclaredMethods()) {
+        if ("remove".equals(method.getName()) && method.getParameterCount() == 1) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private void purge() {
+    final long now = System.currentTimeMillis();
+    operations
+        .values()
+        .removeIf(operation -> operation.isCompleted() && now - operation.getEndTime() > RETENTION);
+  }
+}
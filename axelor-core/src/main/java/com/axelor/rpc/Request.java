@@ -48,6 +48,8 @@ public class Request {
 
   private Map<String, List<String>> related;
 
+  private String graph;
+
   private String model;
 
   private Context context;
@@ -154,6 +156,19 @@ public class Request {
     this.related = related;
   }
 
+  /**
+   * Get the name of the entity graph to load the records with.
+   *
+   * @return the graph name, like <code>form</code>
+   */
+  public String getGraph() {
+    return graph;
+  }
+
+  public void setGraph(String graph) {
+    this.graph = graph;
+  }
+
   @JsonIgnore
   public Criteria getCriteria() {
     if (criteria == null && getData() != null) {
@@ -230,6 +245,10 @@ public class Request {
     return context = new Context(vars, klass);
   }
 
+  void setContext(Context context) {
+    this.context = context;
+  }
+
   public boolean isTranslate() {
     return translate;
   }
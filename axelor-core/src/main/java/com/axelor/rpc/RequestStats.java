@@ -0,0 +1,361 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.rpc;
+
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the cost of a web service request: wall time, SQL statements, loaded entities, script
+ * evaluations and second-level cache lookups.
+ *
+ * <p>Statistics are collected for the current thread only, between {@link #start(String)} and
+ * {@link #stop()}. They are also aggregated per request name, see {@link #getSummaries()}.
+ */
+public final class RequestStats {
+
+  private static final Logger log = LoggerFactory.getLogger(RequestStats.class);
+
+  private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+
+  private static final Map<String, Summary> SUMMARIES = new ConcurrentHashMap<>();
+
+  // request names include the model or action name sent by the client
+  static final int MAX_SUMMARIES = 1000;
+
+  /** The name of the summary of the requests not aggregated once there are too many names. */
+  public static final String OTHER = "other";
+
+  private static final int TOP_QUERIES = 5;
+
+  private static final boolean ENABLED;
+  private static final long SLOW_THRESHOLD;
+  private static final int N_PLUS_ONE_THRESHOLD;
+
+  static {
+    final AppSettings settings = AppSettings.get();
+    ENABLED = settings.getBoolean(AvailableAppSettings.REQUEST_STATS_ENABLED, false);
+    SLOW_THRESHOLD = settings.getInt(AvailableAppSettings.REQUEST_STATS_SLOW_THRESHOLD, 1000);
+    N_PLUS_ONE_THRESHOLD =
+        settings.getInt(AvailableAppSettings.REQUEST_STATS_N_PLUS_ONE_THRESHOLD, 10);
+  }
+
+  private final String name;
+
+  private final long startTime = System.nanoTime();
+  private long endTime;
+
+  private int sqlCount;
+  private long sqlTime;
+  private int entityCount;
+  private int scriptCount;
+  private int cacheHits;
+  private int cacheMisses;
+
+  private final Map<String, QueryStats> queries = new HashMap<>();
+  private QueryStats lastQuery;
+  private long queryStartTime;
+
+  RequestStats(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Whether request statistics are enabled.
+   *
+   * @return true if enabled
+   */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Starts collecting statistics of a request on the current thread.
+   *
+   * @param name the request name, used to aggregate statistics
+   * @return the request statistics, or null if disabled or already collecting
+   */
+  public static RequestStats start(String name) {
+    if (!ENABLED || CURRENT.get() != null) {
+      return null;
+    }
+    final RequestStats stats = new RequestStats(name);
+    CURRENT.set(stats);
+    return stats;
+  }
+
+  /**
+   * Stops collecting statistics, aggregates them and logs the request if it is slow.
+   *
+   * @return this
+   */
+  public RequestStats stop() {
+    endTime = System.nanoTime();
+    CURRENT.remove();
+
+    getSummary(name).add(this);
+
+    final List<QueryStats> suspects = getNPlusOneSuspects();
+    if (getTime() >= SLOW_THRESHOLD) {
+      log.warn(
+          "Slow request: [name={}, time={}ms, sql={} ({}ms), entities={}, scripts={}, "
+              + "cache={}/{}, top={}, n+1={}]",
+          name,
+          getTime(),
+          sqlCount,
+          TimeUnit.NANOSECONDS.toMillis(sqlTime),
+          entityCount,
+          scriptCount,
+          cacheHits,
+          cacheHits + cacheMisses,
+          getTopQueries(),
+          suspects);
+    } else if (!suspects.isEmpty() && log.isDebugEnabled()) {
+      log.debug("N+1 query suspects in {}: {}", name, suspects);
+    }
+
+    return this;
+  }
+
+  /**
+   * Returns the value of a <code>Server-Timing</code> header for this request.
+   *
+   * @return the header value
+   */
+  public String toServerTiming() {
+    return String.format(
+        "app;dur=%d, db;dur=%d;desc=\"%d queries\", entities;desc=\"%d\", scripts;desc=\"%d\", "
+            + "cache;desc=\"%d/%d hits\"",
+        getTime(),
+        TimeUnit.NANOSECONDS.toMillis(sqlTime),
+        sqlCount,
+        entityCount,
+        scriptCount,
+        cacheHits,
+        cacheHits + cacheMisses);
+  }
+
+  /**
+   * Returns the wall time of the request in milliseconds.
+   *
+   * @return the request time
+   */
+  public long getTime() {
+    return TimeUnit.NANOSECONDS.toMillis((endTime == 0 ? System.nanoTime() : endTime) - startTime);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getSqlCount() {
+    return sqlCount;
+  }
+
+  public int getEntityCount() {
+    return entityCount;
+  }
+
+  public int getScriptCount() {
+    return scriptCount;
+  }
+
+  private List<QueryStats> getTopQueries() {
+    return queries.values().stream()
+        .sorted(Comparator.comparingLong((QueryStats q) -> q.time).reversed())
+        .limit(TOP_QUERIES)
+        .collect(Collectors.toList());
+  }
+
+  private List<QueryStats> getNPlusOneSuspects() {
+    return queries.values().stream()
+        .filter(q -> q.count >= N_PLUS_ONE_THRESHOLD)
+        .sorted(Comparator.comparingInt((QueryStats q) -> q.count).reversed())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Called when a SQL statement is prepared.
+   *
+   * @param sql the SQL statement
+   */
+  public static void onStatementPrepared(String sql) {
+    final RequestStats stats = CURRENT.get();
+    if (stats != null) {
+      stats.lastQuery = stats.queries.computeIfAbsent(sql, QueryStats::new);
+    }
+  }
+
+  /** Called before a SQL statement is executed. */
+  public static void onStatementStart() {
+    final RequestStats stats = CURRENT.get();
+    if (stats != null) {
+      stats.queryStartTime = System.nanoTime();
+    }
+  }
+
+  /** Called after a SQL statement is executed. */
+  public static void onStatementEnd() {
+    final RequestStats stats = CURRENT.get();
+    if (stats != null) {
+      final long time = System.nanoTime() - stats.queryStartTime;
+      stats.sqlCount += 1;
+      stats.sqlTime += time;
+      if (stats.lastQuery != null) {
+        stats.lastQuery.count += 1;
+        stats.lastQuery.time += time;
+      }
+    }
+  }
+
+  /** Called when an entity is loaded. */
+  public static void onEntityLoaded() {
+    final RequestStats stats = CURRENT.get();
+    if (stats != null) {
+      stats.entityCount += 1;
+    }
+  }
+
+  /** Called when a script is evaluated. */
+  public static void onScriptEvaluated() {
+    final RequestStats stats = CURRENT.get();
+    if (stats != null) {
+      stats.scriptCount += 1;
+    }
+  }
+
+  /**
+   * Called after a second-level cache lookup.
+   *
+   * @param hit whether the lookup found an entry
+   */
+  public static void onCacheGet(boolean hit) {
+    final RequestStats stats = CURRENT.get();
+    if (stats != null) {
+      if (hit) {
+        stats.cacheHits += 1;
+      } else {
+        stats.cacheMisses += 1;
+      }
+    }
+  }
+
+  private static Summary getSummary(String name) {
+    final Summary summary = SUMMARIES.get(name);
+    if (summary != null) {
+      return summary;
+    }
+    return SUMMARIES.computeIfAbsent(
+        SUMMARIES.size() < MAX_SUMMARIES ? name : OTHER, Summary::new);
+  }
+
+  /**
+   * Returns the statistics aggregated per request name.
+   *
+   * <p>Once there are too many distinct names, the requests of new names are aggregated in the
+   * {@link #OTHER} summary.
+   *
+   * @return map of request name to aggregated statistics
+   */
+  public static Map<String, Summary> getSummaries() {
+    return Collections.unmodifiableMap(SUMMARIES);
+  }
+
+  /** Clears the aggregated statistics. */
+  static void clearSummaries() {
+    SUMMARIES.clear();
+  }
+
+  private static class QueryStats {
+
+    private final String sql;
+    private int count;
+    private long time;
+
+    QueryStats(String sql) {
+      this.sql = sql;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("{count=%d, time=%dms, sql=%s}", count, time / 1_000_000, sql);
+    }
+  }
+
+  /** Statistics aggregated over all the requests of the same name. */
+  public static class Summary {
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAdder sqlCount = new LongAdder();
+    private final LongAdder sqlTime = new LongAdder();
+    private volatile long maxTime;
+
+    Summary(String name) {
+      this.name = name;
+    }
+
+    void add(RequestStats stats) {
+      final long time = stats.getTime();
+      count.increment();
+      totalTime.add(time);
+      sqlCount.add(stats.sqlCount);
+      sqlTime.add(TimeUnit.NANOSECONDS.toMillis(stats.sqlTime));
+      if (time > maxTime) {
+        maxTime = time;
+      }
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getCount() {
+      return count.sum();
+    }
+
+    public long getTotalTime() {
+      return totalTime.sum();
+    }
+
+    public long getMaxTime() {
+      return maxTime;
+    }
+
+    public long getSqlCount() {
+      return sqlCount.sum();
+    }
+
+    public long getSqlTime() {
+      return sqlTime.sum();
+    }
+  }
+}
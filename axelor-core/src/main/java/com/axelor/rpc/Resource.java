@@ -71,6 +71,7 @@ import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.Ints;
@@ -95,9 +96,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -106,16 +110,20 @@ import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.inject.Inject;
 import javax.inject.Provider;
+import javax.persistence.EntityGraph;
 import javax.persistence.EntityTransaction;
 import javax.persistence.OptimisticLockException;
 import javax.validation.ValidationException;
 import org.apache.shiro.authz.UnauthorizedException;
+import org.hibernate.Session;
 import org.hibernate.StaleObjectStateException;
+import org.hibernate.jpa.QueryHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -133,6 +141,8 @@ public class Resource<T extends Model> {
 
   private static final Pattern NAME_PATTERN = Pattern.compile("[\\w\\.]+");
 
+  private static final int BATCH_SIZE = 500;
+
   private static JpaSecurity securityWarner;
 
   @Inject
@@ -185,6 +195,16 @@ public class Resource<T extends Model> {
         .fire(new PostRequest(source, request, response));
   }
 
+  private void firePostRequestEvent(String source, Request request, MassOperation operation) {
+    if (operation.getStatus() == MassOperation.Status.FAILED) {
+      return;
+    }
+    final Response response = new Response();
+    response.setTotal(operation.getProcessed());
+    response.setStatus(Response.STATUS_SUCCESS);
+    firePostRequestEvent(source, request, response);
+  }
+
   private Request newRequest(Request from, Long... records) {
 
     Request request = new Request();
@@ -472,6 +492,9 @@ public class Resource<T extends Model> {
                 .filter(field -> field.contains("."))
                 .toArray(String[]::new);
       } else {
+        if (JPA.findEntityGraph(model, request.getGraph()) != null) {
+          query.graph(request.getGraph());
+        }
         LOG.debug("JPQL: {}", query);
         data = query.fetch(limit, offset);
       }
@@ -489,13 +512,108 @@ public class Resource<T extends Model> {
 
     LOG.debug("Records found: {}", data.size());
 
-    final Repository repo = JpaRepository.of(model);
+    final Function<Object, Object> converter = searchConverter(request, dottedFields);
     final List<Object> jsonData = new ArrayList<>();
+    for (Object item : data) {
+      jsonData.add(converter.apply(item));
+    }
+
+    try {
+      // check for children (used by tree view)
+      doChildCount(request, jsonData);
+    } catch (NullPointerException | ClassCastException e) {
+    }
+
+    response.setData(jsonData);
+    response.setOffset(offset);
+    response.setStatus(Response.STATUS_SUCCESS);
+
+    firePostRequestEvent(RequestEvent.SEARCH, request, response);
+
+    return response;
+  }
+
+  /**
+   * Search the records like {@link #search(Request)}, but stream them.
+   *
+   * <p>The records are fetched with a database cursor and converted while the response is being
+   * serialized, see {@link StreamingData}, so the memory used doesn't depend on the number of
+   * records. The children of tree view records are not counted.
+   *
+   * <p>Only the {@link RequestEvent#SEARCH} pre request event is fired: the records are not
+   * available to post request observers, which expect them as a list they can change.
+   *
+   * @param request the search request
+   * @return the response, with {@link StreamingData} as data
+   */
+  @SuppressWarnings("all")
+  public Response searchStream(Request request) {
+
+    final Filter filter = security.get().getFilter(JpaSecurity.CAN_READ, model);
+    boolean check = filter == null || shouldCheckPermissions(request);
+
+    if (check) {
+      security.get().check(JpaSecurity.CAN_READ, model);
+    }
+
+    LOG.debug("Streaming '{}'", model.getCanonicalName());
+
+    firePreRequestEvent(RequestEvent.SEARCH, request);
+
+    final Response response = new Response();
+    final int offset = request.getOffset();
+    final int limit = request.getLimit();
+
+    final Query<?> query = getSearchQuery(request, check ? filter : null).readOnly();
+    final String[] dottedFields;
+    final Supplier<Stream<?>> items;
+
+    if (request.getFields() != null) {
+      final Query<?>.Selector selector =
+          query.select(request.getFields().toArray(new String[] {}));
+      LOG.debug("JPQL: {}", selector);
+      dottedFields =
+          request.getFields().stream().filter(field -> field.contains(".")).toArray(String[]::new);
+      items = () -> selector.fetchStream(limit, offset);
+    } else {
+      LOG.debug("JPQL: {}", query);
+      dottedFields = null;
+      items =
+          () -> {
+            final Session session = JPA.em().unwrap(Session.class);
+            return query
+                .fetchStream(limit, offset)
+                .map(
+                    item -> {
+                      final Map<String, Object> map = toMap(item);
+                      // don't keep converted records in the persistence context, only records
+                      // loaded by this read only query are evicted, records already managed by
+                      // the caller are left untouched with their pending changes
+                      if (session.contains(item) && session.isReadOnly(item)) {
+                        session.evict(item);
+                      }
+                      return map;
+                    });
+          };
+    }
+
+    final Function<Object, Object> converter = searchConverter(request, dottedFields);
+
+    response.setTotal(query.count());
+    response.setData(new StreamingData(() -> items.get().map(converter::apply)));
+    response.setOffset(offset);
+    response.setStatus(Response.STATUS_SUCCESS);
+
+    return response;
+  }
+
+  @SuppressWarnings("all")
+  private Function<Object, Object> searchConverter(Request request, String[] dottedFields) {
+    final Repository repo = JpaRepository.of(model);
     final boolean populate =
         request.getContext() != null && request.getContext().get("_populate") != Boolean.FALSE;
 
-    final JpaSecurity jpaSecurity = security.get();
-    for (Object item : data) {
+    return item -> {
       if (item instanceof Model) {
         item = toMap(item);
       }
@@ -510,22 +628,8 @@ public class Resource<T extends Model> {
         }
         Translator.applyTranslatables(map, model);
       }
-      jsonData.add(item);
-    }
-
-    try {
-      // check for children (used by tree view)
-      doChildCount(request, jsonData);
-    } catch (NullPointerException | ClassCastException e) {
-    }
-
-    response.setData(jsonData);
-    response.setOffset(offset);
-    response.setStatus(Response.STATUS_SUCCESS);
-
-    firePostRequestEvent(RequestEvent.SEARCH, request, response);
-
-    return response;
+      return item;
+    };
   }
 
   @SuppressWarnings("all")
@@ -935,6 +1039,16 @@ public class Resource<T extends Model> {
     return response;
   }
 
+  /** Whether the repository overrides {@link JpaRepository#find(Long)}, to not bypass it. */
+  private static boolean isCustomFind(Repository<?> repository) {
+    try {
+      return repository.getClass().getMethod("find", Long.class).getDeclaringClass()
+          != JpaRepository.class;
+    } catch (NoSuchMethodException e) {
+      return true;
+    }
+  }
+
   public Response fetch(long id, Request request) {
     security.get().check(JpaSecurity.CAN_READ, model, id);
 
@@ -944,7 +1058,11 @@ public class Resource<T extends Model> {
 
     final Response response = new Response();
     final Repository<?> repository = JpaRepository.of(model);
-    final Model entity = repository.find(id);
+    final EntityGraph<?> graph = JPA.findEntityGraph(model, request.getGraph());
+    final Model entity =
+        graph == null || isCustomFind(repository)
+            ? repository.find(id)
+            : JPA.em().find(model, id, Map.of(QueryHints.HINT_LOADGRAPH, graph));
 
     if (entity == null) {
       throw new OptimisticLockException(new StaleObjectStateException(model.getName(), id));
@@ -1096,6 +1214,30 @@ public class Resource<T extends Model> {
 
     JPA.runInTransaction(
         () -> {
+          final Set<Long> ids = new LinkedHashSet<>();
+          boolean creating = false;
+
+          for (Object record : records) {
+            if (record == null) {
+              continue;
+            }
+            final Long id = findId((Map) record);
+            if (id == null || id <= 0L) {
+              creating = true;
+            } else {
+              ids.add(id);
+            }
+          }
+
+          // Check for permissions on main objects, and load them at once
+          if (creating) {
+            security.get().check(JpaSecurity.CAN_CREATE, model);
+          }
+          checkAll(JpaSecurity.CAN_WRITE, ids);
+          findAll(ids);
+
+          final Map<AccessType, List<Long>> saved = new EnumMap<>(AccessType.class);
+
           for (Object record : records) {
 
             if (record == null) {
@@ -1105,16 +1247,8 @@ public class Resource<T extends Model> {
             record = (Map) repository.validate((Map) record, request.getContext());
 
             final Long id = findId((Map) record);
-            final JpaSecurity.AccessType accessType;
-
-            // Check for permissions on main object
-            if (id == null || id <= 0L) {
-              accessType = JpaSecurity.CAN_CREATE;
-              security.get().check(accessType, model);
-            } else {
-              accessType = JpaSecurity.CAN_WRITE;
-              security.get().check(accessType, model, id);
-            }
+            final JpaSecurity.AccessType accessType =
+                id == null || id <= 0L ? JpaSecurity.CAN_CREATE : JpaSecurity.CAN_WRITE;
 
             // Check for permissions on relational fields
             checkRelationalPermissions((Map<String, Object>) record, mapper);
@@ -1134,8 +1268,7 @@ public class Resource<T extends Model> {
               bean = repository.save(bean);
             }
 
-            // check permission rules again
-            security.get().check(accessType, model, bean.getId());
+            saved.computeIfAbsent(accessType, key -> new ArrayList<>()).add(bean.getId());
 
             // if it's a translation object, invalidate cache
             if (bean instanceof MetaTranslation) {
@@ -1144,6 +1277,9 @@ public class Resource<T extends Model> {
 
             data.add(repository.populate(toMap(bean, names), request.getContext()));
           }
+
+          // check permission rules again
+          saved.forEach(this::checkAll);
         });
 
     response.setData(data);
@@ -1231,6 +1367,73 @@ public class Resource<T extends Model> {
     return response;
   }
 
+  /**
+   * Start a mass update of the matched records in background.
+   *
+   * <p>The {@link RequestEvent#MASS_UPDATE} pre request event is fired before starting, the post
+   * request event is fired from the background thread once the records are processed, with the
+   * number of processed records as total. It isn't fired if the operation failed.
+   *
+   * @param request the request with the criteria and the values to set
+   * @return the response with the started operation
+   * @see MassOperationService
+   */
+  public Response updateMassAsync(Request request) {
+
+    security.get().check(JpaSecurity.CAN_WRITE, model);
+
+    LOG.debug("Mass update '{}' in background", model.getCanonicalName());
+
+    firePreRequestEvent(RequestEvent.MASS_UPDATE, request);
+
+    final Response response = new Response();
+    final Query<?> query = getQuery(request);
+
+    @SuppressWarnings("all")
+    final Map<String, Object> values = (Map) request.getRecords().get(0);
+    final MassOperation operation =
+        Beans.get(MassOperationService.class)
+            .update(
+                query,
+                values,
+                done -> firePostRequestEvent(RequestEvent.MASS_UPDATE, request, done));
+
+    response.setData(operation.toMap());
+    response.setStatus(Response.STATUS_SUCCESS);
+
+    return response;
+  }
+
+  /**
+   * Start a removal of the matched records in background.
+   *
+   * <p>The {@link RequestEvent#REMOVE} events are fired like with {@link
+   * #updateMassAsync(Request)}, the request having the criteria instead of the records.
+   *
+   * @param request the request with the criteria
+   * @return the response with the started operation
+   * @see MassOperationService
+   */
+  public Response removeMassAsync(Request request) {
+
+    security.get().check(JpaSecurity.CAN_REMOVE, model);
+
+    LOG.debug("Mass remove '{}' in background", model.getCanonicalName());
+
+    firePreRequestEvent(RequestEvent.REMOVE, request);
+
+    final Response response = new Response();
+    final Query<?> query = getQuery(request);
+    final MassOperation operation =
+        Beans.get(MassOperationService.class)
+            .remove(query, done -> firePostRequestEvent(RequestEvent.REMOVE, request, done));
+
+    response.setData(operation.toMap());
+    response.setStatus(Response.STATUS_SUCCESS);
+
+    return response;
+  }
+
   @SuppressWarnings("all")
   public Response remove(long id, Request request) {
 
@@ -1283,7 +1486,7 @@ public class Resource<T extends Model> {
 
     JPA.runInTransaction(
         () -> {
-          final List<Model> entities = Lists.newArrayList();
+          final Map<Long, Integer> versions = new LinkedHashMap<>();
 
           for (Object record : records) {
             Map map = (Map) record;
@@ -1293,9 +1496,21 @@ public class Resource<T extends Model> {
               version = Ints.tryParse(map.get("version").toString());
             } catch (Exception e) {
             }
+            if (id == null) {
+              throw new OptimisticLockException(new StaleObjectStateException(model.getName(), id));
+            }
+            versions.put(id, version);
+          }
+
+          checkAll(JpaSecurity.CAN_REMOVE, versions.keySet());
+
+          final Map<Long, Model> found = findAll(versions.keySet());
+          final List<Model> entities = Lists.newArrayList();
 
-            security.get().check(JpaSecurity.CAN_REMOVE, model, id);
-            Model bean = JPA.find(model, id);
+          for (Entry<Long, Integer> entry : versions.entrySet()) {
+            Long id = entry.getKey();
+            Integer version = entry.getValue();
+            Model bean = found.get(id);
 
             if (bean == null || (version != null && !Objects.equal(version, bean.getVersion()))) {
               throw new OptimisticLockException(new StaleObjectStateException(model.getName(), id));
@@ -1320,6 +1535,36 @@ public class Resource<T extends Model> {
     return response;
   }
 
+  /**
+   * Check the given permission on the given records, with one query per batch of records.
+   *
+   * @param type the access type
+   * @param ids the record ids
+   */
+  private void checkAll(AccessType type, Collection<Long> ids) {
+    for (List<Long> batch : Iterables.partition(new LinkedHashSet<>(ids), BATCH_SIZE)) {
+      security.get().check(type, model, batch.toArray(new Long[0]));
+    }
+  }
+
+  /**
+   * Load the given records, with one query per batch of records not already loaded.
+   *
+   * @param ids the record ids
+   * @return the found records by id
+   */
+  private Map<Long, Model> findAll(Collection<Long> ids) {
+    final Map<Long, Model> found = new HashMap<>();
+    for (List<Long> batch : Iterables.partition(new LinkedHashSet<>(ids), BATCH_SIZE)) {
+      for (Model bean : JPA.findByIds(model, batch)) {
+        if (bean != null) {
+          found.put(bean.getId(), bean);
+        }
+      }
+    }
+    return found;
+  }
+
   private void fixLinks(Object bean) {
     if (bean == null) return;
     final Mapper mapper = Mapper.of(EntityHelper.getEntityClass(bean));
@@ -27,7 +27,9 @@ import com.axelor.db.JpaSecurity.AccessType;
 import com.axelor.db.JpaSupport;
 import com.axelor.db.Model;
 import com.axelor.i18n.I18n;
+import com.axelor.inject.Beans;
 import com.google.common.base.Throwables;
+import java.lang.reflect.Method;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.Arrays;
@@ -38,6 +40,7 @@ import javax.crypto.BadPaddingException;
 import javax.persistence.EntityTransaction;
 import javax.persistence.OptimisticLockException;
 import javax.persistence.PersistenceException;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import org.aopalliance.intercept.MethodInterceptor;
@@ -52,6 +55,8 @@ public class ResponseInterceptor extends JpaSupport implements MethodInterceptor
 
   private final Logger log = LoggerFactory.getLogger(ResponseInterceptor.class);
 
+  private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
   private final ThreadLocal<Boolean> running = new ThreadLocal<Boolean>();
 
   @Override
@@ -66,6 +71,7 @@ public class ResponseInterceptor extends JpaSupport implements MethodInterceptor
     Response response = null;
 
     running.set(true);
+    final RequestStats stats = RequestStats.start(getStatsName(invocation));
     try {
       response = (Response) invocation.proceed();
     } catch (Exception e) {
@@ -92,10 +98,41 @@ public class ResponseInterceptor extends JpaSupport implements MethodInterceptor
       }
     } finally {
       running.remove();
+      if (stats != null) {
+        addServerTiming(stats.stop());
+      }
     }
     return response;
   }
 
+  private String getStatsName(MethodInvocation invocation) {
+    final Method method = invocation.getMethod();
+    final StringBuilder name = new StringBuilder();
+    name.append(method.getDeclaringClass().getSimpleName()).append(".").append(method.getName());
+    for (Object arg : invocation.getArguments()) {
+      if (arg instanceof ActionRequest && ((ActionRequest) arg).getAction() != null) {
+        return name.append("[").append(((ActionRequest) arg).getAction()).append("]").toString();
+      }
+      if (arg instanceof Request && ((Request) arg).getModel() != null) {
+        return name.append("[").append(((Request) arg).getModel()).append("]").toString();
+      }
+    }
+    return name.toString();
+  }
+
+  private void addServerTiming(RequestStats stats) {
+    final HttpServletResponse response;
+    try {
+      response = Beans.get(HttpServletResponse.class);
+    } catch (RuntimeException e) {
+      // not in a servlet request scope
+      return;
+    }
+    if (!response.isCommitted()) {
+      response.addHeader(SERVER_TIMING_HEADER, stats.toServerTiming());
+    }
+  }
+
   private Response onException(Throwable throwable, Response response) {
     final Throwable cause = throwable.getCause();
     final Throwable root = Throwables.getRootCause(throwable);
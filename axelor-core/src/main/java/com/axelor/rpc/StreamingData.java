@@ -0,0 +1,88 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.rpc;
+
+import com.axelor.db.JPA;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.persistence.EntityTransaction;
+
+/**
+ * {@link Response} data written as a JSON array while its items are produced.
+ *
+ * <p>The items are only produced when the response is serialized, inside a transaction so that
+ * database cursors can be used, and are not kept in memory. So the data can be serialized once,
+ * within the current unit of work.
+ */
+public class StreamingData implements JsonSerializable {
+
+  private final Supplier<Stream<?>> supplier;
+
+  private boolean consumed;
+
+  /**
+   * Create a new instance with the given supplier of items.
+   *
+   * @param supplier called once to get the items when the data is serialized
+   */
+  public StreamingData(Supplier<Stream<?>> supplier) {
+    this.supplier = supplier;
+  }
+
+  @Override
+  public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+    if (consumed) {
+      throw new IllegalStateException("Streaming data is already consumed.");
+    }
+    consumed = true;
+
+    final EntityTransaction txn = JPA.em().getTransaction();
+    final boolean started = !txn.isActive();
+    if (started) {
+      txn.begin();
+    }
+
+    gen.writeStartArray();
+    try (Stream<?> items = supplier.get()) {
+      final Iterator<?> iterator = items.iterator();
+      while (iterator.hasNext()) {
+        serializers.defaultSerializeValue(iterator.next(), gen);
+      }
+    } finally {
+      // read only, nothing to commit
+      if (started && txn.isActive()) {
+        txn.rollback();
+      }
+    }
+    gen.writeEndArray();
+  }
+
+  @Override
+  public void serializeWithType(
+      JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+      throws IOException {
+    serialize(gen, serializers);
+  }
+}
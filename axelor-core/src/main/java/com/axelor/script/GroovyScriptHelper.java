@@ -19,11 +19,14 @@
 package com.axelor.script;
 
 import com.axelor.app.AvailableAppSettings;
+import com.axelor.cache.CacheBus;
 import com.axelor.db.JPA;
 import com.axelor.db.JpaRepository;
 import com.axelor.db.JpaScanner;
 import com.axelor.db.Model;
+import com.axelor.meta.MetaStore;
 import com.axelor.rpc.Context;
+import com.axelor.rpc.RequestStats;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -120,6 +123,15 @@ public class GroovyScriptHelper extends AbstractScriptHelper {
                     }
                   }
                 });
+
+    // compiled scripts belong to the actions, drop them when all the actions are reloaded
+    CacheBus.subscribe(
+        MetaStore.ACTIONS_CACHE,
+        name -> {
+          if (name == null) {
+            SCRIPT_CACHE.invalidateAll();
+          }
+        });
   }
 
   public GroovyScriptHelper(Bindings bindings) {
@@ -132,6 +144,7 @@ public class GroovyScriptHelper extends AbstractScriptHelper {
 
   @Override
   public Object eval(String expr, Bindings bindings) throws Exception {
+    RequestStats.onScriptEvaluated();
     Class<?> klass = SCRIPT_CACHE.get(expr);
     Script script = (Script) klass.getDeclaredConstructor().newInstance();
     script.setBinding(
@@ -18,49 +18,178 @@
  */
 package com.axelor.script;
 
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.cache.CacheBus;
+import com.axelor.meta.MetaStore;
 import com.axelor.rpc.Context;
+import com.axelor.rpc.RequestStats;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.script.Bindings;
 import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 
+/**
+ * The JavaScript {@link ScriptHelper} backed by GraalJS.
+ *
+ * <p>All the helpers share a single polyglot {@link Engine}, so that parsed and compiled code is
+ * reused across contexts, and borrow a context from a pool for the duration of each evaluation.
+ * Expressions are turned into {@link Source} objects once and cached.
+ */
 public class JavaScriptScriptHelper extends AbstractScriptHelper {
 
-  private org.graalvm.polyglot.Context context;
+  private static final int DEFAULT_CACHE_SIZE = 500;
+  private static final int DEFAULT_CACHE_EXPIRE_TIME = 60;
+
+  private static final int MAX_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+  private static final String LANGUAGE = "js";
+
+  private static final Source BOOTSTRAP =
+      Source.create(
+          LANGUAGE,
+          "Object.setPrototypeOf(globalThis, new Proxy(Object.prototype, {"
+              + "  has(target, key) {"
+              + "    return key in __scope || key in target;"
+              + "  },"
+              + "  get(target, key, receiver) {"
+              + "    return Reflect.get((key in __scope) ? __scope : target, key, receiver);"
+              + "  }"
+              + "}))");
+
+  // returns a function checking that the global object and the well-known objects still have
+  // the same properties, property values and prototypes as when the context was created
+  private static final Source SNAPSHOT =
+      Source.create(
+          LANGUAGE,
+          "(function() {"
+              + "  const names = ['Object', 'Function', 'Array', 'String', 'Number', 'Boolean',"
+              + "    'Symbol', 'BigInt', 'Date', 'RegExp', 'Error', 'Map', 'Set', 'WeakMap',"
+              + "    'WeakSet', 'Promise', 'JSON', 'Math', 'Reflect'];"
+              + "  const targets = [globalThis];"
+              + "  for (const name of names) {"
+              + "    const value = globalThis[name];"
+              + "    if (value) {"
+              + "      targets.push(value);"
+              + "      if (value.prototype) targets.push(value.prototype);"
+              + "    }"
+              + "  }"
+              + "  const snapshot = target => {"
+              + "    const items = [Object.getPrototypeOf(target), Object.isExtensible(target)];"
+              + "    for (const key of Reflect.ownKeys(target)) {"
+              + "      if (target === globalThis && key === '__scope') continue;"
+              + "      const d = Reflect.getOwnPropertyDescriptor(target, key);"
+              + "      items.push(key, d.value, d.get, d.set, d.writable, d.configurable);"
+              + "    }"
+              + "    return items;"
+              + "  };"
+              + "  const expected = targets.map(snapshot);"
+              + "  return () => targets.every((target, i) => {"
+              + "    const items = snapshot(target);"
+              + "    return items.length === expected[i].length"
+              + "      && items.every((item, j) => Object.is(item, expected[i][j]));"
+              + "  });"
+              + "})()");
+
+  private static final Engine ENGINE =
+      Engine.newBuilder()
+          .allowExperimentalOptions(true)
+          .option("engine.WarnInterpreterOnly", "false")
+          .build();
+
+  private static final JavaScriptScope EMPTY_SCOPE = new JavaScriptScope(new SimpleBindings());
+
+  private static final ConcurrentLinkedQueue<PooledContext> POOL = new ConcurrentLinkedQueue<>();
+  private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+  private static final Cache<String, Source> SOURCE_CACHE;
+
+  static {
+    int cacheSize = 0;
+    int cacheExpireTime = 0;
+    try {
+      cacheSize =
+          Integer.parseInt(System.getProperty(AvailableAppSettings.APPLICATION_SCRIPT_CACHE_SIZE));
+    } catch (Exception e) {
+    }
+    try {
+      cacheExpireTime =
+          Integer.parseInt(
+              System.getProperty(AvailableAppSettings.APPLICATION_SCRIPT_CACHE_EXPIRE_TIME));
+    } catch (Exception e) {
+    }
+
+    SOURCE_CACHE =
+        CacheBuilder.newBuilder()
+            .maximumSize(cacheSize > 0 ? cacheSize : DEFAULT_CACHE_SIZE)
+            .expireAfterAccess(
+                cacheExpireTime > 0 ? cacheExpireTime : DEFAULT_CACHE_EXPIRE_TIME,
+                TimeUnit.MINUTES)
+            .build();
+
+    // sources belong to the actions, drop them when all the actions are reloaded
+    CacheBus.subscribe(
+        MetaStore.ACTIONS_CACHE,
+        name -> {
+          if (name == null) {
+            SOURCE_CACHE.invalidateAll();
+          }
+        });
+  }
+
+  private final JavaScriptScope scope;
 
   public JavaScriptScriptHelper(Bindings bindings) {
     this.setBindings(bindings);
-    this.context = createContext(bindings);
+    this.scope = new JavaScriptScope(bindings);
   }
 
   public JavaScriptScriptHelper(Context context) {
     this(new ScriptBindings(context));
   }
 
-  private org.graalvm.polyglot.Context createContext(Bindings bindings) {
-    org.graalvm.polyglot.Context ctx =
-        org.graalvm.polyglot.Context.newBuilder()
-            .allowExperimentalOptions(true)
-            .allowAllAccess(true)
-            .option("engine.WarnInterpreterOnly", "false")
-            .option("js.nashorn-compat", "true")
-            .option("js.ecmascript-version", "latest")
-            .build();
+  private static Source source(String expr) {
+    Source source = SOURCE_CACHE.getIfPresent(expr);
+    if (source == null) {
+      source = Source.create(LANGUAGE, expr);
+      SOURCE_CACHE.put(expr, source);
+    }
+    return source;
+  }
 
-    ctx.getBindings("js").putMember("__scope", new JavaScriptScope(bindings));
-    ctx.eval(
-        "js",
-        "Object.setPrototypeOf(globalThis, new Proxy(Object.prototype, {"
-            + "  has(target, key) {"
-            + "    return key in __scope || key in target;"
-            + "  },"
-            + "  get(target, key, receiver) {"
-            + "    return Reflect.get((key in __scope) ? __scope : target, key, receiver);"
-            + "  }"
-            + "}))");
-
-    return ctx;
+  private static PooledContext borrow() {
+    final PooledContext pooled = POOL.poll();
+    if (pooled != null) {
+      POOL_SIZE.decrementAndGet();
+      return pooled;
+    }
+    return new PooledContext();
+  }
+
+  private static void release(PooledContext pooled, boolean broken) {
+    // contexts whose global or well-known objects were modified by a script would leak state to
+    // other scripts
+    if (broken || !pooled.isClean()) {
+      pooled.close();
+      return;
+    }
+    if (POOL_SIZE.incrementAndGet() > MAX_POOL_SIZE) {
+      POOL_SIZE.decrementAndGet();
+      pooled.close();
+      return;
+    }
+    POOL.offer(pooled);
   }
 
   @Override
@@ -70,12 +199,38 @@ public class JavaScriptScriptHelper extends AbstractScriptHelper {
           "Evaluating JavaScript with different bindings is not supported.");
     }
 
-    final Value value = context.eval("js", expr);
+    RequestStats.onScriptEvaluated();
+
+    final Source source = source(expr);
+    final PooledContext pooled = borrow();
 
-    if (value.isException()) {
-      throw value.throwException();
+    boolean broken = false;
+    try {
+      pooled.setScope(scope);
+      final Value value = pooled.context.eval(source);
+      if (value.isException()) {
+        throw value.throwException();
+      }
+      // convert while the context is still owned, the result must not refer to it
+      final Object result = toJava(value);
+      if (result == value) {
+        throw new ScriptException("Invalid result from script: " + expr);
+      }
+      return result;
+    } catch (PolyglotException e) {
+      broken = e.isInternalError() || e.isCancelled() || e.isExit();
+      throw e;
+    } finally {
+      try {
+        pooled.setScope(EMPTY_SCOPE);
+      } catch (Exception e) {
+        broken = true;
+      }
+      release(pooled, broken);
     }
+  }
 
+  private static Object toJava(Value value) {
     if (value.isNull()) return null;
     if (value.isHostObject()) return value.asHostObject();
 
@@ -95,11 +250,72 @@ public class JavaScriptScriptHelper extends AbstractScriptHelper {
     if (value.isInstant()) return value.asInstant();
 
     // Convert array like value to List
-    if (value.hasArrayElements()) return value.as(List.class);
+    if (value.hasArrayElements()) {
+      final List<Object> list = new ArrayList<>();
+      for (long i = 0; i < value.getArraySize(); i++) {
+        list.add(toJavaElement(value.getArrayElement(i)));
+      }
+      return list;
+    }
 
     // Convert object like value to Map
-    if (value.hasMembers()) return value.as(Map.class);
+    if (value.hasMembers() && !value.canExecute()) {
+      final Map<String, Object> map = new LinkedHashMap<>();
+      for (String key : value.getMemberKeys()) {
+        map.put(key, toJavaElement(value.getMember(key)));
+      }
+      return map;
+    }
 
-    throw new ScriptException("Invalid result from script: " + expr);
+    return value;
+  }
+
+  private static Object toJavaElement(Value value) {
+    // functions can't be used once the context is released
+    final Object result = toJava(value);
+    return result == value ? null : result;
+  }
+
+  /** A polyglot context of the shared engine, bound to the scope of the current evaluation. */
+  private static class PooledContext {
+
+    private final org.graalvm.polyglot.Context context;
+    private final Value globals;
+    private final Value unchanged;
+
+    PooledContext() {
+      context =
+          org.graalvm.polyglot.Context.newBuilder(LANGUAGE)
+              .engine(ENGINE)
+              .allowExperimentalOptions(true)
+              .allowAllAccess(true)
+              .option("js.nashorn-compat", "true")
+              .option("js.ecmascript-version", "latest")
+              .build();
+      globals = context.getBindings(LANGUAGE);
+      globals.putMember("__scope", EMPTY_SCOPE);
+      context.eval(BOOTSTRAP);
+      unchanged = context.eval(SNAPSHOT);
+    }
+
+    void setScope(JavaScriptScope scope) {
+      globals.putMember("__scope", scope);
+    }
+
+    boolean isClean() {
+      try {
+        return unchanged.execute().asBoolean();
+      } catch (Exception e) {
+        return false;
+      }
+    }
+
+    void close() {
+      try {
+        context.close();
+      } catch (Exception e) {
+        // ignore
+      }
+    }
   }
 }
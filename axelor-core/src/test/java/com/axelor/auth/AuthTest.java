@@ -18,8 +18,12 @@
  */
 package com.axelor.auth;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.JpaTest;
@@ -30,12 +34,21 @@ import com.axelor.auth.db.Role;
 import com.axelor.auth.db.User;
 import com.axelor.auth.db.repo.UserRepository;
 import com.axelor.db.JpaSecurity.AccessType;
+import com.axelor.rpc.Request;
+import com.axelor.rpc.Resource;
+import com.axelor.rpc.Response;
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
+import org.apache.shiro.authz.UnauthorizedException;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
 
 public class AuthTest extends JpaTest {
 
@@ -45,6 +58,8 @@ public class AuthTest extends JpaTest {
 
   @Inject private UserRepository users;
 
+  @Inject private Resource<User> resource;
+
   @BeforeEach
   @Transactional
   public void setUp() {
@@ -186,6 +201,32 @@ public class AuthTest extends JpaTest {
         authSecurity.isPermitted(AccessType.WRITE, User.class, users.findByCode("admin").getId()));
   }
 
+  @Test
+  public void testIdentity() {
+    login("guest", "guest");
+    identityTest();
+  }
+
+  @Transactional
+  public void identityTest() {
+    final AuthIdentity identity = AuthUtils.getIdentity();
+
+    assertNotNull(identity);
+    assertEquals("guest", identity.getCode());
+    assertEquals("users", identity.getGroupCode());
+    assertTrue(identity.hasRole("guest.user"));
+    assertTrue(identity.hasRole("normal.user"));
+    assertFalse(identity.hasRole("super.user"));
+
+    // resolved once, the user comes from the persistence context
+    assertSame(identity, AuthUtils.getIdentity());
+    assertSame(users.findByCode("guest"), AuthUtils.getUser());
+
+    // dropped when roles are modified
+    AuthIdentity.onChange(new Role("some.role"));
+    assertNotSame(identity, AuthUtils.getIdentity());
+  }
+
   @Test
   public void testGuestUser() {
     login("guest", "guest");
@@ -257,4 +298,49 @@ public class AuthTest extends JpaTest {
 
     authService.match("demo2", user2.getPassword());
   }
+
+  @Test
+  public void testSavePermissions() {
+    login("demo", "demo");
+    savePermissionsTest();
+  }
+
+  private Request saveRequest(Map<?, ?>... records) {
+    final Request request = new Request();
+    request.setModel(User.class.getName());
+    request.setRecords(new ArrayList<>(Arrays.asList(records)));
+    return request;
+  }
+
+  private Map<String, Object> userRecord(String code, String name) {
+    final Map<String, Object> record = new HashMap<>();
+    final User user = code == null ? null : users.findByCode(code);
+    if (user != null) {
+      record.put("id", user.getId());
+      record.put("version", user.getVersion());
+    } else {
+      record.put("code", name.toLowerCase());
+    }
+    record.put("name", name);
+    return record;
+  }
+
+  private void assertDenied(Executable executable) {
+    final UnauthorizedException e = assertThrows(UnauthorizedException.class, executable);
+    assertTrue(e.getCause() instanceof AuthSecurityException);
+  }
+
+  public void savePermissionsTest() {
+    // can't create users
+    assertDenied(() -> resource.save(saveRequest(userRecord(null, "Demo3"))));
+
+    // can't update others, even along with self
+    assertDenied(() -> resource.save(saveRequest(userRecord("admin", "Admin"))));
+    assertDenied(
+        () -> resource.save(saveRequest(userRecord("demo", "Demo"), userRecord("admin", "Admin"))));
+
+    // but can update self
+    final Response response = resource.save(saveRequest(userRecord("demo", "Demo")));
+    assertEquals(Response.STATUS_SUCCESS, response.getStatus());
+  }
 }
@@ -18,14 +18,32 @@
  */
 package com.axelor.cache;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import com.axelor.TestingHelpers;
 import com.axelor.app.AppSettings;
+import com.axelor.db.JPA;
+import com.axelor.db.hibernate.cache.CacheRegionFactory;
+import com.axelor.db.hibernate.stats.CacheStatistics;
 import com.axelor.test.GuiceModules;
+import com.axelor.test.db.Person;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
 
 @GuiceModules(CaffeineTest.CaffeineTestModule.class)
 public class CaffeineTest extends AbstractBaseCache {
 
+  private static final String PERSON_REGION_SIZE =
+      "cache.region." + Person.class.getName() + ".size";
+
   public static class CaffeineTestModule extends CacheTestModule {
 
     @Override
@@ -37,8 +55,49 @@ public class CaffeineTest extends AbstractBaseCache {
           .put(
               ConfigSettings.PROVIDER,
               "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+      AppSettings.get()
+          .getInternalProperties()
+          .put(PERSON_REGION_SIZE, "500");
 
       super.configure();
     }
   }
+
+  @AfterAll
+  public static void clearRegionSettings() {
+    AppSettings.get().getInternalProperties().remove(PERSON_REGION_SIZE);
+  }
+
+  @Test
+  @Order(10)
+  public void shouldSizeRegionFromSettings() {
+    doInSession(
+        () -> {
+          final SessionFactoryImplementor factory =
+              JPA.em().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+          final CacheRegionFactory regionFactory =
+              (CacheRegionFactory) factory.getCache().getRegionFactory();
+          final CaffeineConfiguration<?, ?> config =
+              regionFactory
+                  .getCacheManager()
+                  .getCache(Person.class.getName())
+                  .getConfiguration(CaffeineConfiguration.class);
+          assertEquals(OptionalLong.of(500), config.getMaximumSize());
+        });
+  }
+
+  @Test
+  @Order(11)
+  @SuppressWarnings("unchecked")
+  public void shouldReportStatistics() {
+    doInSession(
+        () -> {
+          final Map<String, Object> stats = CacheStatistics.get();
+          assertEquals(true, stats.get("enabled"));
+          final List<Map<String, Object>> regions =
+              (List<Map<String, Object>>) stats.get("regions");
+          assertTrue(
+              regions.stream().anyMatch(it -> Person.class.getName().equals(it.get("region"))));
+        });
+  }
 }
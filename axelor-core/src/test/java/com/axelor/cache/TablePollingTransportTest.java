@@ -0,0 +1,113 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.axelor.JpaTest;
+import com.axelor.db.JPA;
+import com.axelor.meta.db.MetaCacheEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TablePollingTransportTest extends JpaTest {
+
+  private final List<String> received = new ArrayList<>();
+
+  private TablePollingTransport transport;
+
+  @BeforeEach
+  public void init() {
+    transport = new TablePollingTransport(1000);
+    transport.publish("before");
+    transport.init();
+    received.clear();
+  }
+
+  private long lastEventId() {
+    final long[] id = new long[1];
+    AbstractBaseCache.doInSession(
+        () ->
+            id[0] =
+                JPA.em()
+                    .createQuery("SELECT MAX(self.id) FROM MetaCacheEvent self", Long.class)
+                    .getSingleResult());
+    return id[0];
+  }
+
+  private void updateEvent(String set, long id) {
+    final String query = "UPDATE MetaCacheEvent self SET " + set + " WHERE self.id = :id";
+    AbstractBaseCache.doInSession(
+        () ->
+            JPA.runInTransaction(
+                () -> JPA.em().createQuery(query).setParameter("id", id).executeUpdate()));
+  }
+
+  @Test
+  public void testReceive() {
+    transport.publish("first");
+    transport.publish("second");
+
+    transport.poll(received::add);
+    transport.poll(received::add);
+
+    assertEquals(List.of("first", "second"), received);
+  }
+
+  @Test
+  public void testLateCommit() {
+    transport.publish("late");
+    final long lateId = lastEventId();
+    transport.publish("early");
+
+    // hide the first message, as if its transaction was not committed yet
+    updateEvent("self.id = " + -lateId, lateId);
+    transport.poll(received::add);
+
+    assertEquals(List.of("early"), received);
+
+    updateEvent("self.id = " + lateId, -lateId);
+    transport.poll(received::add);
+    transport.poll(received::add);
+
+    assertEquals(List.of("early", "late"), received);
+  }
+
+  @Test
+  public void testPurge() {
+    transport.publish("old");
+    final long oldId = lastEventId();
+    transport.publish("recent");
+    final long recentId = lastEventId();
+
+    updateEvent("self.eventTime = 0", oldId);
+    AbstractBaseCache.doInSession(
+        () -> transport.purge(System.currentTimeMillis() - TablePollingTransport.RETENTION));
+
+    AbstractBaseCache.doInSession(
+        () -> {
+          assertNull(JPA.em().find(MetaCacheEvent.class, oldId));
+          assertNotNull(JPA.em().find(MetaCacheEvent.class, recentId));
+        });
+  }
+}
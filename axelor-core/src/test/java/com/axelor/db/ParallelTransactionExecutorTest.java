@@ -0,0 +1,107 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.axelor.JpaTest;
+import com.axelor.app.AppExecutor;
+import com.axelor.test.db.Title;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ParallelTransactionExecutorTest extends JpaTest {
+
+  @Test
+  public void testPriorities() {
+    final List<Integer> done = Collections.synchronizedList(new ArrayList<>());
+    final ParallelTransactionExecutor executor = new ParallelTransactionExecutor(null, null, 4);
+    for (int i = 0; i < 20; ++i) {
+      executor.add(() -> done.add(1), 1);
+      executor.add(() -> done.add(0), 0);
+    }
+
+    executor.run();
+
+    assertEquals(40, done.size());
+    assertEquals(20, done.indexOf(1));
+  }
+
+  @Test
+  public void testRollback() {
+    final long count = all(Title.class).count();
+    final ParallelTransactionExecutor executor = new ParallelTransactionExecutor(null, null, 4);
+    for (int i = 0; i < 10; ++i) {
+      final String code = "parallel-" + i;
+      executor.add(
+          () -> {
+            final Title title = new Title();
+            title.setCode(code);
+            title.setName(code);
+            JPA.save(title);
+          });
+    }
+    executor.add(
+        () -> {
+          throw new IllegalStateException("failed");
+        },
+        1);
+
+    assertThrows(IllegalStateException.class, executor::run);
+    assertEquals(count, all(Title.class).count());
+  }
+
+  @Test
+  public void testSaturatedExecutor() throws Exception {
+    final int threads = (int) AppExecutor.getStats().get("maxThreads");
+    final CountDownLatch started = new CountDownLatch(threads);
+    final AtomicInteger done = new AtomicInteger();
+    final List<Future<?>> callers = new ArrayList<>();
+
+    // every executor thread runs a caller waiting for its own workers
+    for (int i = 0; i < threads; ++i) {
+      callers.add(
+          AppExecutor.submit(
+              () -> {
+                started.countDown();
+                started.await();
+                final ParallelTransactionExecutor executor =
+                    new ParallelTransactionExecutor(null, null, 4);
+                for (int j = 0; j < 10; ++j) {
+                  executor.add(done::incrementAndGet, j % 2);
+                }
+                executor.run();
+                return null;
+              }));
+    }
+
+    for (Future<?> caller : callers) {
+      caller.get(1, TimeUnit.MINUTES);
+    }
+
+    assertEquals(threads * 10, done.get());
+  }
+}
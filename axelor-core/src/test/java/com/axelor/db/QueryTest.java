@@ -22,6 +22,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.JpaTest;
@@ -41,6 +43,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 
 public class QueryTest extends JpaTest {
@@ -91,6 +94,67 @@ public class QueryTest extends JpaTest {
     assertTrue(result.size() > 0);
   }
 
+  @Test
+  public void testCompiledShape() {
+    final String filter = "self.addresses[].country.code = ? AND self.title.code = ?";
+    final Query<Contact> first =
+        all(Contact.class).filter(filter, "FR", "MR").order("-addresses[].country.name");
+    final Query<Contact> second =
+        all(Contact.class).filter(filter, "IN", "MRS").order("-addresses[].country.name");
+    final Query<Contact> third = all(Contact.class).filter(filter, "FR", "MR").order("firstName");
+
+    // identical query shapes share the same statement
+    assertSame(first.toString(), second.toString());
+    assertEquals(
+        "SELECT DISTINCT self FROM Contact self "
+            + "LEFT JOIN FETCH self.addresses _addresses "
+            + "LEFT JOIN _addresses.country _addresses_country "
+            + "LEFT JOIN self.title _title "
+            + "WHERE _addresses_country.code = ?1 AND _title.code = ?2 "
+            + "ORDER BY self.firstName",
+        third.toString());
+
+    assertEquals(
+        first.select("fullName", "title").toString(),
+        second.select("fullName", "title").toString());
+  }
+
+  @Test
+  @Transactional
+  public void testGraph() {
+    getEntityManager().clear();
+
+    final List<Contact> contacts = all(Contact.class).graph("form").fetch();
+    assertFalse(contacts.isEmpty());
+    assertEquals(contacts.size(), new HashSet<>(contacts).size());
+    for (Contact contact : contacts) {
+      assertTrue(Hibernate.isInitialized(contact.getAddresses()));
+    }
+    assertEquals(all(Contact.class).count(), contacts.size());
+
+    assertThrows(IllegalArgumentException.class, () -> all(Contact.class).graph("missing"));
+  }
+
+  @Test
+  @Transactional
+  public void testGraphPaginated() {
+    getEntityManager().clear();
+
+    final List<Long> expected =
+        all(Contact.class).order("id").fetch(2, 1).stream()
+            .map(Contact::getId)
+            .collect(Collectors.toList());
+
+    getEntityManager().clear();
+
+    // collections are left out of paginated queries, so the database paginates the records
+    final List<Contact> contacts = all(Contact.class).order("id").graph("form").fetch(2, 1);
+    assertEquals(expected, contacts.stream().map(Contact::getId).collect(Collectors.toList()));
+    for (Contact contact : contacts) {
+      assertFalse(Hibernate.isInitialized(contact.getAddresses()));
+    }
+  }
+
   @Test
   public void testDistinct() {
     final String filter =
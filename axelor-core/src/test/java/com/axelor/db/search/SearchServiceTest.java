@@ -0,0 +1,94 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.db.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.junit.jupiter.api.Test;
+
+public class SearchServiceTest {
+
+  private static final List<String> NAMES = Arrays.asList("fileName", "metaFile.filePath");
+
+  private static Query wildcard(String[] fields) {
+    final BooleanQuery.Builder builder = new BooleanQuery.Builder();
+    for (String field : fields) {
+      builder.add(new WildcardQuery(new Term(field, "*text*")), BooleanClause.Occur.SHOULD);
+    }
+    return builder.build();
+  }
+
+  private static List<Query> clauses(Query query) {
+    return ((BooleanQuery) query)
+        .clauses().stream().map(BooleanClause::getQuery).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testNgramTerm() {
+    final Set<String> ngramNames = Collections.singleton("fileName");
+    final List<Query> clauses =
+        clauses(
+            SearchService.createSearchQuery(
+                NAMES, ngramNames, "Report", SearchServiceTest::wildcard));
+
+    assertEquals(2, clauses.size());
+    assertEquals(new TermQuery(new Term("fileName_ngram", "report")), clauses.get(0));
+    assertEquals(
+        Collections.singletonList(new WildcardQuery(new Term("metaFile.filePath", "*text*"))),
+        clauses(clauses.get(1)));
+  }
+
+  @Test
+  public void testUnfilledNgramField() {
+    final List<Query> clauses =
+        clauses(
+            SearchService.createSearchQuery(
+                NAMES, Collections.emptySet(), "Report", SearchServiceTest::wildcard));
+
+    assertEquals(1, clauses.size());
+    assertEquals(2, clauses(clauses.get(0)).size());
+  }
+
+  @Test
+  public void testNonNgramText() {
+    final Set<String> ngramNames = Collections.singleton("fileName");
+    for (String text : Arrays.asList("ab", "annual report", "report-2023")) {
+      final List<Query> clauses =
+          clauses(
+              SearchService.createSearchQuery(
+                  NAMES, ngramNames, text, SearchServiceTest::wildcard));
+
+      assertEquals(1, clauses.size(), text);
+      assertTrue(clauses.stream().noneMatch(TermQuery.class::isInstance), text);
+      assertEquals(2, clauses(clauses.get(0)).size(), text);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.meta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.JpaTest;
+import com.axelor.meta.ActionTrace.Node;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ActionTraceTest extends JpaTest {
+
+  private static final int MAX_STEPS = 10;
+
+  @BeforeEach
+  public void clearTraces() {
+    ActionTrace.clear();
+  }
+
+  private static int countSteps(Node node) {
+    int count = 1;
+    for (Node child : node.getChildren()) {
+      count += countSteps(child);
+    }
+    return count;
+  }
+
+  @Test
+  public void testTrace() {
+    final Node root = ActionTrace.enter("action-group", "action-test-group", MAX_STEPS);
+
+    final Node record = ActionTrace.enter("action-record", "action-test-record", MAX_STEPS);
+    ActionTrace.onStatementEnd();
+    ActionTrace.exit(record);
+
+    final Node condition = ActionTrace.enter("condition", "id != null", MAX_STEPS);
+    ActionTrace.onResult(condition, true);
+    ActionTrace.exit(condition);
+
+    ActionTrace.exit(root);
+
+    final List<ActionTrace.Trace> traces = ActionTrace.getTraces();
+
+    assertEquals(1, traces.size());
+    assertSame(root, traces.get(0).getRoot());
+    assertEquals(List.of(record, condition), root.getChildren());
+    assertEquals(1, root.getSqlCount());
+    assertEquals(true, condition.getResult());
+    assertEquals(0, root.getTruncated());
+    assertTrue(ActionTrace.getHistograms().containsKey("action-test-record"));
+  }
+
+  @Test
+  public void testMaxSteps() {
+    final Node root = ActionTrace.enter("action-group", "action-test-group", MAX_STEPS);
+    for (int i = 0; i < 20; i++) {
+      final Node script = ActionTrace.enter("script", "expr" + i, MAX_STEPS);
+      final Node call = ActionTrace.enter("call", "method" + i, MAX_STEPS);
+      ActionTrace.onStatementEnd();
+      ActionTrace.exit(call);
+      ActionTrace.exit(script);
+    }
+    ActionTrace.exit(root);
+
+    assertEquals(MAX_STEPS, countSteps(root));
+    assertEquals(41 - MAX_STEPS, root.getTruncated());
+
+    // dropped steps are still accounted
+    assertEquals(20, root.getSqlCount());
+
+    // and the next trace starts afresh
+    final Node next = ActionTrace.enter("action-group", "action-test-group", MAX_STEPS);
+    ActionTrace.exit(next);
+
+    assertEquals(2, ActionTrace.getTraces().size());
+    assertSame(next, ActionTrace.getTraces().get(0).getRoot());
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.meta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.axelor.auth.db.User;
+import com.axelor.meta.db.MetaView;
+import com.axelor.test.db.Contact;
+import org.junit.jupiter.api.Test;
+
+public class MetaVersionTest {
+
+  @Test
+  public void testVersion() {
+    final String version = MetaVersion.get();
+
+    // not tracked
+    MetaVersion.onChange(new Contact());
+    MetaVersion.transactionCompleted(true);
+    assertEquals(version, MetaVersion.get());
+
+    // rolled back
+    MetaVersion.onChange(new MetaView());
+    MetaVersion.transactionCompleted(false);
+    assertEquals(version, MetaVersion.get());
+
+    MetaVersion.onChange(new MetaView());
+    MetaVersion.transactionCompleted(true);
+    assertNotEquals(version, MetaVersion.get());
+  }
+
+  @Test
+  public void testUserFingerprint() {
+    final User user = new User("demo", "Demo");
+    user.setVersion(0);
+
+    final String fingerprint = MetaVersion.getFingerprint(user);
+    assertEquals(fingerprint, MetaVersion.getFingerprint(user));
+    assertNotEquals(fingerprint, MetaVersion.getFingerprint(null));
+    assertNotEquals(fingerprint, MetaVersion.getFingerprint(new User("admin", "Admin")));
+
+    // the user was changed, its groups, roles or custom views may differ
+    user.setVersion(1);
+    assertNotEquals(fingerprint, MetaVersion.getFingerprint(user));
+  }
+}
@@ -21,6 +21,7 @@ package com.axelor.meta;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -28,6 +29,7 @@ import com.axelor.meta.schema.ObjectViews;
 import com.axelor.meta.schema.actions.Action;
 import com.axelor.meta.schema.actions.validate.validator.Info;
 import com.axelor.meta.schema.views.FormView;
+import com.axelor.rpc.ActionBatchRequest;
 import com.axelor.rpc.ActionRequest;
 import com.axelor.rpc.ActionResponse;
 import com.axelor.test.db.Address;
@@ -130,6 +132,46 @@ public class TestActions extends MetaTest {
     assertEquals("john.smith@gmail.com", c.getEmail());
   }
 
+  @Test
+  public void testBatch() {
+    ActionBatchRequest request = new ActionBatchRequest();
+    request.setModel(Contact.class.getName());
+    request.setData(new HashMap<>(Map.of("context", new HashMap<>())));
+
+    ActionRequest defaults = new ActionRequest();
+    defaults.setAction("action-contact-defaults");
+
+    ActionRequest proxy = new ActionRequest();
+    proxy.setAction("action-contact-context-proxy");
+
+    ActionRequest signal = new ActionRequest();
+    signal.setAction("action-contact-signal");
+    signal.setData(Map.of("context", Map.of("_signal", "save")));
+
+    ActionRequest noSignal = new ActionRequest();
+    noSignal.setAction("action-contact-signal");
+
+    request.setActions(List.of(signal, defaults, proxy, noSignal));
+
+    List<ActionResponse> responses = executor.execute(request);
+    assertEquals(4, responses.size());
+
+    // values set by the first action are seen by the next one
+    assertEquals("John", getAttr(responses.get(2), "contactFirstName"));
+
+    // extra context values of an item are only seen by its action
+    assertEquals("save", getAttr(responses.get(0), "signal"));
+    assertNull(getAttr(responses.get(3), "signal"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object getAttr(ActionResponse response, String field) {
+    Map<String, Object> data = (Map<String, Object>) response.getItem(0);
+    Map<String, Object> attrs = data == null ? null : (Map<String, Object>) data.get("attrs");
+    Map<String, Object> attr = attrs == null ? null : (Map<String, Object>) attrs.get(field);
+    return attr == null ? null : attr.get("value");
+  }
+
   @Test
   public void testAttrs() {
     Action action = MetaStore.getAction("action-contact-attrs");
@@ -21,6 +21,7 @@ package com.axelor.meta.loader;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 
 import com.axelor.auth.db.Group;
 import com.axelor.auth.db.Role;
@@ -28,6 +29,7 @@ import com.axelor.auth.db.User;
 import com.axelor.auth.db.repo.RoleRepository;
 import com.axelor.auth.db.repo.UserRepository;
 import com.axelor.common.ResourceUtils;
+import com.axelor.db.JPA;
 import com.axelor.meta.MetaTest;
 import com.axelor.meta.db.MetaMenu;
 import com.axelor.meta.db.repo.MetaMenuRepository;
@@ -39,6 +41,7 @@ import com.google.inject.persist.Transactional;
 import java.io.IOException;
 import java.net.URL;
 import java.util.List;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.xml.bind.JAXBException;
 import org.junit.jupiter.api.BeforeEach;
@@ -98,6 +101,52 @@ public class TestMenu extends MetaTest {
     assertFalse(demoMenus.stream().anyMatch(it -> it.getName().equals("menu-root-3-3")));
   }
 
+  @Test
+  public void testMenusCache() {
+    User admin = users.findByCode("admin");
+
+    List<MenuItem> first = menuService.getMenus(admin);
+    List<MenuItem> second = menuService.getMenus(admin);
+    assertEquals(names(first), names(second));
+
+    // cached menus are copied, changes to returned items don't leak into other calls
+    MenuItem item = find(first, "menu-root-1");
+    assertNotSame(item, find(second, "menu-root-1"));
+    item.setTitle("Changed");
+    assertEquals("Root 1", find(menuService.getMenus(admin), "menu-root-1").getTitle());
+  }
+
+  @Test
+  public void testMenusChanged() {
+    User admin = users.findByCode("admin");
+    assertEquals("Root 1", find(menuService.getMenus(admin), "menu-root-1").getTitle());
+
+    try {
+      setTitle("menu-root-1", "Root 1 (renamed)");
+      assertEquals("Root 1 (renamed)", find(menuService.getMenus(admin), "menu-root-1").getTitle());
+    } finally {
+      setTitle("menu-root-1", "Root 1");
+    }
+    assertEquals("Root 1", find(menuService.getMenus(admin), "menu-root-1").getTitle());
+  }
+
+  private void setTitle(String name, String title) {
+    JPA.runInTransaction(
+        () -> {
+          MetaMenu menu = metaMenuRepository.findByName(name);
+          menu.setTitle(title);
+          metaMenuRepository.save(menu);
+        });
+  }
+
+  private static List<String> names(List<MenuItem> items) {
+    return items.stream().map(MenuItem::getName).collect(Collectors.toList());
+  }
+
+  private static MenuItem find(List<MenuItem> items, String name) {
+    return items.stream().filter(it -> name.equals(it.getName())).findFirst().orElseThrow();
+  }
+
   @Test
   @Transactional
   public void testTags() {
@@ -0,0 +1,115 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.meta.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class TestModuleManager {
+
+  private final Module core = new Module("axelor-core");
+  private final Module auth = new Module("axelor-auth");
+  private final Module contact = new Module("axelor-contact");
+  private final Module sale = new Module("axelor-sale");
+
+  private List<Module> modules() {
+    auth.dependsOn(core);
+    contact.dependsOn(core);
+    sale.dependsOn(auth);
+    sale.dependsOn(contact);
+    return Arrays.asList(core, auth, contact, sale);
+  }
+
+  @Test
+  public void testRunInOrder() {
+    final List<Module> modules = modules();
+    final Map<Module, Integer> started = new ConcurrentHashMap<>();
+    final Map<Module, Integer> finished = new ConcurrentHashMap<>();
+    final AtomicInteger clock = new AtomicInteger();
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final CountDownLatch independents = new CountDownLatch(2);
+
+    ModuleManager.runInOrder(
+        modules,
+        2,
+        module -> {
+          started.put(module, clock.incrementAndGet());
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          if (module == auth || module == contact) {
+            // only returns early if both modules run at the same time
+            independents.countDown();
+            try {
+              independents.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+          running.decrementAndGet();
+          finished.put(module, clock.incrementAndGet());
+        });
+
+    assertEquals(4, finished.size());
+    assertEquals(0, independents.getCount());
+    assertEquals(2, maxRunning.get());
+    for (Module module : modules) {
+      for (Module depend : module.getDepends()) {
+        assertTrue(finished.get(depend) < started.get(module), module.getName());
+      }
+    }
+  }
+
+  @Test
+  public void testRunInOrderFailure() {
+    final List<Module> modules = modules();
+    final Set<Module> done = ConcurrentHashMap.newKeySet();
+    final IllegalStateException error = new IllegalStateException("failed");
+
+    final RuntimeException thrown =
+        assertThrows(
+            RuntimeException.class,
+            () ->
+                ModuleManager.runInOrder(
+                    modules,
+                    2,
+                    module -> {
+                      if (module == auth) {
+                        throw error;
+                      }
+                      done.add(module);
+                    }));
+
+    assertSame(error, thrown);
+    assertTrue(done.contains(core));
+    assertFalse(done.contains(sale));
+  }
+}
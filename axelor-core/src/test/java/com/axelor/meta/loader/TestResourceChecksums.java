@@ -0,0 +1,96 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.meta.loader;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.JpaTest;
+import com.axelor.db.JPA;
+import com.axelor.db.Query;
+import com.axelor.meta.db.MetaChecksum;
+import com.axelor.meta.db.repo.MetaChecksumRepository;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import javax.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestResourceChecksums extends JpaTest {
+
+  private static final String MODULE_NAME = "test-checksums";
+
+  @Inject private MetaChecksumRepository repository;
+
+  private Path file;
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    JPA.runInTransaction(
+        () ->
+            Query.of(MetaChecksum.class)
+                .filter("self.module = :module")
+                .bind("module", MODULE_NAME)
+                .delete());
+    if (file != null) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testUnchanged() throws IOException {
+    final ResourceChecksums checksums = new ResourceChecksums(repository);
+    final Module module = new Module(MODULE_NAME);
+
+    file = Files.createTempFile("views", ".xml");
+    Files.write(file, "<views/>".getBytes(StandardCharsets.UTF_8));
+    final List<URL> files = Collections.singletonList(file.toUri().toURL());
+
+    // first load, recorded once committed
+    checksums.start(true);
+    assertFalse(checksums.isUnchanged(module, files));
+    checksums.commit();
+
+    checksums.start(true);
+    assertTrue(checksums.isUnchanged(module, files));
+
+    // restoring reloads everything
+    checksums.start(false);
+    assertFalse(checksums.isUnchanged(module, files));
+
+    // not committed, so still reloaded next time
+    Files.write(file, "<views></views>".getBytes(StandardCharsets.UTF_8));
+    checksums.start(true);
+    assertFalse(checksums.isUnchanged(module, files));
+    checksums.clear();
+
+    checksums.start(true);
+    assertFalse(checksums.isUnchanged(module, files));
+    checksums.commit();
+
+    checksums.start(true);
+    assertTrue(checksums.isUnchanged(module, files));
+    checksums.clear();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.meta.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.db.hibernate.dialect.JsonIndexSupport;
+import com.axelor.db.hibernate.dialect.PostgreSQLJsonIndexSupport;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class JsonIndexServiceTest {
+
+  private final JsonIndexSupport support = new PostgreSQLJsonIndexSupport() {};
+
+  private final Map<String, List<String>> wanted =
+      Map.of(
+          "json_idx_a",
+          support.getCreateJsonIndexCommands("json_idx_a", "contact", "expr_a", "integer"),
+          "json_idx_b",
+          support.getCreateJsonIndexCommands("json_idx_b", "contact", "expr_b", "integer"));
+
+  @Test
+  public void testCreateMissing() {
+    final List<String> commands =
+        JsonIndexService.getUpdateCommands(
+            support, Map.of("json_idx_a", "contact"), Set.of(), wanted);
+    assertEquals(wanted.get("json_idx_b"), commands);
+  }
+
+  @Test
+  public void testDropUnwanted() {
+    final List<String> commands =
+        JsonIndexService.getUpdateCommands(
+            support,
+            Map.of("json_idx_a", "contact", "json_idx_b", "contact", "json_idx_c", "contact"),
+            Set.of(),
+            wanted);
+    assertEquals(support.getDropJsonIndexCommands("json_idx_c", "contact"), commands);
+  }
+
+  @Test
+  public void testRebuildInvalid() {
+    final List<String> commands =
+        JsonIndexService.getUpdateCommands(
+            support,
+            Map.of("json_idx_a", "contact", "json_idx_b", "contact"),
+            Set.of("json_idx_a"),
+            wanted);
+    final List<String> drop = support.getDropJsonIndexCommands("json_idx_a", "contact");
+    final List<String> create = wanted.get("json_idx_a");
+    assertEquals(drop.size() + create.size(), commands.size());
+    assertEquals(drop, commands.subList(0, drop.size()));
+    assertEquals(create, commands.subList(drop.size(), commands.size()));
+    assertTrue(commands.get(0).startsWith("DROP INDEX"));
+  }
+}
@@ -19,6 +19,7 @@
 package com.axelor.report;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -32,6 +33,7 @@ import java.util.HashMap;
 import java.util.Map;
 import javax.inject.Inject;
 import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.engine.api.IReportRunnable;
 import org.eclipse.birt.report.model.api.IResourceLocator;
 import org.junit.jupiter.api.Test;
 
@@ -59,6 +61,14 @@ public class ReportTest extends JpaTest {
     assertNotNull(found);
   }
 
+  @Test
+  public void testDesignCache() throws Exception {
+    IReportRunnable first = generator.openReportDesign(DESIGN);
+    IReportRunnable second = generator.openReportDesign(DESIGN);
+    assertNotNull(first);
+    assertSame(first, second);
+  }
+
   @Test
   public void testRender() {
 
@@ -0,0 +1,94 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.rpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.db.hibernate.stats.RequestStatsListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RequestStatsTest {
+
+  public static class CommentInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+      return sql + " /* inspected */";
+    }
+  }
+
+  @BeforeEach
+  public void setUp() {
+    RequestStats.clearSummaries();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    RequestStats.clearSummaries();
+  }
+
+  @Test
+  public void testSummary() {
+    new RequestStats("RequestStatsTest.summary").stop();
+    new RequestStats("RequestStatsTest.summary").stop();
+
+    final RequestStats.Summary summary =
+        RequestStats.getSummaries().get("RequestStatsTest.summary");
+
+    assertNotNull(summary);
+    assertEquals(2, summary.getCount());
+  }
+
+  @Test
+  public void testSummariesBounded() {
+    for (int i = 0; i < RequestStats.MAX_SUMMARIES + 10; i++) {
+      new RequestStats("RequestStatsTest.bounded[" + i + "]").stop();
+    }
+
+    assertTrue(RequestStats.getSummaries().size() <= RequestStats.MAX_SUMMARIES + 1);
+    assertTrue(RequestStats.getSummaries().get(RequestStats.OTHER).getCount() >= 10);
+  }
+
+  @Test
+  public void testChainedInspector() {
+    final StatementInspector inspector = new CommentInspector();
+
+    assertNull(RequestStatsListener.toInspector(null));
+    assertSame(inspector, RequestStatsListener.toInspector(inspector));
+    assertTrue(
+        RequestStatsListener.toInspector(CommentInspector.class.getName())
+            instanceof CommentInspector);
+    assertThrows(
+        IllegalArgumentException.class, () -> RequestStatsListener.toInspector("no.Such"));
+
+    assertEquals("select 1", new RequestStatsListener().inspect("select 1"));
+    assertEquals(
+        "select 1 /* inspected */", new RequestStatsListener(inspector).inspect("select 1"));
+  }
+}
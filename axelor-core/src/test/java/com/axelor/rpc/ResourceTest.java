@@ -31,6 +31,7 @@ import com.axelor.test.db.Circle;
 import com.axelor.test.db.Contact;
 import com.axelor.test.db.Title;
 import com.axelor.test.db.repo.ContactRepository;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.inject.persist.Transactional;
@@ -38,6 +39,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -48,6 +51,8 @@ public class ResourceTest extends RpcTest {
 
   @Inject ContactRepository contacts;
 
+  @Inject MassOperationService massOperations;
+
   @BeforeEach
   @Transactional
   public void ensureAuth() {
@@ -80,6 +85,60 @@ public class ResourceTest extends RpcTest {
     assertTrue(res.getData() instanceof List);
   }
 
+  @Test
+  @SuppressWarnings("all")
+  public void testSearchStream() throws Exception {
+
+    Request req = fromJson("find3.json", Request.class);
+    Response res = resource.search(req);
+
+    Request streamReq = fromJson("find3.json", Request.class);
+    Response streamRes = resource.searchStream(streamReq);
+
+    assertNotNull(streamRes);
+    assertTrue(streamRes.getData() instanceof StreamingData);
+    assertEquals(res.getTotal(), streamRes.getTotal());
+
+    List<Map> items = mapper.readValue(toJson(streamRes.getData()), List.class);
+    assertEquals(((List) res.getData()).size(), items.size());
+  }
+
+  @Test
+  @SuppressWarnings("all")
+  public void testSearchStreamKeepsChanges() throws Exception {
+    final EntityManager em = JPA.em();
+    final EntityTransaction txn = em.getTransaction();
+    txn.begin();
+    try {
+      Contact contact = contacts.all().order("id").fetchOne();
+      String firstName = contact.getFirstName() + " (changed)";
+      contact.setFirstName(firstName);
+
+      Request req = new Request();
+      req.setModel(Contact.class.getName());
+
+      Response res = resource.searchStream(req);
+      List<Map> items = mapper.readValue(toJson(res.getData()), List.class);
+
+      // the streamed records are evicted, not the records changed by the caller
+      assertTrue(em.contains(contact));
+      assertTrue(
+          items.stream()
+              .anyMatch(
+                  item ->
+                      contact.getId().equals(((Number) item.get("id")).longValue())
+                          && firstName.equals(item.get("firstName"))));
+      assertEquals(
+          firstName,
+          em.createQuery("SELECT self.firstName FROM Contact self WHERE self.id = :id")
+              .setParameter("id", contact.getId())
+              .getSingleResult());
+    } finally {
+      txn.rollback();
+      em.clear();
+    }
+  }
+
   @Test
   @SuppressWarnings("all")
   @Transactional
@@ -150,4 +209,38 @@ public class ResourceTest extends RpcTest {
     assertSame(c, c.getAddresses().get(0).getContact());
     assertSame(n, n.getAddresses().get(0).getContact());
   }
+
+  @Test
+  @SuppressWarnings("all")
+  public void testUpdateMassAsync() throws Exception {
+
+    final String domain = "self.title.code = 'mr'";
+    final String json =
+        toJson(
+            ImmutableMap.of(
+                "data",
+                ImmutableMap.of("_domain", domain),
+                "records",
+                ImmutableList.of(ImmutableMap.of("notes", "mass update"))));
+
+    final Request req = fromJson(json, Request.class);
+    final Response res = resource.updateMassAsync(req);
+
+    assertEquals(Response.STATUS_SUCCESS, res.getStatus());
+
+    final String id = (String) ((Map) res.getData()).get("id");
+    final long timeout = System.currentTimeMillis() + 30_000;
+
+    final MassOperation operation = massOperations.get(id);
+    while (!operation.isCompleted() && System.currentTimeMillis() < timeout) {
+      Thread.sleep(50);
+    }
+
+    final long total = contacts.all().filter(domain).count();
+
+    assertEquals(MassOperation.Status.DONE, operation.getStatus());
+    assertTrue(total > 0);
+    assertEquals(total, operation.getProcessed());
+    assertEquals(total, contacts.all().filter(domain + " AND self.notes = 'mass update'").count());
+  }
 }
@@ -26,11 +26,14 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.axelor.inject.Beans;
 import com.axelor.rpc.Context;
 import com.axelor.rpc.ContextEntity;
+import com.axelor.test.db.Circle;
 import com.axelor.test.db.Contact;
 import com.axelor.test.db.TypeCheck;
 import com.axelor.test.db.repo.ContactRepository;
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
@@ -94,6 +97,27 @@ public class TestContext extends ScriptTest {
     assertNotNull(((ContextEntity) proxy).getContextMap());
   }
 
+  @Test
+  public void testCollectionReferences() {
+    final Contact managed = getEntityManager().find(Contact.class, contact.getId());
+    final Map<String, Object> values = contextMap();
+    final List<Map<String, Object>> circles = new ArrayList<>();
+    for (Circle circle : managed.getCircles()) {
+      final Map<String, Object> item = new HashMap<>();
+      item.put("id", circle.getId());
+      circles.add(item);
+    }
+    values.put("circles", circles);
+
+    final Contact proxy = new Context(values, Contact.class).asType(Contact.class);
+
+    assertEquals(managed.getCircles().size(), proxy.getCircles().size());
+    for (Circle circle : proxy.getCircles()) {
+      assertTrue(getEntityManager().contains(circle));
+      assertTrue(managed.getCircles().contains(circle));
+    }
+  }
+
   @Test
   public void testBooleanAndIntegerFields() {
     Map<String, Object> data = new HashMap<>();
@@ -87,6 +87,37 @@ public class TestJavaScript extends ScriptTest {
     assertEquals(2, ((Map<?, ?>) map).size());
   }
 
+  @Test
+  public void doSharedContextTest() {
+    final ScriptHelper first = new JavaScriptScriptHelper(context());
+    first.eval("var leaked = 1");
+
+    final ScriptHelper second = new JavaScriptScriptHelper(context());
+    assertEquals("undefined", second.eval("typeof leaked"));
+
+    final Object map = second.eval("({a: [1, 2], b: firstName})");
+    second.eval("lastName");
+
+    assertTrue(map instanceof Map);
+    assertEquals(List.of(1, 2), ((Map<?, ?>) map).get("a"));
+    assertEquals(second.eval("firstName"), ((Map<?, ?>) map).get("b"));
+  }
+
+  @Test
+  public void doPollutedContextTest() {
+    final ScriptHelper first = new JavaScriptScriptHelper(context());
+    first.eval("Math = {max: () => 42}; true");
+    first.eval("JSON.stringify = () => 'leaked'; true");
+    first.eval("Array.prototype.leaked = 1; true");
+    first.eval("Object.prototype.toString = () => 'leaked'; true");
+
+    final ScriptHelper second = new JavaScriptScriptHelper(context());
+    assertEquals(2, second.eval("Math.max(1, 2)"));
+    assertEquals("[1]", second.eval("JSON.stringify([1])"));
+    assertEquals("undefined", second.eval("typeof [].leaked"));
+    assertEquals("[object Object]", second.eval("({}).toString()"));
+  }
+
   @Test
   public void doJsonTest() {
     final ScriptHelper helper = new JavaScriptScriptHelper(context());
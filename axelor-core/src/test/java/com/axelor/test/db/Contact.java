@@ -41,6 +41,9 @@ import javax.persistence.FetchType;
 import javax.persistence.Lob;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.Transient;
@@ -48,6 +51,11 @@ import javax.validation.constraints.NotNull;
 import org.hibernate.annotations.Type;
 
 @Entity
+@NamedEntityGraphs({
+  @NamedEntityGraph(
+      name = "Contact.form",
+      attributeNodes = {@NamedAttributeNode("title"), @NamedAttributeNode("addresses")})
+})
 @Table(name = "CONTACT_CONTACT")
 public class Contact extends JpaModel {
 
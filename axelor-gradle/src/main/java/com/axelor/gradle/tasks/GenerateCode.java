@@ -37,11 +37,17 @@ import java.util.stream.Collectors;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.ResolvedArtifact;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.OutputDirectories;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.util.PatternSet;
 
+@CacheableTask
 public class GenerateCode extends DefaultTask {
 
   public static final String TASK_NAME = "generateCode";
@@ -56,6 +62,21 @@ public class GenerateCode extends DefaultTask {
 
   private Function<String, String> formatter;
 
+  public GenerateCode() {
+    // the formatter can't be declared as an input, so outputs are only reused without one
+    getOutputs().cacheIf("no formatter is set", task -> formatter == null);
+    getOutputs().upToDateWhen(task -> formatter == null);
+  }
+
+  /**
+   * Set the formatter of the generated sources.
+   *
+   * <p>The formatter is called concurrently, as types are rendered in parallel, so it must be
+   * thread-safe. As it is not a task input, the task is neither cached nor up-to-date when a
+   * formatter is set.
+   *
+   * @param formatter the formatter of the generated sources
+   */
   public void setFormatter(Function<String, String> formatter) {
     this.formatter = formatter;
   }
@@ -77,17 +98,37 @@ public class GenerateCode extends DefaultTask {
   }
 
   @InputFiles
+  @PathSensitive(PathSensitivity.RELATIVE)
   public List<File> getLookupFiles() {
     return AxelorUtils.findAxelorProjects(getProject()).stream()
-        .map(sub -> getJavaOutputDir(sub))
+        .map(sub -> getInputDir(sub))
+        .collect(Collectors.toList());
+  }
+
+  @Classpath
+  public List<File> getLookupArtifacts() {
+    final Project project = getProject();
+    return AxelorUtils.findAxelorArtifacts(project).stream()
+        .filter(artifact -> AxelorUtils.findProject(project, artifact) == null)
+        .map(ResolvedArtifact::getFile)
         .collect(Collectors.toList());
   }
 
   @InputFiles
+  @PathSensitive(PathSensitivity.RELATIVE)
   public File getInputDirectory() {
     return getInputDir(getProject());
   }
 
+  @Input
+  public String getModuleInfo() {
+    final AxelorExtension extension =
+        getProject().getExtensions().findByType(AxelorExtension.class);
+    return extension == null
+        ? ""
+        : buildInfo(extension, AxelorUtils.findAxelorArtifacts(getProject()));
+  }
+
   @OutputDirectories
   public List<File> getOutputDirectories() {
     return Arrays.asList(getJavaOutputDir(getProject()), getResourceOutputDir(getProject()));
@@ -95,7 +136,6 @@ public class GenerateCode extends DefaultTask {
 
   private void generateInfo(AxelorExtension extension, List<ResolvedArtifact> artifacts)
       throws IOException {
-    final Project project = getProject();
     final File outputPath =
         FileUtils.getFile(
             getResourceOutputDir(getProject()), "META-INF", "axelor-module.properties");
@@ -107,6 +147,12 @@ public class GenerateCode extends DefaultTask {
 
     getLogger().info("Generating: {}", outputPath.getParent());
 
+    Files.asCharSink(outputPath, StandardCharsets.UTF_8).write(buildInfo(extension, artifacts));
+  }
+
+  private String buildInfo(AxelorExtension extension, List<ResolvedArtifact> artifacts) {
+    final Project project = getProject();
+
     List<String> descriptionLines = new ArrayList<>();
     List<String> depends = new ArrayList<>();
 
@@ -151,7 +197,7 @@ public class GenerateCode extends DefaultTask {
       text.append("\n").append("depends = ").append(Joiner.on(", ").join(depends)).append("\n");
     }
 
-    Files.asCharSink(outputPath, StandardCharsets.UTF_8).write(text);
+    return text.toString();
   }
 
   private EntityGenerator buildGenerator(Project project) {
@@ -39,6 +39,14 @@ public class TomcatRun extends AbstractRunTask {
 
   private boolean debug;
 
+  private boolean http2;
+
+  private boolean compression;
+
+  private boolean virtualThreads;
+
+  private Integer maxThreads;
+
   @Option(option = "port", description = "Specify the tomcat server port (default 8080).")
   public void setPort(String port) {
     this.port = Integer.parseInt(port);
@@ -49,6 +57,28 @@ public class TomcatRun extends AbstractRunTask {
     this.debug = debug;
   }
 
+  @Option(option = "http2", description = "Specify whether to enable HTTP/2 (h2c).")
+  public void setHttp2(boolean http2) {
+    this.http2 = http2;
+  }
+
+  @Option(option = "compression", description = "Specify whether to compress responses.")
+  public void setCompression(boolean compression) {
+    this.compression = compression;
+  }
+
+  @Option(
+      option = "virtual-threads",
+      description = "Specify whether to use virtual threads (requires JDK 21+).")
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  @Option(option = "max-threads", description = "Specify the maximum number of request threads.")
+  public void setMaxThreads(String maxThreads) {
+    this.maxThreads = Integer.parseInt(maxThreads);
+  }
+
   public static List<String> getArgs(Project project, int port) {
     final File baseDir = FileUtils.getFile(project.getBuildDir(), "tomcat");
     final File confFile = FileUtils.getFile(baseDir, TomcatSupport.TOMCAT_RUNNER_CONFIG);
@@ -73,7 +103,21 @@ public class TomcatRun extends AbstractRunTask {
 
   @Input
   protected List<String> getArgs() {
-    return getArgs(getProject(), port);
+    final List<String> args = getArgs(getProject(), port);
+    if (http2) {
+      args.add("--http2");
+    }
+    if (compression) {
+      args.add("--compression");
+    }
+    if (virtualThreads) {
+      args.add("--virtual-threads");
+    }
+    if (maxThreads != null) {
+      args.add("--max-threads");
+      args.add("" + maxThreads);
+    }
+    return args;
   }
 
   @Input
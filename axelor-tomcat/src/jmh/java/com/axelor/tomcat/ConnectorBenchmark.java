@@ -0,0 +1,132 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.tomcat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load test of the embedded server with different connector profiles.
+ *
+ * <p>Run with <code>./gradlew :axelor-tomcat:jmh -Pjmh.includes=ConnectorBenchmark</code>. The
+ * throughput is reported in requests per millisecond and the sampled latencies include the p99
+ * percentile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class ConnectorBenchmark {
+
+  @Param({"default", "tuned", "http2", "virtual"})
+  public String profile;
+
+  private TomcatServer server;
+
+  private HttpClient client;
+
+  private HttpRequest request;
+
+  @Setup
+  public void setup() throws IOException {
+    final Path webapp = Files.createTempDirectory("axelor-tomcat-webapp");
+    final StringBuilder page = new StringBuilder();
+    for (int i = 0; i < 500; i++) {
+      page.append("<p>Line ").append(i).append(" of some compressible text.</p>\n");
+    }
+    Files.writeString(webapp.resolve("index.html"), page, StandardCharsets.UTF_8);
+
+    final TomcatOptions options = new TomcatOptions(webapp);
+    options.setBaseDir(Files.createTempDirectory("axelor-tomcat-base"));
+    options.setPort(0);
+    configure(options);
+
+    server = new TomcatServer(options);
+    server.start(false);
+
+    client =
+        HttpClient.newBuilder()
+            .version(options.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .build();
+    request =
+        HttpRequest.newBuilder(
+                URI.create("http://localhost:" + server.getLocalPort() + "/index.html"))
+            .header("Accept-Encoding", "gzip")
+            .GET()
+            .build();
+  }
+
+  private void configure(TomcatOptions options) {
+    if ("default".equals(profile)) {
+      return;
+    }
+
+    options.setCompression(true);
+    options.setMaxThreads(400);
+    options.setMinSpareThreads(25);
+    options.setAcceptCount(200);
+    options.setKeepAliveTimeout(30_000);
+    options.setMaxKeepAliveRequests(1000);
+
+    if ("http2".equals(profile)) {
+      options.setHttp2(true);
+    }
+    if ("virtual".equals(profile)) {
+      options.setVirtualThreads(true);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    server.stop();
+  }
+
+  @Benchmark
+  public int get() throws IOException, InterruptedException {
+    final HttpResponse<byte[]> response =
+        client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("Unexpected status: " + response.statusCode());
+    }
+    return response.body().length;
+  }
+}
@@ -38,6 +38,28 @@ public class TomcatOptions {
 
   private List<Path> libs = new ArrayList<>();
 
+  private boolean http2;
+
+  private boolean compression;
+
+  private Integer compressionMinSize;
+
+  private boolean virtualThreads;
+
+  private Integer maxThreads;
+
+  private Integer minSpareThreads;
+
+  private Integer acceptCount;
+
+  private Integer maxConnections;
+
+  private Integer connectionTimeout;
+
+  private Integer keepAliveTimeout;
+
+  private Integer maxKeepAliveRequests;
+
   public TomcatOptions(Path webapp) {
     this.roots.add(webapp);
   }
@@ -104,6 +126,111 @@ public class TomcatOptions {
     return libs;
   }
 
+  /**
+   * Whether to enable HTTP/2, using the <code>h2c</code> upgrade on the HTTP connector.
+   *
+   * @return true if HTTP/2 is enabled
+   */
+  public boolean isHttp2() {
+    return http2;
+  }
+
+  public void setHttp2(boolean http2) {
+    this.http2 = http2;
+  }
+
+  /**
+   * Whether to compress text responses, like html, css, javascript and json.
+   *
+   * @return true if response compression is enabled
+   */
+  public boolean isCompression() {
+    return compression;
+  }
+
+  public void setCompression(boolean compression) {
+    this.compression = compression;
+  }
+
+  public Integer getCompressionMinSize() {
+    return compressionMinSize;
+  }
+
+  public void setCompressionMinSize(Integer compressionMinSize) {
+    this.compressionMinSize = compressionMinSize;
+  }
+
+  /**
+   * Whether to process requests on virtual threads.
+   *
+   * <p>Virtual threads require JDK 21 or later, platform threads are used otherwise.
+   *
+   * @return true if virtual threads are requested
+   */
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  public Integer getMaxThreads() {
+    return maxThreads;
+  }
+
+  public void setMaxThreads(Integer maxThreads) {
+    this.maxThreads = maxThreads;
+  }
+
+  public Integer getMinSpareThreads() {
+    return minSpareThreads;
+  }
+
+  public void setMinSpareThreads(Integer minSpareThreads) {
+    this.minSpareThreads = minSpareThreads;
+  }
+
+  public Integer getAcceptCount() {
+    return acceptCount;
+  }
+
+  public void setAcceptCount(Integer acceptCount) {
+    this.acceptCount = acceptCount;
+  }
+
+  public Integer getMaxConnections() {
+    return maxConnections;
+  }
+
+  public void setMaxConnections(Integer maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  public Integer getConnectionTimeout() {
+    return connectionTimeout;
+  }
+
+  public void setConnectionTimeout(Integer connectionTimeout) {
+    this.connectionTimeout = connectionTimeout;
+  }
+
+  public Integer getKeepAliveTimeout() {
+    return keepAliveTimeout;
+  }
+
+  public void setKeepAliveTimeout(Integer keepAliveTimeout) {
+    this.keepAliveTimeout = keepAliveTimeout;
+  }
+
+  public Integer getMaxKeepAliveRequests() {
+    return maxKeepAliveRequests;
+  }
+
+  public void setMaxKeepAliveRequests(Integer maxKeepAliveRequests) {
+    this.maxKeepAliveRequests = maxKeepAliveRequests;
+  }
+
   public Path getDocBase() {
     return roots.isEmpty() ? Paths.get("src/main/webapp") : roots.get(0);
   }
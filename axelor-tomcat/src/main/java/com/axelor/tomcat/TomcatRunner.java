@@ -46,6 +46,10 @@ public class TomcatRunner {
   private static final String OPTION_CLASSES = "extra-classes";
   private static final String OPTION_LIBS = "extra-libs";
   private static final String OPTION_CONFIG = "config";
+  private static final String OPTION_HTTP2 = "http2";
+  private static final String OPTION_COMPRESSION = "compression";
+  private static final String OPTION_VIRTUAL_THREADS = "virtual-threads";
+  private static final String OPTION_MAX_THREADS = "max-threads";
 
   private static Option addOption(Options options, String name, String argName, String desc) {
     final Option option = Option.builder().longOpt(name).desc(desc).build();
@@ -74,6 +78,13 @@ public class TomcatRunner {
         .collect(Collectors.toList());
   }
 
+  private static Integer getInteger(String value) {
+    if (value == null || value.trim().length() == 0) {
+      return null;
+    }
+    return Integer.valueOf(value.trim());
+  }
+
   public static void main(String[] args) {
     final Options options = new Options();
     final CommandLineParser parser = new DefaultParser();
@@ -86,6 +97,10 @@ public class TomcatRunner {
     addOption(options, OPTION_CLASSES, "DIR,...", "The list of extra classes dirs.");
     addOption(options, OPTION_LIBS, "JAR,...", "The list of extra jar libs.");
     addOption(options, OPTION_CONFIG, "FILE", "The config file.");
+    addOption(options, OPTION_HTTP2, null, "Enable HTTP/2 (h2c).");
+    addOption(options, OPTION_COMPRESSION, null, "Enable response compression.");
+    addOption(options, OPTION_VIRTUAL_THREADS, null, "Use virtual threads (JDK 21+).");
+    addOption(options, OPTION_MAX_THREADS, "NUMBER", "The maximum number of request threads.");
 
     try {
       cli = parser.parse(options, args);
@@ -167,6 +182,31 @@ public class TomcatRunner {
 
     getList(props, "extraLibs").stream().map(Paths::get).forEach(settings::addLib);
 
+    // connector profile
+    settings.setHttp2(
+        cli.hasOption(OPTION_HTTP2) || Boolean.parseBoolean(props.getProperty("http2")));
+    settings.setCompression(
+        cli.hasOption(OPTION_COMPRESSION)
+            || Boolean.parseBoolean(props.getProperty("compression")));
+    settings.setVirtualThreads(
+        cli.hasOption(OPTION_VIRTUAL_THREADS)
+            || Boolean.parseBoolean(props.getProperty("virtualThreads")));
+
+    try {
+      settings.setMaxThreads(
+          getInteger(cli.getOptionValue(OPTION_MAX_THREADS, props.getProperty("maxThreads"))));
+      settings.setMinSpareThreads(getInteger(props.getProperty("minSpareThreads")));
+      settings.setAcceptCount(getInteger(props.getProperty("acceptCount")));
+      settings.setMaxConnections(getInteger(props.getProperty("maxConnections")));
+      settings.setConnectionTimeout(getInteger(props.getProperty("connectionTimeout")));
+      settings.setKeepAliveTimeout(getInteger(props.getProperty("keepAliveTimeout")));
+      settings.setMaxKeepAliveRequests(getInteger(props.getProperty("maxKeepAliveRequests")));
+      settings.setCompressionMinSize(getInteger(props.getProperty("compressionMinSize")));
+    } catch (NumberFormatException e) {
+      System.err.println("Invalid connector option: " + e.getMessage());
+      return;
+    }
+
     final TomcatServer server = new TomcatServer(settings);
     server.start();
   }
@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.catalina.Context;
 import org.apache.catalina.Host;
 import org.apache.catalina.Lifecycle;
@@ -37,11 +39,15 @@ import org.apache.catalina.startup.Tomcat;
 import org.apache.catalina.webresources.DirResourceSet;
 import org.apache.catalina.webresources.FileResourceSet;
 import org.apache.catalina.webresources.StandardRoot;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.http2.Http2Protocol;
 
 public class TomcatServer {
 
   private Tomcat tomcat;
 
+  private ExecutorService executor;
+
   private final TomcatOptions options;
 
   public TomcatServer(TomcatOptions options) {
@@ -110,6 +116,8 @@ public class TomcatServer {
     connector.setPort(port);
     connector.setProperty("bindOnInit", "false");
 
+    configure(connector);
+
     tomcat.setConnector(connector);
     tomcat.setPort(port);
 
@@ -160,7 +168,10 @@ public class TomcatServer {
                     stop();
                   } else {
                     System.out.println();
-                    System.out.println("Running at http://localhost:" + port + contextPath);
+                    System.out.println(
+                        "Running at http://localhost:"
+                            + tomcat.getConnector().getLocalPort()
+                            + contextPath);
                     System.out.println();
                   }
                 }
@@ -172,7 +183,76 @@ public class TomcatServer {
     return tomcat;
   }
 
+  private void configure(Connector connector) {
+    setProperty(connector, "maxThreads", options.getMaxThreads());
+    setProperty(connector, "minSpareThreads", options.getMinSpareThreads());
+    setProperty(connector, "acceptCount", options.getAcceptCount());
+    setProperty(connector, "maxConnections", options.getMaxConnections());
+    setProperty(connector, "connectionTimeout", options.getConnectionTimeout());
+    setProperty(connector, "keepAliveTimeout", options.getKeepAliveTimeout());
+    setProperty(connector, "maxKeepAliveRequests", options.getMaxKeepAliveRequests());
+
+    if (options.isCompression()) {
+      connector.setProperty("compression", "on");
+      setProperty(connector, "compressionMinSize", options.getCompressionMinSize());
+    }
+
+    if (options.isHttp2()) {
+      final Http2Protocol http2 = new Http2Protocol();
+      if (options.isCompression()) {
+        http2.setCompression("on");
+        if (options.getCompressionMinSize() != null) {
+          http2.setCompressionMinSize(options.getCompressionMinSize());
+        }
+      }
+      connector.addUpgradeProtocol(http2);
+    }
+
+    if (options.isVirtualThreads()) {
+      executor = newVirtualThreadExecutor();
+      if (executor == null) {
+        System.err.println("Virtual threads are not supported, using platform threads.");
+      } else {
+        ((AbstractProtocol<?>) connector.getProtocolHandler()).setExecutor(executor);
+      }
+    }
+  }
+
+  private static void setProperty(Connector connector, String name, Integer value) {
+    if (value != null) {
+      connector.setProperty(name, value.toString());
+    }
+  }
+
+  private static ExecutorService newVirtualThreadExecutor() {
+    try {
+      // JDK 21+
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Get the port the server is listening on, useful if started on a random port.
+   *
+   * @return the local port, or -1 if not started
+   */
+  public int getLocalPort() {
+    return tomcat == null ? -1 : tomcat.getConnector().getLocalPort();
+  }
+
   public void start() {
+    start(true);
+  }
+
+  /**
+   * Start the server.
+   *
+   * @param await whether to wait until the server is shut down
+   */
+  public void start(boolean await) {
     final String catalinaBase = System.getProperty("catalina.base");
     try {
       System.setProperty("catalina.base", options.getBaseDir().toFile().getAbsolutePath());
@@ -187,7 +267,7 @@ public class TomcatServer {
         System.setProperty("catalina.base", catalinaBase);
       }
     }
-    if (tomcat != null) {
+    if (await && tomcat != null) {
       tomcat.getServer().await();
     }
   }
@@ -201,6 +281,11 @@ public class TomcatServer {
       tomcat = null;
     } catch (Exception e) {
       throw new RuntimeException("Cannot Stop Tomcat " + e.getMessage(), e);
+    } finally {
+      if (executor != null) {
+        executor.shutdown();
+        executor = null;
+      }
     }
   }
 }
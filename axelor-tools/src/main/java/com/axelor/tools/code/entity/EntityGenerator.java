@@ -23,27 +23,45 @@ import com.axelor.tools.code.JavaType;
 import com.axelor.tools.code.entity.model.BaseType;
 import com.axelor.tools.code.entity.model.Entity;
 import com.axelor.tools.code.entity.model.EnumType;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.xml.bind.JAXBException;
 import org.slf4j.Logger;
@@ -66,22 +84,41 @@ public class EntityGenerator {
   private final Multimap<String, Entity> entities = LinkedHashMultimap.create();
   private final Multimap<String, EnumType> enums = LinkedHashMultimap.create();
 
-  private static final Map<String, Entity> mergedEntities = new HashMap<>();
+  // source file of each parsed type, used to detect changed definitions
+  private final Map<BaseType<?>, File> sources = new IdentityHashMap<>();
+  private final Map<File, String> sourceHashes = new HashMap<>();
+
+  private static final String STATE_FILE = ".entity-generator";
+  private static final Function<String, String> NO_FORMATTER = Function.identity();
+  private static final String GENERATOR_VERSION = getGeneratorVersion();
+
+  private static final Map<String, Entity> mergedEntities = new ConcurrentHashMap<>();
   private static final Set<String> MODEL_FIELD_NAMES = ImmutableSet.of("archived");
   private static final Set<String> AUDITABLE_MODEL_FIELD_NAMES =
       ImmutableSet.of("createdOn", "updatedOn", "createdBy", "updatedBy");
 
   public EntityGenerator(File domainPath, File outputPath) {
-    this(domainPath, outputPath, String -> String);
+    this(domainPath, outputPath, NO_FORMATTER);
   }
 
+  /**
+   * Create a generator formatting the generated sources with the given formatter.
+   *
+   * <p>The formatter is called concurrently, as types are rendered in parallel, so it must be
+   * thread-safe. As it can't be part of the hash of the type definitions, all the types are
+   * rendered again on each run when a formatter is given.
+   *
+   * @param domainPath the domain files directory
+   * @param outputPath the generated sources directory
+   * @param formatter the formatter of the generated sources
+   */
   public EntityGenerator(File domainPath, File outputPath, Function<String, String> formatter) {
     this.domainPath = domainPath;
     this.outputPath = outputPath;
     this.formatter = Objects.requireNonNull(formatter);
   }
 
-  private List<File> renderEnum(Collection<EnumType> items, boolean doLookup) throws IOException {
+  private RenderJob renderEnum(Collection<EnumType> items, boolean doLookup) throws IOException {
 
     if (items == null || items.isEmpty()) {
       return null;
@@ -114,15 +151,17 @@ public class EntityGenerator {
       }
     }
 
+    final String hash = hash(ns + "." + name, all);
     final EnumType entity = all.remove(0);
 
     for (EnumType it : all) {
       entity.merge(it);
     }
 
-    final JavaFile javaFile = new JavaFile(entity.getPackageName(), entity.toJavaClass());
-
-    return List.of(save(javaFile));
+    return new RenderJob(
+        "enum:" + ns + "." + name,
+        hash,
+        () -> List.of(save(new JavaFile(entity.getPackageName(), entity.toJavaClass()))));
   }
 
   private File save(JavaFile javaFile) throws IOException {
@@ -141,7 +180,7 @@ public class EntityGenerator {
     return outFile;
   }
 
-  private List<File> render(Collection<Entity> items, boolean doLookup) throws IOException {
+  private RenderJob render(Collection<Entity> items, boolean doLookup) throws IOException {
 
     if (items == null || items.isEmpty()) {
       return null;
@@ -174,6 +213,7 @@ public class EntityGenerator {
       }
     }
 
+    final String hash = hash(ns + "." + name, all);
     final Entity entity = all.remove(0);
     for (Entity it : all) {
       entity.merge(it);
@@ -190,20 +230,85 @@ public class EntityGenerator {
                         fieldName ->
                             log.error("{}: track unknown field: {}", entity.getName(), fieldName)));
 
-    final JavaType javaType = entity.toJavaClass();
-    final JavaType repoType = entity.toRepoClass();
+    return new RenderJob(
+        "entity:" + ns + "." + name,
+        hash,
+        () -> {
+          final JavaType javaType = entity.toJavaClass();
+          final JavaType repoType = entity.toRepoClass();
 
-    final List<File> rendered = new ArrayList<>();
+          final List<File> rendered = new ArrayList<>();
+
+          if (javaType != null) {
+            rendered.add(save(new JavaFile(entity.getPackageName(), javaType)));
+          }
 
-    if (javaType != null) {
-      rendered.add(save(new JavaFile(entity.getPackageName(), javaType)));
+          if (repoType != null) {
+            rendered.add(save(new JavaFile(entity.getRepoPackage(), repoType)));
+          }
+
+          return rendered;
+        });
+  }
+
+  private File sourceOf(BaseType<?> type) {
+    final File file = sources.get(type);
+    if (file != null) {
+      return file;
     }
+    return lookup.stream()
+        .map(gen -> gen.sources.get(type))
+        .filter(Objects::nonNull)
+        .findFirst()
+        .orElse(null);
+  }
 
-    if (repoType != null) {
-      rendered.add(save(new JavaFile(entity.getRepoPackage(), repoType)));
+  private String hash(String name, List<? extends BaseType<?>> items) throws IOException {
+    final Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(GENERATOR_VERSION, StandardCharsets.UTF_8);
+    hasher.putString(name, StandardCharsets.UTF_8);
+    for (BaseType<?> item : items) {
+      final File file = sourceOf(item);
+      if (file != null) {
+        String fileHash = sourceHashes.get(file);
+        if (fileHash == null) {
+          fileHash = Hashing.sha256().hashBytes(Files.readAllBytes(file.toPath())).toString();
+          sourceHashes.put(file, fileHash);
+        }
+        hasher.putString(fileHash, StandardCharsets.UTF_8);
+      }
     }
+    return hasher.hash().toString();
+  }
 
-    return rendered;
+  private static String getGeneratorVersion() {
+    final String version = EntityGenerator.class.getPackage().getImplementationVersion();
+    final CodeSource source = EntityGenerator.class.getProtectionDomain().getCodeSource();
+    final Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(String.valueOf(version), StandardCharsets.UTF_8);
+    try {
+      // a rebuilt snapshot keeps its version and location, so hash the generator code itself
+      final Path path = Paths.get(source.getLocation().toURI());
+      final List<Path> files;
+      if (Files.isDirectory(path)) {
+        try (Stream<Path> stream = Files.walk(path)) {
+          files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+      } else {
+        files = Collections.singletonList(path);
+      }
+      for (Path file : files) {
+        hasher.putString(path.relativize(file).toString(), StandardCharsets.UTF_8);
+        try (InputStream in = Files.newInputStream(file)) {
+          ByteStreams.copy(in, Funnels.asOutputStream(hasher));
+        }
+      }
+    } catch (Exception e) {
+      // unknown code source, only rely on its location
+      final Object location = source == null ? null : source.getLocation();
+      hasher.putString(String.valueOf(location), StandardCharsets.UTF_8);
+    }
+    return hasher.hash().toString();
   }
 
   private boolean fieldExists(String entityName, String fieldName) {
@@ -268,6 +373,7 @@ public class EntityGenerator {
       for (BaseType<?> type : EntityParser.parse(input)) {
         if (type instanceof Entity) entities.put(type.getName(), (Entity) type);
         if (type instanceof EnumType) enums.put(type.getName(), (EnumType) type);
+        sources.put(type, input);
       }
     } catch (JAXBException e) {
       throw new RuntimeException(e);
@@ -320,7 +426,7 @@ public class EntityGenerator {
 
     outputPath.mkdirs();
 
-    final Set<File> generated = new HashSet<>();
+    final List<RenderJob> jobs = new ArrayList<>();
 
     if (this.domainPath.exists()) {
       for (File file : domainPath.listFiles()) {
@@ -332,9 +438,9 @@ public class EntityGenerator {
 
     // generate enums
     for (String name : enums.keySet()) {
-      final List<File> rendered = renderEnum(enums.get(name), true);
-      if (rendered != null) {
-        generated.addAll(rendered);
+      final RenderJob job = renderEnum(enums.get(name), true);
+      if (job != null) {
+        jobs.add(job);
       }
     }
 
@@ -357,17 +463,17 @@ public class EntityGenerator {
         continue;
       }
       Collections.reverse(all);
-      final List<File> rendered = renderEnum(all, false);
-      if (rendered != null) {
-        generated.addAll(rendered);
+      final RenderJob job = renderEnum(all, false);
+      if (job != null) {
+        jobs.add(job);
       }
     }
 
     // generate entities
     for (String name : entities.keySet()) {
-      final List<File> rendered = render(entities.get(name), true);
-      if (rendered != null) {
-        generated.addAll(rendered);
+      final RenderJob job = render(entities.get(name), true);
+      if (job != null) {
+        jobs.add(job);
       }
     }
 
@@ -393,12 +499,14 @@ public class EntityGenerator {
         continue;
       }
       Collections.reverse(all);
-      final List<File> rendered = render(all, false);
-      if (rendered != null) {
-        generated.addAll(rendered);
+      final RenderJob job = render(all, false);
+      if (job != null) {
+        jobs.add(job);
       }
     }
 
+    final Set<File> generated = renderAll(jobs);
+
     // clean up obsolete files
     try (Stream<Path> walk = java.nio.file.Files.walk(outputPath.toPath())) {
       walk.map(Path::toFile)
@@ -412,6 +520,127 @@ public class EntityGenerator {
     }
   }
 
+  /**
+   * Render the changed types in parallel.
+   *
+   * <p>A type is rendered again only if the hash of its definition, computed from the domain files
+   * contributing to it, differs from the previous run or if a generated file is missing. With a
+   * custom formatter, all the types are rendered again and no state is kept.
+   *
+   * @param jobs the render jobs
+   * @return all the generated files, including the unchanged ones
+   */
+  private Set<File> renderAll(List<RenderJob> jobs) throws IOException {
+    final Path base = outputPath.toPath();
+    final Path stateFile = base.resolve(STATE_FILE);
+    final Properties state = new Properties();
+    final Properties newState = new Properties();
+    final Set<File> generated = new HashSet<>();
+    final List<RenderJob> pending = new ArrayList<>();
+
+    // the formatter is not part of the hash, so state can't be trusted with a custom one
+    final boolean incremental = formatter == NO_FORMATTER;
+
+    if (incremental && Files.exists(stateFile)) {
+      try (Reader reader = Files.newBufferedReader(stateFile, StandardCharsets.UTF_8)) {
+        state.load(reader);
+      }
+    }
+
+    for (RenderJob job : jobs) {
+      final List<File> files = job.getFiles(base, state.getProperty(job.key));
+      if (files == null) {
+        pending.add(job);
+      } else {
+        log.debug("Up-to-date: {}", job.key);
+        generated.addAll(files);
+        newState.setProperty(job.key, state.getProperty(job.key));
+      }
+    }
+
+    if (pending.size() > 0) {
+      final int threads = Math.min(pending.size(), Runtime.getRuntime().availableProcessors());
+      final ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        final List<Future<List<File>>> results = executor.invokeAll(pending);
+        for (int i = 0; i < pending.size(); i++) {
+          final RenderJob job = pending.get(i);
+          final List<File> files = results.get(i).get();
+          generated.addAll(files);
+          newState.setProperty(job.key, job.toState(base, files));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      } catch (ExecutionException e) {
+        Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new IOException(e.getCause());
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+
+    log.info("Generated {} of {} types.", pending.size(), jobs.size());
+
+    if (!incremental) {
+      Files.deleteIfExists(stateFile);
+      return generated;
+    }
+
+    try (Writer writer = Files.newBufferedWriter(stateFile, StandardCharsets.UTF_8)) {
+      newState.store(writer, null);
+    }
+
+    return generated;
+  }
+
+  /** Renders a merged type, identified by the hash of its definition. */
+  private static class RenderJob implements Callable<List<File>> {
+
+    private final String key;
+    private final String hash;
+    private final Callable<List<File>> task;
+
+    RenderJob(String key, String hash, Callable<List<File>> task) {
+      this.key = key;
+      this.hash = hash;
+      this.task = task;
+    }
+
+    @Override
+    public List<File> call() throws Exception {
+      return task.call();
+    }
+
+    String toState(Path base, List<File> files) {
+      return hash
+          + ":"
+          + files.stream()
+              .map(file -> base.relativize(file.toPath()).toString())
+              .map(name -> name.replace(File.separatorChar, '/'))
+              .collect(Collectors.joining(","));
+    }
+
+    List<File> getFiles(Path base, String state) {
+      if (state == null || !state.startsWith(hash + ":")) {
+        return null;
+      }
+      final List<File> files = new ArrayList<>();
+      for (String name : state.substring(hash.length() + 1).split(",")) {
+        if (name.isEmpty()) {
+          continue;
+        }
+        final File file = base.resolve(name).toFile();
+        if (!file.exists()) {
+          return null;
+        }
+        files.add(file);
+      }
+      return files;
+    }
+  }
+
   /**
    * Get a {@link EntityGenerator} instance for the given source files.
    *
@@ -43,7 +43,9 @@ import java.lang.reflect.Modifier;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -103,6 +105,9 @@ public class Entity implements BaseType<Entity> {
   @XmlAttribute(name = "cacheable")
   private Boolean cacheable;
 
+  @XmlAttribute(name = "batchSize")
+  private Integer batchSize;
+
   private Boolean mappedSuperClass;
 
   @XmlAttribute(name = "implements")
@@ -272,6 +277,10 @@ public class Entity implements BaseType<Entity> {
       cacheable = other.cacheable;
     }
 
+    if (other.batchSize != null) {
+      batchSize = other.batchSize;
+    }
+
     extraImports =
         Stream.of(extraImports, other.extraImports)
             .filter(Utils::notBlank)
@@ -450,6 +459,14 @@ public class Entity implements BaseType<Entity> {
     this.cacheable = cacheable;
   }
 
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(Integer batchSize) {
+    this.batchSize = batchSize;
+  }
+
   public Boolean getMappedSuperClass() {
     return mappedSuperClass;
   }
@@ -589,6 +606,58 @@ public class Entity implements BaseType<Entity> {
     return null;
   }
 
+  private JavaAnnotation $naturalIdCache() {
+    if (modelClass) return null;
+    final List<String> naturalIds =
+        getFields().stream()
+            .filter(Property::isNaturalId)
+            .map(Property::getName)
+            .collect(Collectors.toList());
+    if (naturalIds.isEmpty()) return null;
+    if (naturalIds.size() > 1) {
+      // a composite natural id can't be loaded by JPA.findByNaturalId
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid use of 'naturalId' on several fields of entity %s: %s",
+              name, String.join(", ", naturalIds)));
+    }
+    return new JavaAnnotation("org.hibernate.annotations.NaturalIdCache");
+  }
+
+  private JavaAnnotation $batchSize() {
+    if (modelClass || batchSize == null || batchSize < 1) return null;
+    return new JavaAnnotation("org.hibernate.annotations.BatchSize")
+        .param("size", "{0:l}", batchSize);
+  }
+
+  private JavaAnnotation $entityGraphs() {
+    if (modelClass) return null;
+
+    // graph name -> attribute nodes, in declaration order
+    Map<String, List<String>> graphs = new LinkedHashMap<>();
+    for (Property prop : getFields()) {
+      for (String graph : prop.getFetchGraphNames()) {
+        graphs.computeIfAbsent(graph, key -> new ArrayList<>()).add(prop.getName());
+      }
+    }
+
+    if (graphs.isEmpty()) return null;
+
+    return new JavaAnnotation("javax.persistence.NamedEntityGraphs")
+        .param(
+            "value",
+            graphs.entrySet(),
+            e ->
+                new JavaAnnotation("javax.persistence.NamedEntityGraph")
+                    .param("name", "{0:s}", name + "." + e.getKey())
+                    .param(
+                        "attributeNodes",
+                        e.getValue(),
+                        n ->
+                            new JavaAnnotation("javax.persistence.NamedAttributeNode")
+                                .param("value", "{0:s}", n)));
+  }
+
   private JavaAnnotation $mappedSuperClass() {
     return isTrue(mappedSuperClass)
         ? new JavaAnnotation("javax.persistence.MappedSuperclass")
@@ -622,6 +691,9 @@ public class Entity implements BaseType<Entity> {
     if (notTrue(mappedSuperClass)) {
       all.add($entity());
       all.add($cacheable());
+      all.add($naturalIdCache());
+      all.add($batchSize());
+      all.add($entityGraphs());
     }
 
     if (notTrue(mappedSuperClass) && isTrue(dynamicUpdate)) {
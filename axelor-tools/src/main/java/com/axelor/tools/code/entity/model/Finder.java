@@ -168,6 +168,7 @@ public class Finder {
     List<String> query = new ArrayList<>();
     List<String> args = new ArrayList<>();
     List<JavaParam> params = new ArrayList<>();
+    List<Property> props = new ArrayList<>();
 
     for (String field : list(using)) {
       String[] parts = field.split(":");
@@ -196,6 +197,7 @@ public class Finder {
                   : prop.getTarget();
         }
         query.add(String.format("self.%s = :%s", propName, propName));
+        props.add(prop);
       }
       propName = JavaCodeUtils.firstLower(propName);
 
@@ -205,6 +207,20 @@ public class Finder {
 
     params.forEach(method::param);
 
+    // lookup by natural id, resolved from the natural id cache
+    if (isBlank(filter)
+        && isBlank(orderBy)
+        && !isTrue(all)
+        && params.size() == 1
+        && props.size() == 1
+        && props.get(0).isNaturalId()) {
+      return method.code(
+          "return {0:t}.findByNaturalId({1:t}.class, {2:l});",
+          "com.axelor.db.JPA",
+          entity.getName(),
+          args.get(0));
+    }
+
     String queryString = isBlank(filter) ? String.join(" AND ", query) : filter;
 
     List<JavaCode> code = new ArrayList<>();
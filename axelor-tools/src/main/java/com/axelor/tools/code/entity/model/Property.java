@@ -95,6 +95,9 @@ public abstract class Property {
   @XmlAttribute(name = "unique")
   private Boolean unique;
 
+  @XmlAttribute(name = "naturalId")
+  private Boolean naturalId;
+
   @XmlAttribute(name = "initParam")
   private Boolean initParam;
 
@@ -125,6 +128,14 @@ public abstract class Property {
   @XmlAttribute(name = "orderBy")
   private String orderBy;
 
+  @Overridable
+  @XmlAttribute(name = "batchSize")
+  private Integer batchSize;
+
+  @Overridable
+  @XmlAttribute(name = "fetchGraphs")
+  private String fetchGraphs;
+
   @XmlAttribute(name = "table")
   private String table;
 
@@ -431,6 +442,28 @@ public abstract class Property {
     this.unique = value;
   }
 
+  public Boolean getNaturalId() {
+    return naturalId;
+  }
+
+  public void setNaturalId(Boolean value) {
+    this.naturalId = value;
+  }
+
+  /**
+   * Whether this field is the natural id of the entity, that is a unique simple persistent field
+   * marked with <code>naturalId="true"</code>.
+   */
+  public boolean isNaturalId() {
+    return isTrue(naturalId)
+        && isTrue(unique)
+        && isSimple()
+        && !isVirtual()
+        && !isPrimary()
+        && !isVersion()
+        && notTrue(getTransient());
+  }
+
   public Boolean getInitParam() {
     return initParam;
   }
@@ -499,6 +532,33 @@ public abstract class Property {
     this.orderBy = value;
   }
 
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(Integer value) {
+    this.batchSize = value;
+  }
+
+  public String getFetchGraphs() {
+    return fetchGraphs;
+  }
+
+  public void setFetchGraphs(String value) {
+    this.fetchGraphs = value;
+  }
+
+  /**
+   * Get the names of the entity graphs including this field, as given by the comma separated
+   * <code>fetchGraphs</code> attribute.
+   */
+  public List<String> getFetchGraphNames() {
+    if (isBlank(fetchGraphs) || isVirtual() || isTrue(getTransient())) {
+      return List.of();
+    }
+    return list(fetchGraphs);
+  }
+
   public String getTable() {
     return table;
   }
@@ -848,6 +908,7 @@ public abstract class Property {
     Stream.of(
             $id(entity),
             $equalsInclude(entity),
+            $naturalId(entity),
             $widget(),
             $binary(entity),
             $nameColumn(entity),
@@ -863,6 +924,7 @@ public abstract class Property {
             $many2many(),
             $joinTable(),
             $orderBy(),
+            $batchSize(),
             $sequence(),
             $converter())
         .flatMap(x -> x instanceof Collection ? ((Collection<?>) x).stream() : Stream.of(x))
@@ -921,6 +983,19 @@ public abstract class Property {
     return null;
   }
 
+  private JavaAnnotation $naturalId(Entity entity) {
+    if (isTrue(naturalId) && !isNaturalId()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid use of 'naturalId' on field %s.%s, only unique simple persistent fields"
+                  + " can be natural ids",
+              entity.getName(), name));
+    }
+    return isNaturalId()
+        ? new JavaAnnotation("org.hibernate.annotations.NaturalId").param("mutable", "true")
+        : null;
+  }
+
   private JavaAnnotation $widget() {
 
     if (isTrue(massUpdate) && (isTrue(unique) || isCollection() || isTrue(large))) {
@@ -1246,6 +1321,12 @@ public abstract class Property {
     return annotation;
   }
 
+  private JavaAnnotation $batchSize() {
+    if (!isCollection() || batchSize == null || batchSize < 1) return null;
+    return new JavaAnnotation("org.hibernate.annotations.BatchSize")
+        .param("size", "{0:l}", batchSize);
+  }
+
   private JavaAnnotation $joinTable() {
 
     String joinTable = table;
@@ -18,9 +18,18 @@
  */
 package com.axelor.tools.code.entity;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.tools.code.JavaFile;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 public class EntityGeneratorTest {
@@ -44,5 +53,127 @@ public class EntityGeneratorTest {
     gen.addLookupSource(lookup);
 
     gen.start();
+
+    // natural id finder and cache
+    String entity = read(new File(outputPath, "com/axelor/contact/db/Country.java"));
+    String repo = read(new File(outputPath, "com/axelor/contact/db/repo/CountryRepository.java"));
+
+    assertTrue(entity.contains("@NaturalIdCache"));
+    assertTrue(entity.contains("@NaturalId(mutable = true)"));
+    assertTrue(repo.contains("return JPA.findByNaturalId(Country.class, code);"));
+    assertTrue(repo.contains(".filter(\"self.code = :code OR self.name = :name\")"));
+    assertFalse(repo.contains("findByNaturalId(Country.class, name)"));
+
+    // batch fetching and entity graphs
+    String title = read(new File(outputPath, "com/axelor/contact/db/Title.java"));
+    String contact = read(new File(outputPath, "com/axelor/contact/db/Contact.java"));
+
+    assertTrue(title.contains("@BatchSize("));
+    assertTrue(title.contains("size = 50"));
+    assertTrue(contact.contains("size = 20"));
+    assertTrue(contact.contains("name = \"Contact.grid\""));
+    assertTrue(contact.contains("name = \"Contact.form\""));
+    assertTrue(contact.contains("@NamedAttributeNode(\"title\")"));
+    assertTrue(contact.contains("@NamedAttributeNode(\"addresses\")"));
+  }
+
+  @Test
+  public void testInvalidNaturalIds() {
+    File outputPath = new File("build/src-gen-natural-ids");
+
+    // a composite natural id can't be used by the natural id finders
+    IllegalArgumentException several =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new EntityGenerator(naturalIds("several"), outputPath).start());
+    assertTrue(several.getMessage().contains("several fields of entity Several: code, name"));
+
+    // only unique fields can be natural ids
+    IllegalArgumentException notUnique =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new EntityGenerator(naturalIds("not-unique"), outputPath).start());
+    assertTrue(notUnique.getMessage().contains("field NotUnique.code"));
+  }
+
+  private File naturalIds(String name) {
+    return new File("src/test/resources/natural-ids", name);
+  }
+
+  @Test
+  public void testIncremental() throws IOException {
+    File outputPath = new File("build/src-gen-incremental");
+    File country = new File(outputPath, "com/axelor/contact/db/Country.java");
+    AtomicInteger written = new AtomicInteger();
+
+    EntityGenerator gen = counting(outputPath, written);
+    gen.clean();
+    gen.start();
+
+    assertTrue(written.get() > 0);
+    assertTrue(country.exists());
+
+    // nothing changed, nothing is written
+    written.set(0);
+    counting(outputPath, written).start();
+
+    assertEquals(0, written.get());
+    assertTrue(country.exists());
+
+    // missing files are generated again, along with the repository of the same entity
+    country.delete();
+    counting(outputPath, written).start();
+
+    assertEquals(2, written.get());
+    assertTrue(country.exists());
+  }
+
+  @Test
+  public void testFormatter() throws IOException {
+    File outputPath = new File("build/src-gen-formatter");
+    AtomicInteger formatted = new AtomicInteger();
+
+    EntityGenerator gen = formatting(outputPath, formatted);
+    gen.clean();
+    gen.start();
+
+    int count = formatted.get();
+    assertTrue(count > 0);
+
+    // the formatter is not part of the hash, all the types are rendered again
+    formatting(outputPath, formatted).start();
+
+    assertEquals(count * 2, formatted.get());
+    assertFalse(new File(outputPath, ".entity-generator").exists());
+  }
+
+  private EntityGenerator counting(File outputPath, AtomicInteger written) throws IOException {
+    EntityGenerator gen =
+        new EntityGenerator(new File("src/test/resources/domains"), outputPath) {
+          @Override
+          protected void writeTo(File output, JavaFile content) throws IOException {
+            written.incrementAndGet();
+            super.writeTo(output, content);
+          }
+        };
+    gen.addLookupSource(new EntityGenerator(new File("src/test/resources/search"), outputPath));
+    return gen;
+  }
+
+  private EntityGenerator formatting(File outputPath, AtomicInteger formatted) throws IOException {
+    EntityGenerator gen =
+        new EntityGenerator(
+            new File("src/test/resources/domains"),
+            outputPath,
+            code -> {
+              formatted.incrementAndGet();
+              return code;
+            });
+    gen.addLookupSource(new EntityGenerator(new File("src/test/resources/search"), outputPath));
+    return gen;
+  }
+
+  private String read(File file) throws IOException {
+    return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
   }
 }
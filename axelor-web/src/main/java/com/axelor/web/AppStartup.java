@@ -18,14 +18,18 @@
  */
 package com.axelor.web;
 
+import com.axelor.app.AppExecutor;
 import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
+import com.axelor.cache.CacheBus;
+import com.axelor.db.hibernate.stats.CacheStatistics;
 import com.axelor.db.search.SearchService;
 import com.axelor.db.tenants.TenantModule;
 import com.axelor.event.Event;
 import com.axelor.events.ShutdownEvent;
 import com.axelor.events.StartupEvent;
 import com.axelor.meta.loader.ModuleManager;
+import com.axelor.meta.service.JsonIndexService;
 import com.axelor.quartz.JobRunner;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -46,6 +50,8 @@ public class AppStartup extends HttpServlet {
 
   @Inject private SearchService searchService;
 
+  @Inject private JsonIndexService jsonIndexService;
+
   @Inject private Event<StartupEvent> startupEvent;
 
   @Inject private Event<ShutdownEvent> shutdownEvent;
@@ -57,6 +63,10 @@ public class AppStartup extends HttpServlet {
   @Override
   public void init() throws ServletException {
     log.info("Initializing...");
+
+    // start first, so that other nodes get the metadata reloaded on startup
+    CacheBus.start();
+
     try {
       moduleManager.initialize(
           false, AppSettings.get().getBoolean(AvailableAppSettings.DATA_IMPORT_DEMO_DATA, true));
@@ -64,10 +74,21 @@ public class AppStartup extends HttpServlet {
       log.error(e.getMessage(), e);
     }
 
+    // create missing custom fields indexes
+    if (jsonIndexService.isSupported()) {
+      jsonIndexService.updateAsync();
+    }
+
     // initialize search index
     if (searchService.isEnabled()) {
+      final String indexing =
+          AppSettings.get().get(AvailableAppSettings.SEARCH_INDEX_STARTUP, "sync");
       try {
-        searchService.createIndex(false);
+        if ("async".equalsIgnoreCase(indexing)) {
+          searchService.createIndexAsync(false);
+        } else if (!"none".equalsIgnoreCase(indexing)) {
+          searchService.createIndex(false);
+        }
       } catch (InterruptedException e) {
         log.error(e.getMessage(), e);
       }
@@ -92,8 +113,11 @@ public class AppStartup extends HttpServlet {
   @Override
   public void destroy() {
     try {
+      CacheStatistics.logCandidates();
       shutdownEvent.fire(new ShutdownEvent());
       jobRunner.stop();
+      CacheBus.stop();
+      AppExecutor.shutdown();
     } catch (Exception e) {
       log.error(e.getMessage(), e);
     }
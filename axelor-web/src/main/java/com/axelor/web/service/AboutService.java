@@ -22,10 +22,13 @@ import static java.lang.Boolean.TRUE;
 import static org.apache.shiro.subject.support.DefaultSubjectContext.AUTHENTICATED_SESSION_KEY;
 import static org.apache.shiro.subject.support.DefaultSubjectContext.PRINCIPALS_SESSION_KEY;
 
+import com.axelor.app.AppExecutor;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.User;
 import com.axelor.common.StringUtils;
+import com.axelor.db.hibernate.stats.CacheStatistics;
 import com.axelor.db.tenants.TenantResolver;
+import com.axelor.rpc.RequestStats;
 import com.axelor.web.AppSessionListener;
 import com.axelor.web.internal.AppInfo;
 import com.google.inject.servlet.RequestScoped;
@@ -106,12 +109,35 @@ public class AboutService extends AbstractService {
       info.put("memUsed", ((runtime.totalMemory() - runtime.freeMemory()) / mb) + " Kb");
       info.put("memFree", (runtime.freeMemory() / mb) + " Kb");
 
+      info.put("executor", AppExecutor.getStats());
       info.put("users", users);
     }
 
     return info;
   }
 
+  @GET
+  @Path("cache")
+  public Map<String, Object> getCacheStatistics() {
+    final User user = AuthUtils.getUser();
+    if (user != null && AuthUtils.isTechnicalStaff(user)) {
+      return CacheStatistics.get();
+    }
+    return new HashMap<>();
+  }
+
+  @GET
+  @Path("stats")
+  public Map<String, Object> getRequestStatistics() {
+    final Map<String, Object> stats = new HashMap<>();
+    final User user = AuthUtils.getUser();
+    if (user != null && AuthUtils.isTechnicalStaff(user)) {
+      stats.put("enabled", RequestStats.isEnabled());
+      stats.put("requests", RequestStats.getSummaries().values());
+    }
+    return stats;
+  }
+
   @GET
   @Produces("text/css")
   @Path("custom.css")
@@ -19,8 +19,14 @@
 package com.axelor.web.service;
 
 import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
+import com.axelor.i18n.I18n;
 import com.axelor.meta.ActionExecutor;
+import com.axelor.meta.ActionTrace;
 import com.axelor.meta.service.menu.MenuService;
+import com.axelor.report.ReportJob;
+import com.axelor.report.ReportQueue;
+import com.axelor.rpc.ActionBatchRequest;
 import com.axelor.rpc.ActionRequest;
 import com.axelor.rpc.Response;
 import com.axelor.ui.QuickMenuService;
@@ -33,6 +39,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import org.apache.shiro.authz.UnauthorizedException;
 
 @RequestScoped
 @Consumes(MediaType.APPLICATION_JSON)
@@ -46,6 +53,8 @@ public class ActionService extends AbstractService {
 
   @Inject private QuickMenuService quickMenus;
 
+  @Inject private ReportQueue reportQueue;
+
   @GET
   @Path("menu/all")
   public Response all() {
@@ -74,11 +83,70 @@ public class ActionService extends AbstractService {
     return response;
   }
 
+  @GET
+  @Path("trace")
+  public Response traces() {
+    checkTechnicalStaff();
+    final Response response = new Response();
+    response.setData(ActionTrace.getTraces());
+    response.setStatus(Response.STATUS_SUCCESS);
+    return response;
+  }
+
+  @GET
+  @Path("trace/histograms")
+  public Response histograms() {
+    checkTechnicalStaff();
+    final Response response = new Response();
+    response.setData(ActionTrace.getHistograms().values());
+    response.setStatus(Response.STATUS_SUCCESS);
+    return response;
+  }
+
+  @POST
+  @Path("trace/clear")
+  public Response clearTraces() {
+    checkTechnicalStaff();
+    ActionTrace.clear();
+    final Response response = new Response();
+    response.setStatus(Response.STATUS_SUCCESS);
+    return response;
+  }
+
+  @GET
+  @Path("report/{job}")
+  public Response report(@PathParam("job") String job) {
+    final ReportJob found = reportQueue.get(job);
+    final Response response = new Response();
+    if (found == null) {
+      return response.fail(I18n.get("No such report."));
+    }
+    response.setData(found.toMap());
+    response.setStatus(Response.STATUS_SUCCESS);
+    return response;
+  }
+
+  private void checkTechnicalStaff() {
+    final User user = AuthUtils.getUser();
+    if (user == null || !AuthUtils.isTechnicalStaff(user)) {
+      throw new UnauthorizedException(I18n.get("You are not authorized to access action traces."));
+    }
+  }
+
   @POST
   public Response execute(ActionRequest request) {
     return actionExecutor.execute(request);
   }
 
+  @POST
+  @Path("batch")
+  public Response batch(ActionBatchRequest request) {
+    final Response response = new Response();
+    response.setData(actionExecutor.execute(request));
+    response.setStatus(Response.STATUS_SUCCESS);
+    return response;
+  }
+
   @POST
   @Path("{action}")
   public Response execute(@PathParam("action") String action, ActionRequest request) {
@@ -52,6 +52,8 @@ import com.axelor.meta.db.repo.MetaFileRepository;
 import com.axelor.meta.db.repo.MetaModuleRepository;
 import com.axelor.meta.service.MetaService;
 import com.axelor.rpc.Context;
+import com.axelor.rpc.MassOperation;
+import com.axelor.rpc.MassOperationService;
 import com.axelor.rpc.Request;
 import com.axelor.rpc.Response;
 import com.axelor.rpc.filter.Filter;
@@ -124,6 +126,13 @@ public class RestService extends ResourceService {
     return response.fail("invalid request");
   }
 
+  private Response search(Request request) {
+    // stream the records with ?stream=true, see Resource#searchStream
+    return Boolean.parseBoolean(httpRequest.getParameter("stream"))
+        ? getResource().searchStream(request)
+        : getResource().search(request);
+  }
+
   /**
    * 查询
    * @param limit
@@ -139,7 +148,7 @@ public class RestService extends ResourceService {
     request.setModel(getModel());
     request.setOffset(offset);
     request.setLimit(limit);
-    return getResource().search(request);
+    return search(request);
   }
 
   @SuppressWarnings("all")
@@ -175,7 +184,7 @@ public class RestService extends ResourceService {
     //更新上下文
     updateContext(request);
 
-    return getResource().search(request);
+    return search(request);
   }
 
 
@@ -300,6 +309,48 @@ public class RestService extends ResourceService {
   }
 
 
+  @POST
+  @Path("updateMass/async")
+  public Response updateMassAsync(Request request) {
+    if (request == null || isEmpty(request.getRecords())) {
+      return fail();
+    }
+    request.setModel(getModel());
+    return getResource().updateMassAsync(request);
+  }
+
+  @POST
+  @Path("removeMass/async")
+  public Response removeMassAsync(Request request) {
+    if (request == null) {
+      return fail();
+    }
+    request.setModel(getModel());
+    return getResource().removeMassAsync(request);
+  }
+
+  @GET
+  @Path("massOperation/{operation}")
+  public Response massOperation(@PathParam("operation") String operation) {
+    return toResponse(Beans.get(MassOperationService.class).get(operation));
+  }
+
+  @POST
+  @Path("massOperation/{operation}/cancel")
+  public Response massOperationCancel(@PathParam("operation") String operation) {
+    return toResponse(Beans.get(MassOperationService.class).cancel(operation));
+  }
+
+  private Response toResponse(MassOperation operation) {
+    final Response response = new Response();
+    if (operation == null) {
+      return response.fail("No such operation.");
+    }
+    response.setData(operation.toMap());
+    response.setStatus(Response.STATUS_SUCCESS);
+    return response;
+  }
+
   /**
    * 删除
    * @param id
@@ -19,6 +19,7 @@
 package com.axelor.web.service;
 
 import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
 import com.axelor.common.StringUtils;
 import com.axelor.db.JPA;
 import com.axelor.db.JpaSecurity;
@@ -29,6 +30,7 @@ import com.axelor.inject.Beans;
 import com.axelor.meta.ActionExecutor;
 import com.axelor.meta.ActionHandler;
 import com.axelor.meta.MetaStore;
+import com.axelor.meta.MetaVersion;
 import com.axelor.meta.db.MetaJsonRecord;
 import com.axelor.meta.loader.XMLViews;
 import com.axelor.meta.schema.actions.Action;
@@ -55,12 +57,18 @@ import com.axelor.rpc.ActionResponse;
 import com.axelor.rpc.Request;
 import com.axelor.rpc.Response;
 import com.axelor.script.ScriptBindings;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
 import com.google.inject.Inject;
 import com.google.inject.servlet.RequestScoped;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -70,6 +78,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
@@ -78,6 +87,10 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 
@@ -91,6 +104,17 @@ public class ViewService extends AbstractService {
 
   @Inject private JpaSecurity security;
 
+  @Inject private ObjectMapper objectMapper;
+
+  @Context private HttpHeaders headers;
+
+  /** The serialized responses, see {@link #cached(String, Supplier)}. */
+  private static final Cache<String, byte[]> RESPONSES =
+      CacheBuilder.newBuilder()
+          .maximumWeight(64L * 1024 * 1024)
+          .weigher((String key, byte[] value) -> key.length() + value.length)
+          .build();
+
   private Class<?> findClass(String name) {
     try {
       return Class.forName(name);
@@ -121,11 +145,60 @@ public class ViewService extends AbstractService {
     return response;
   }
 
+  /**
+   * Returns the serialized response for the given key, from cache if possible, with an ETag, or a
+   * <code>304 Not Modified</code> response if the client already has it.
+   *
+   * <p>The key is combined with the {@link MetaVersion#getFingerprint(User) metadata fingerprint}
+   * of the current user, so cached responses are dropped whenever the metadata, the permissions or
+   * the user change.
+   */
+  private javax.ws.rs.core.Response cached(String key, Supplier<Response> supplier) {
+    final String fullKey = MetaVersion.getFingerprint(AuthUtils.getUser()) + ":" + key;
+    final EntityTag tag =
+        new EntityTag(Hashing.sha256().hashString(fullKey, StandardCharsets.UTF_8).toString());
+    final CacheControl cacheControl = new CacheControl();
+    cacheControl.setPrivate(true);
+    cacheControl.setNoCache(true);
+
+    // compared by hand, as preconditions of POST requests would fail instead
+    final String ifNoneMatch = headers.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+    if (ifNoneMatch != null
+        && Splitter.on(',').trimResults().splitToList(ifNoneMatch).contains(tag.toString())) {
+      return javax.ws.rs.core.Response.notModified(tag).cacheControl(cacheControl).build();
+    }
+
+    byte[] bytes = RESPONSES.getIfPresent(fullKey);
+    if (bytes == null) {
+      final Response response = supplier.get();
+      try {
+        bytes = objectMapper.writeValueAsBytes(response);
+      } catch (JsonProcessingException e) {
+        throw new RuntimeException(e);
+      }
+      if (response.getStatus() != Response.STATUS_SUCCESS) {
+        return javax.ws.rs.core.Response.ok(bytes, MediaType.APPLICATION_JSON_TYPE).build();
+      }
+      RESPONSES.put(fullKey, bytes);
+    }
+
+    return javax.ws.rs.core.Response.ok(bytes, MediaType.APPLICATION_JSON_TYPE)
+        .tag(tag)
+        .cacheControl(cacheControl)
+        .build();
+  }
+
   @GET
   @Path("fields/{model}")
-  @SuppressWarnings("all")
-  public Response fields(
+  public javax.ws.rs.core.Response fields(
       @PathParam("model") String model, @QueryParam("jsonModel") String jsonModel) {
+    return cached(
+        String.join(":", "fields", model, String.valueOf(jsonModel)),
+        () -> findFields(model, jsonModel));
+  }
+
+  @SuppressWarnings("all")
+  protected Response findFields(String model, String jsonModel) {
     final Response response = new Response();
     final Map<String, Object> meta = Maps.newHashMap();
     final Class<?> modelClass = findClass(model);
@@ -254,10 +327,16 @@ public class ViewService extends AbstractService {
 
   @GET
   @Path("view")
-  public Response view(
+  public javax.ws.rs.core.Response view(
       @QueryParam("model") String model,
       @QueryParam("name") String name,
       @QueryParam("type") String type) {
+    return cached(
+        String.join(":", "view", String.valueOf(model), String.valueOf(name), String.valueOf(type)),
+        () -> findView(model, name, type));
+  }
+
+  protected Response findView(String model, String name, String type) {
 
     final Response response = service.findView(model, name, type);
     final AbstractView view = (AbstractView) response.getData();
@@ -301,7 +380,7 @@ public class ViewService extends AbstractService {
 
   @POST
   @Path("view")
-  public Response view(Request request) {
+  public javax.ws.rs.core.Response view(Request request) {
 
     final Map<String, Object> data = request.getData();
     final String name = (String) data.get("name");
@@ -312,9 +391,18 @@ public class ViewService extends AbstractService {
 
   @POST
   @Path("view/fields")
-  public Response viewFields(Request request) {
+  public javax.ws.rs.core.Response viewFields(Request request) {
+    final List<String> fields =
+        request.getFields() == null ? Collections.emptyList() : request.getFields();
+    return cached(
+        String.join(":", "view/fields", request.getModel(), String.join(",", fields)),
+        () -> findViewFields(request));
+  }
+
+  protected Response findViewFields(Request request) {
     final Response response = new Response();
     response.setData(MetaStore.findFields(request.getBeanClass(), request.getFields()));
+    response.setStatus(Response.STATUS_SUCCESS);
     return response;
   }
 
@@ -322,13 +410,12 @@ public class ViewService extends AbstractService {
   @Path("view/save")
   public Response save(Request request) {
     final Map<String, Object> data = request.getData();
-    final ObjectMapper om = Beans.get(ObjectMapper.class);
     try {
       final String type = (String) data.get("type");
       AbstractView view = null;
       switch (type) {
         case "dashboard":
-          view = om.readValue(om.writeValueAsString(data), Dashboard.class);
+          view = objectMapper.readValue(objectMapper.writeValueAsString(data), Dashboard.class);
           break;
         case "grid":
           view = saveGridView(data);
@@ -358,7 +445,6 @@ public class ViewService extends AbstractService {
       return null;
     }
 
-    final ObjectMapper om = Beans.get(ObjectMapper.class);
     final GridView originalView =
         viewId != null ? (GridView) XMLViews.findView(Long.parseLong(viewId.toString())) : null;
     final GridView view =
@@ -422,7 +508,9 @@ public class ViewService extends AbstractService {
         }
 
         try {
-          items.add((AbstractWidget) om.readValue(om.writeValueAsString(map), itemType));
+          items.add(
+              (AbstractWidget)
+                  objectMapper.readValue(objectMapper.writeValueAsString(map), itemType));
         } catch (IOException e) {
           // this should not happen
           throw new IllegalArgumentException("Trying to save invalid view schema.");
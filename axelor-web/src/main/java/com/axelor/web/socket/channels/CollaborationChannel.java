@@ -22,6 +22,7 @@ import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
 import com.axelor.auth.db.Group;
 import com.axelor.auth.db.User;
+import com.axelor.cache.CacheBus;
 import com.axelor.db.mapper.Mapper;
 import com.axelor.db.mapper.Property;
 import com.axelor.inject.Beans;
@@ -31,6 +32,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
@@ -64,6 +67,11 @@ public class CollaborationChannel extends Channel {
 
   private static final Logger logger = LoggerFactory.getLogger(CollaborationChannel.class);
 
+  public CollaborationChannel() {
+    // relay the messages of the users connected to other nodes
+    CacheBus.subscribe(NAME, this::onRelayedMessage);
+  }
+
   @Override
   public String getName() {
     return NAME;
@@ -187,6 +195,8 @@ public class CollaborationChannel extends Channel {
   }
 
   private void broadcast(Session session, CollaborationData data) {
+    relay(data);
+
     final String key = data.getKey();
     final CollaborationRoom room = ROOMS.get(key);
 
@@ -229,14 +239,18 @@ public class CollaborationChannel extends Channel {
   }
 
   private void updateState(CollaborationData data) {
+    if (data.getMessage() != null) {
+      updateState(getState(data), data.getMessage());
+    }
+  }
+
+  private void updateState(CollaborationState state, Object data) {
     @SuppressWarnings("unchecked")
-    final Map<String, Object> message = (Map<String, Object>) data.getMessage();
+    final Map<String, Object> message = (Map<String, Object>) data;
     if (message == null) {
       return;
     }
 
-    final CollaborationState state = getState(data);
-
     final Boolean dirty = (Boolean) message.get("dirty");
     if (dirty != null) {
       state.setDirty(dirty);
@@ -248,6 +262,54 @@ public class CollaborationChannel extends Channel {
     }
   }
 
+  private void relay(CollaborationData data) {
+    if (!CacheBus.isBroadcastEnabled()) {
+      return;
+    }
+    try {
+      CacheBus.broadcast(NAME, Beans.get(ObjectMapper.class).writeValueAsString(data));
+    } catch (JsonProcessingException e) {
+      logger.error(e.getMessage(), e);
+    }
+  }
+
+  private void onRelayedMessage(String payload) {
+    final Map<String, Object> data;
+    try {
+      data = Beans.get(ObjectMapper.class).readValue(payload, new TypeReference<>() {});
+    } catch (JsonProcessingException e) {
+      logger.error(e.getMessage(), e);
+      return;
+    }
+
+    final String key = String.format("%s:%s", data.get("model"), data.get("recordId"));
+    final CollaborationRoom room = ROOMS.get(key);
+    if (room == null) {
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    final Map<String, Object> user = (Map<String, Object>) data.get("user");
+    final String code = user == null ? null : (String) user.get("code");
+    if (code != null) {
+      if (CollaborationCommand.LEFT.name().equals(data.get("command"))) {
+        room.getStates().remove(code);
+      } else {
+        updateState(
+            room.getStates().computeIfAbsent(code, k -> new CollaborationState()),
+            data.get("message"));
+      }
+    }
+
+    for (final Session client : room.getSessions()) {
+      try {
+        send(client, data);
+      } catch (IOException | EncodeException | IllegalStateException e) {
+        // ignore, closed sessions are removed by their own node
+      }
+    }
+  }
+
   public enum CollaborationCommand {
     LEFT,
     JOIN,
@@ -988,6 +988,10 @@
       return $q.defer();
     };
 
+    ViewService.prototype.reportJob = function(id) {
+      return $http.get('ws/action/report/' + id, { silent: true });
+    };
+
     ViewService.prototype.action = function(action, model, context, data, config) {
 
       var params = {
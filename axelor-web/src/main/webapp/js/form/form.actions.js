@@ -1199,10 +1199,30 @@ ActionHandler.prototype = {
       });
     });
 
+    if (data.reportJob) {
+      waitForReport(data.reportJob);
+    }
+
     if (data.report) {
       return openReport(data);
     }
 
+    function waitForReport(id) {
+      self.ws.reportJob(id).then(function(response) {
+        var res = response.data || {};
+        var job = res.data || {};
+        if (res.status !== 0 || job.status === 'FAILED') {
+          axelor.notify.error(job.error || _t('The report could not be generated.'));
+        } else if (job.status === 'DONE') {
+          showReport(job);
+        } else {
+          scope.$timeout(function() {
+            waitForReport(id);
+          }, 2000);
+        }
+      });
+    }
+
     function openReport(data) {
       var record = formScope.record || {};
       if (data.attached) {
@@ -1224,6 +1244,13 @@ ActionHandler.prototype = {
         return deferred.promise;
       }
 
+      showReport(data);
+
+      scope.$timeout(deferred.resolve);
+      return deferred.promise;
+    }
+
+    function showReport(data) {
       var url = "ws/files/report/" + data.reportLink + "?name=" + data.reportFile;
       var tab = {
         title: data.reportFile,
@@ -1238,9 +1265,6 @@ ActionHandler.prototype = {
       } else {
         ui.download(url);
       }
-
-      scope.$timeout(deferred.resolve);
-      return deferred.promise;
     }
 
     function openTab(scope, tab) {
@@ -0,0 +1,79 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2023 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.axelor.meta.MetaVersion;
+import com.axelor.meta.db.MetaView;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+
+public class ViewServiceTest extends AbstractTest {
+
+  private static final String FIELDS = "/meta/fields/com.axelor.web.db.Contact";
+
+  private EntityTag fetchTag() {
+    final Response response = jsonPath(FIELDS).get();
+    try {
+      assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+      assertNotNull(response.getEntityTag());
+      return response.getEntityTag();
+    } finally {
+      response.close();
+    }
+  }
+
+  private Response fetch(EntityTag tag) {
+    return jsonPath(FIELDS).header(HttpHeaders.IF_NONE_MATCH, tag.toString()).get();
+  }
+
+  @Test
+  public void testNotModified() {
+    final EntityTag tag = fetchTag();
+    final Response response = fetch(tag);
+    try {
+      assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+      assertEquals(tag, response.getEntityTag());
+    } finally {
+      response.close();
+    }
+  }
+
+  @Test
+  public void testViewChanged() {
+    final EntityTag tag = fetchTag();
+
+    // as done once a transaction modifying views is committed
+    MetaVersion.onChange(new MetaView());
+    MetaVersion.transactionCompleted(true);
+
+    final Response response = fetch(tag);
+    try {
+      assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+      assertNotEquals(tag, response.getEntityTag());
+    } finally {
+      response.close();
+    }
+  }
+}